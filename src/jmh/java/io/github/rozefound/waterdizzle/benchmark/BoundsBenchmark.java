@@ -0,0 +1,102 @@
+package io.github.rozefound.waterdizzle.benchmark;
+
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import io.github.rozefound.waterdizzle.utils.Bounds;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.util.BoundingBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the entity containment check against the location and bounding
+ * box based check it replaced. The stand-in entity hands out a fresh
+ * location and bounding box for every call like the server does, while its
+ * coordinates and dimensions are pre-boxed so the stand-in itself does not
+ * allocate. Run with {@code -prof gc}, the current check should report no
+ * allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoundsBenchmark {
+
+    private Bounds bounds;
+    private Entity entity;
+
+    @Setup
+    public void setup() {
+        World world = StandIns.world("world");
+        bounds = new Bounds(world, 0, 60, 0, 16, 64, 16);
+
+        double x = 8.5;
+        double y = 63.0;
+        double z = 8.5;
+        double halfWidth = 0.3;
+        double height = 1.8;
+        Object boxedX = x;
+        Object boxedY = y;
+        Object boxedZ = z;
+        Object boxedWidth = halfWidth * 2;
+        Object boxedHeight = height;
+        entity = (Entity) Proxy.newProxyInstance(
+            Entity.class.getClassLoader(),
+            new Class<?>[] { Entity.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getWorld" -> world;
+                    case "getX" -> boxedX;
+                    case "getY" -> boxedY;
+                    case "getZ" -> boxedZ;
+                    case "getWidth" -> boxedWidth;
+                    case "getHeight" -> boxedHeight;
+                    case "getLocation" -> new Location(world, x, y, z);
+                    case "getBoundingBox" -> new BoundingBox(
+                        x - halfWidth,
+                        y,
+                        z - halfWidth,
+                        x + halfWidth,
+                        y + height,
+                        z + halfWidth
+                    );
+                    default -> null;
+                }
+        );
+    }
+
+    @Benchmark
+    public boolean containsEntity() {
+        return bounds.containsEntity(entity);
+    }
+
+    @Benchmark
+    public boolean locationAndBoundingBox() {
+        Location location = entity.getLocation();
+        BoundingBox box = entity.getBoundingBox();
+
+        double minX = location.getX() - (box.getWidthX() / 2);
+        double maxX = location.getX() + (box.getWidthX() / 2);
+        double minY = location.getY();
+        double maxY = location.getY() + box.getHeight();
+        double minZ = location.getZ() - (box.getWidthZ() / 2);
+        double maxZ = location.getZ() + (box.getWidthZ() / 2);
+
+        return (
+            location.getWorld().equals(bounds.getWorld()) &&
+            maxX > bounds.getMinX() &&
+            minX < bounds.getMaxX() &&
+            maxY > bounds.getMinY() &&
+            minY < bounds.getMaxY() &&
+            maxZ > bounds.getMinZ() &&
+            minZ < bounds.getMaxZ()
+        );
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.rozefound.waterdizzle.benchmark;
+
+import io.github.rozefound.waterdizzle.testing.StandInEntity;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import io.github.rozefound.waterdizzle.utils.CompiledConditions;
+import io.github.rozefound.waterdizzle.utils.Condition;
+import io.github.rozefound.waterdizzle.utils.MaterialLookup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Material;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares evaluating zone conditions one by one against the compiled
+ * material bitsets. None of the conditions match, so both paths have to scan
+ * the whole footprint, which is the common case for entities standing next
+ * to a zone's water.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConditionBenchmark {
+
+    private static final Material[] CONDITION_MATERIALS = {
+        Material.WATER,
+        Material.LAVA,
+        Material.BUBBLE_COLUMN,
+        Material.SEAGRASS,
+        Material.KELP,
+        Material.MAGMA_BLOCK,
+        Material.SOUL_SAND,
+        Material.POWDER_SNOW,
+        Material.COBWEB,
+        Material.SWEET_BERRY_BUSH,
+    };
+
+    @Param({ "1", "5", "10" })
+    private int conditionCount;
+
+    private List<Condition> conditions;
+    private CompiledConditions compiled;
+    private Entity entity;
+    private MaterialLookup lookup;
+
+    @Setup
+    public void setup() {
+        conditions = new ArrayList<>();
+        for (int i = 0; i < conditionCount; i++) {
+            Condition.Direction direction = i % 2 == 0
+                ? Condition.Direction.Inside
+                : Condition.Direction.StandingOn;
+            conditions.add(
+                new Condition(
+                    direction,
+                    StandIns.blockData(CONDITION_MATERIALS[i])
+                )
+            );
+        }
+        compiled = CompiledConditions.compile(conditions);
+
+        entity = new StandInEntity(EntityType.ZOMBIE, 1.4, 1.8)
+            .moveTo(null, 0.9, 64.0, 0.9)
+            .get();
+
+        lookup = (world, x, y, z) -> y < 64 ? Material.STONE : Material.AIR;
+    }
+
+    @Benchmark
+    public boolean perCondition() {
+        for (Condition condition : conditions) {
+            if (condition.isMetForEntity(entity, lookup)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        return compiled.test(entity, lookup);
+    }
+}
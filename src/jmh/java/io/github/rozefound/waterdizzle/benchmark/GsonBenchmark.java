@@ -0,0 +1,134 @@
+package io.github.rozefound.waterdizzle.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.Expose;
+import io.github.rozefound.waterdizzle.serialization.GsonFactory;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import io.github.rozefound.waterdizzle.utils.Condition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Serialize and deserialize throughput of an object shaped like a zone. The
+ * streaming type adapters for locations, conditions, materials and
+ * components are measured through the shared Gson instance and through a
+ * Gson instance rebuilt for every call. The tree legs run the same payload
+ * through copies of the JsonSerializer/JsonDeserializer pairs they replaced,
+ * once through a shared instance, comparing only the adapters, and once
+ * rebuilt for every call as zones used to do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GsonBenchmark {
+
+    private Payload payload;
+    private String json;
+    private Gson treeGson;
+
+    @Setup
+    public void setup() {
+        StandIns.installServer();
+        World world = StandIns.world("world");
+
+        payload = new Payload();
+        payload.name = "spawn_pool";
+        payload.anchors = new Location[] {
+            new Location(world, 10, 60, -20),
+            new Location(world, 42, 72, 12, 90.0f, 0.0f),
+        };
+        payload.material = Material.WATER;
+        payload.message = Component.text(
+            "{player} drowned",
+            NamedTextColor.GRAY
+        );
+        payload.conditions = new ArrayList<>();
+        payload.conditions.add(
+            new Condition(Condition.Direction.Inside, "water")
+        );
+        payload.conditions.add(
+            new Condition(Condition.Direction.StandingOn, "magma_block")
+        );
+        payload.conditions.add(
+            new Condition(Condition.Direction.Inside, "bubble_column")
+        );
+
+        json = GsonFactory.getGson().toJson(payload);
+        treeGson = TreeAdapters.createGsonBuilder().create();
+    }
+
+    @Benchmark
+    public String serializeShared() {
+        return GsonFactory.getGson().toJson(payload);
+    }
+
+    @Benchmark
+    public String serializeRebuilt() {
+        Gson gson = GsonFactory.createGsonBuilder().create();
+        return gson.toJson(payload);
+    }
+
+    @Benchmark
+    public String serializeTree() {
+        return treeGson.toJson(payload);
+    }
+
+    @Benchmark
+    public String serializeTreeRebuilt() {
+        Gson gson = TreeAdapters.createGsonBuilder().create();
+        return gson.toJson(payload);
+    }
+
+    @Benchmark
+    public Payload deserializeShared() {
+        return GsonFactory.getGson().fromJson(json, Payload.class);
+    }
+
+    @Benchmark
+    public Payload deserializeRebuilt() {
+        Gson gson = GsonFactory.createGsonBuilder().create();
+        return gson.fromJson(json, Payload.class);
+    }
+
+    @Benchmark
+    public Payload deserializeTree() {
+        return treeGson.fromJson(json, Payload.class);
+    }
+
+    @Benchmark
+    public Payload deserializeTreeRebuilt() {
+        Gson gson = TreeAdapters.createGsonBuilder().create();
+        return gson.fromJson(json, Payload.class);
+    }
+
+    public static class Payload {
+
+        @Expose
+        private String name;
+
+        @Expose
+        private Location[] anchors;
+
+        @Expose
+        private Material material;
+
+        @Expose
+        private Component message;
+
+        @Expose
+        private List<Condition> conditions;
+    }
+}
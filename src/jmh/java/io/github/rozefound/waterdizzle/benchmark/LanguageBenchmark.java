@@ -0,0 +1,60 @@
+package io.github.rozefound.waterdizzle.benchmark;
+
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.utils.LanguageManager;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Cost of turning a language key into a component, with and without
+ * placeholders, as every command reply and zone message does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LanguageBenchmark {
+
+    private StandInPlugin plugin;
+    private LanguageManager languageManager;
+    private Map<String, String> placeholders;
+
+    @Setup
+    public void setup() throws IOException {
+        plugin = StandInPlugin.create();
+        languageManager = plugin.getLanguageManager();
+        placeholders = Map.of("count", "42");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        plugin.close();
+    }
+
+    @Benchmark
+    public Component plainMessage() {
+        return languageManager.getComponent("general.plugin-enabled");
+    }
+
+    @Benchmark
+    public Component messageWithPlaceholder() {
+        return languageManager.getComponent(
+            "general.plugin-loaded-zones",
+            placeholders
+        );
+    }
+
+    @Benchmark
+    public Component styledMessage() {
+        return languageManager.getComponent("commands.zone.reload.reloading");
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.rozefound.waterdizzle.benchmark;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.listeners.WaterDizzleListener;
+import io.github.rozefound.waterdizzle.testing.StandInEntity;
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import io.github.rozefound.waterdizzle.utils.ZoneManager;
+import io.papermc.paper.event.entity.EntityMoveEvent;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Cost of handling an entity move event as the zone count grows. Zones are
+ * laid out on a grid 32 blocks apart and every zone damages mobs. Each
+ * dispatched move steps a mob into the next block, either inside a zone or
+ * in the gap between zones, so the membership is evaluated every time
+ * instead of being skipped by the block filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ListenerDispatchBenchmark {
+
+    private static final int ZONES_PER_ROW = 100;
+
+    @Param({ "10", "100", "1000", "10000" })
+    private int zoneCount;
+
+    private StandInPlugin plugin;
+    private WaterDizzleListener listener;
+    private Mover inside;
+    private Mover between;
+
+    @Setup
+    public void setup() throws IOException {
+        World world = StandIns.world("world");
+        plugin = StandInPlugin.create();
+        listener = new WaterDizzleListener(plugin);
+
+        ZoneManager zoneManager = plugin.getZoneManager();
+        for (int i = 0; i < zoneCount; i++) {
+            Zone zone = StandIns.zone(
+                plugin,
+                "zone_" + i,
+                world,
+                (i % ZONES_PER_ROW) * 32,
+                (i / ZONES_PER_ROW) * 32
+            );
+            zone.setDamageAmount(1.0);
+            zone.setDamageInterval(20L);
+            zone.setDamageEntity(true);
+            zoneManager.addZone(zone);
+        }
+
+        inside = new Mover(world, 7.5, 8.5);
+        between = new Mover(world, 23.5, 24.5);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        plugin.close();
+    }
+
+    @Benchmark
+    public void moveInsideZone() {
+        listener.onEntityMoveEvent(inside.step());
+    }
+
+    @Benchmark
+    public void moveBetweenZones() {
+        listener.onEntityMoveEvent(between.step());
+    }
+
+    /**
+     * A mob stepping back and forth between two neighbouring blocks
+     */
+    private static final class Mover {
+
+        private final StandInEntity entity;
+        private final Location first;
+        private final Location second;
+        private boolean atFirst = true;
+
+        private Mover(World world, double firstX, double secondX) {
+            double y = StandIns.WATER_LEVEL;
+            this.entity = new StandInEntity(EntityType.ZOMBIE, 0.6, 1.95);
+            this.first = new Location(world, firstX, y, 8.5);
+            this.second = new Location(world, secondX, y, 8.5);
+            entity.moveTo(world, firstX, y, 8.5);
+        }
+
+        private EntityMoveEvent step() {
+            Location from = atFirst ? first : second;
+            Location to = atFirst ? second : first;
+            atFirst = !atFirst;
+            entity.moveTo(to.getWorld(), to.getX(), to.getY(), to.getZ());
+            return new EntityMoveEvent(entity.get(), from, to);
+        }
+    }
+}
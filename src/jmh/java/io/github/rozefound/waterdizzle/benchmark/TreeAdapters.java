@@ -0,0 +1,279 @@
+package io.github.rozefound.waterdizzle.benchmark;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import io.github.rozefound.waterdizzle.utils.Condition;
+import java.lang.reflect.Type;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+/**
+ * Copies of the tree based JsonSerializer/JsonDeserializer pairs the plugin
+ * used before the streaming type adapters, kept as the baseline of
+ * GsonBenchmark. They build a JsonElement tree for every value instead of
+ * reading and writing tokens directly. Not used by the plugin itself.
+ */
+final class TreeAdapters {
+
+    private static final MiniMessage miniMessage = MiniMessage.miniMessage();
+
+    private TreeAdapters() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * @return A builder set up the way GsonFactory used to set it up
+     */
+    static GsonBuilder createGsonBuilder() {
+        return new GsonBuilder()
+            .excludeFieldsWithoutExposeAnnotation()
+            .registerTypeAdapter(Component.class, new ComponentSerializer())
+            .registerTypeAdapter(Component.class, new ComponentDeserializer())
+            .registerTypeAdapter(Location.class, new LocationSerializer())
+            .registerTypeAdapter(Location.class, new LocationDeserializer())
+            .registerTypeAdapter(Material.class, new MaterialSerializer())
+            .registerTypeAdapter(Material.class, new MaterialDeserializer())
+            .registerTypeAdapter(Condition.class, new ConditionSerializer())
+            .registerTypeAdapter(Condition.class, new ConditionDeserializer())
+            .serializeNulls();
+    }
+
+    static class ComponentSerializer implements JsonSerializer<Component> {
+
+        @Override
+        public JsonElement serialize(
+            Component src,
+            Type typeOfSrc,
+            JsonSerializationContext context
+        ) {
+            return new JsonPrimitive(miniMessage.serialize(src));
+        }
+    }
+
+    static class ComponentDeserializer
+        implements JsonDeserializer<Component> {
+
+        @Override
+        public Component deserialize(
+            JsonElement json,
+            Type typeOfT,
+            JsonDeserializationContext context
+        ) throws JsonParseException {
+            return miniMessage.deserialize(json.getAsString());
+        }
+    }
+
+    static class LocationSerializer implements JsonSerializer<Location> {
+
+        @Override
+        public JsonElement serialize(
+            Location location,
+            Type typeOfSrc,
+            JsonSerializationContext context
+        ) {
+            JsonObject json = new JsonObject();
+
+            World world = location.getWorld();
+            if (world != null) {
+                json.addProperty("world", world.getName());
+            }
+
+            json.addProperty("x", location.getX());
+            json.addProperty("y", location.getY());
+            json.addProperty("z", location.getZ());
+
+            if (location.getYaw() != 0.0f) {
+                json.addProperty("yaw", location.getYaw());
+            }
+
+            if (location.getPitch() != 0.0f) {
+                json.addProperty("pitch", location.getPitch());
+            }
+
+            return json;
+        }
+    }
+
+    static class LocationDeserializer implements JsonDeserializer<Location> {
+
+        @Override
+        public Location deserialize(
+            JsonElement json,
+            Type typeOfT,
+            JsonDeserializationContext context
+        ) throws JsonParseException {
+            JsonObject jsonObject = json.getAsJsonObject();
+
+            World world = null;
+            if (jsonObject.has("world")) {
+                String worldName = jsonObject.get("world").getAsString();
+                world = Bukkit.getWorld(worldName);
+
+                if (world == null) {
+                    Bukkit.getLogger().warning(
+                        "Could not find world '" +
+                        worldName +
+                        "' when deserializing Location."
+                    );
+                }
+            }
+
+            double x = jsonObject.get("x").getAsDouble();
+            double y = jsonObject.get("y").getAsDouble();
+            double z = jsonObject.get("z").getAsDouble();
+
+            float yaw = 0.0f;
+            float pitch = 0.0f;
+
+            if (jsonObject.has("yaw")) {
+                yaw = jsonObject.get("yaw").getAsFloat();
+            }
+
+            if (jsonObject.has("pitch")) {
+                pitch = jsonObject.get("pitch").getAsFloat();
+            }
+
+            return new Location(world, x, y, z, yaw, pitch);
+        }
+    }
+
+    static class MaterialSerializer implements JsonSerializer<Material> {
+
+        @Override
+        public JsonElement serialize(
+            Material material,
+            Type typeOfSrc,
+            JsonSerializationContext context
+        ) {
+            if (material == null) {
+                return null;
+            }
+
+            return new JsonPrimitive(material.name());
+        }
+    }
+
+    static class MaterialDeserializer implements JsonDeserializer<Material> {
+
+        @Override
+        public Material deserialize(
+            JsonElement json,
+            Type typeOfT,
+            JsonDeserializationContext context
+        ) throws JsonParseException {
+            if (json == null || json.isJsonNull()) {
+                return null;
+            }
+
+            String materialName = json.getAsString();
+
+            try {
+                return Material.valueOf(materialName);
+            } catch (IllegalArgumentException e) {
+                Bukkit.getLogger().warning(
+                    "Could not deserialize Material: '" + materialName + "'."
+                );
+                return null;
+            }
+        }
+    }
+
+    static class ConditionSerializer implements JsonSerializer<Condition> {
+
+        @Override
+        public JsonElement serialize(
+            Condition condition,
+            Type typeOfSrc,
+            JsonSerializationContext context
+        ) {
+            if (condition == null) {
+                return null;
+            }
+
+            JsonObject jsonObject = new JsonObject();
+
+            if (condition.getDirection() != null) {
+                jsonObject.addProperty(
+                    "direction",
+                    condition.getDirection().name()
+                );
+            }
+
+            if (condition.getBlockDataString() != null) {
+                jsonObject.addProperty(
+                    "blockDataString",
+                    condition.getBlockDataString()
+                );
+            }
+
+            return jsonObject;
+        }
+    }
+
+    static class ConditionDeserializer
+        implements JsonDeserializer<Condition> {
+
+        @Override
+        public Condition deserialize(
+            JsonElement json,
+            Type typeOfT,
+            JsonDeserializationContext context
+        ) throws JsonParseException {
+            if (!json.isJsonObject()) {
+                throw new JsonParseException(
+                    "Expected Condition to be a JSON object"
+                );
+            }
+
+            JsonObject jsonObject = json.getAsJsonObject();
+
+            Condition.Direction direction = null;
+            if (jsonObject.has("direction")) {
+                String directionStr = jsonObject.get("direction").getAsString();
+                try {
+                    direction = Condition.Direction.valueOf(directionStr);
+                } catch (IllegalArgumentException e) {
+                    throw new JsonParseException(
+                        "Invalid Condition.Direction: " + directionStr,
+                        e
+                    );
+                }
+            }
+
+            if (jsonObject.has("blockDataString")) {
+                return new Condition(
+                    direction,
+                    jsonObject.get("blockDataString").getAsString()
+                );
+            }
+
+            // Legacy material field, migrated to block data
+            if (jsonObject.has("material")) {
+                String materialName = jsonObject.get("material").getAsString();
+                try {
+                    return new Condition(
+                        direction,
+                        Material.valueOf(materialName).name().toLowerCase()
+                    );
+                } catch (IllegalArgumentException e) {
+                    return new Condition(direction, "air");
+                }
+            }
+
+            throw new JsonParseException(
+                "Condition JSON must contain 'blockDataString' or 'material'"
+            );
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.rozefound.waterdizzle.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import io.github.rozefound.waterdizzle.storage.BinaryZoneCodec;
+import io.github.rozefound.waterdizzle.storage.JsonZoneCodec;
+import io.github.rozefound.waterdizzle.storage.ZoneCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares saving and loading zone files in the JSON and binary formats.
+ * Files are encoded to and decoded from memory so disk speed does not hide
+ * the cost of the formats themselves. Zones are shaped like real ones, two
+ * anchors in a handful of worlds, a death message and a few conditions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ZoneCodecBenchmark {
+
+    private static final String[] WORLDS = {
+        "world",
+        "world_nether",
+        "world_the_end",
+        "arena",
+    };
+
+    private static final String[] BLOCKS = {
+        "minecraft:water",
+        "minecraft:lava",
+        "minecraft:magma_block",
+        "minecraft:bubble_column",
+        "minecraft:powder_snow",
+    };
+
+    @Param({ "1000", "10000", "100000" })
+    private int zoneCount;
+
+    private JsonArray zones;
+    private byte[] jsonFile;
+    private byte[] binaryFile;
+
+    @Setup
+    public void setup() throws IOException {
+        zones = new JsonArray(zoneCount);
+        for (int i = 0; i < zoneCount; i++) {
+            zones.add(createZone(i));
+        }
+
+        jsonFile = encode(JsonZoneCodec.INSTANCE);
+        binaryFile = encode(BinaryZoneCodec.INSTANCE);
+    }
+
+    private static JsonObject createZone(int index) {
+        String world = WORLDS[index % WORLDS.length];
+        int x = (index % 1000) * 32;
+        int z = (index / 1000) * 32;
+
+        JsonArray anchors = new JsonArray(2);
+        anchors.add(createLocation(world, x, 60, z));
+        anchors.add(createLocation(world, x + 16, 80, z + 16));
+
+        JsonArray conditions = new JsonArray();
+        for (int i = 0; i < 1 + index % 3; i++) {
+            JsonObject condition = new JsonObject();
+            condition.addProperty(
+                "direction",
+                i % 2 == 0 ? "Inside" : "StandingOn"
+            );
+            condition.addProperty(
+                "blockDataString",
+                BLOCKS[(index + i) % BLOCKS.length]
+            );
+            conditions.add(condition);
+        }
+
+        JsonObject zone = new JsonObject();
+        zone.addProperty("name", "zone_" + index);
+        zone.add("anchors", anchors);
+        zone.addProperty("damageAmount", 2.0 + (index % 5));
+        zone.addProperty("damageInterval", 20L);
+        zone.addProperty("damageType", "minecraft:drown");
+        if (index % 4 == 0) {
+            zone.add("deathMessage", JsonNull.INSTANCE);
+        } else {
+            zone.addProperty(
+                "deathMessage",
+                "<gray>{player} drowned in zone_" + index + "</gray>"
+            );
+        }
+        zone.addProperty("damageAnimal", index % 2 == 0);
+        zone.addProperty("damageEntity", index % 3 == 0);
+        zone.addProperty("damagePlayer", true);
+        zone.addProperty("destroyItem", index % 5 == 0);
+        zone.addProperty("enabled", true);
+        zone.add("conditions", conditions);
+        return zone;
+    }
+
+    private static JsonObject createLocation(
+        String world,
+        double x,
+        double y,
+        double z
+    ) {
+        JsonObject location = new JsonObject();
+        location.addProperty("world", world);
+        location.addProperty("x", x);
+        location.addProperty("y", y);
+        location.addProperty("z", z);
+        return location;
+    }
+
+    private byte[] encode(ZoneCodec codec) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(zones, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private static void decode(ZoneCodec codec, byte[] file, Blackhole hole)
+        throws IOException {
+        codec.decode(
+            Channels.newChannel(new ByteArrayInputStream(file)),
+            hole::consume
+        );
+    }
+
+    @Benchmark
+    public byte[] saveJson() throws IOException {
+        return encode(JsonZoneCodec.INSTANCE);
+    }
+
+    @Benchmark
+    public byte[] saveBinary() throws IOException {
+        return encode(BinaryZoneCodec.INSTANCE);
+    }
+
+    @Benchmark
+    public void loadJson(Blackhole hole) throws IOException {
+        decode(JsonZoneCodec.INSTANCE, jsonFile, hole);
+    }
+
+    @Benchmark
+    public void loadBinary(Blackhole hole) throws IOException {
+        decode(BinaryZoneCodec.INSTANCE, binaryFile, hole);
+    }
+}
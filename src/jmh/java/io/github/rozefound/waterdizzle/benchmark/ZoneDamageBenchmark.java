@@ -0,0 +1,95 @@
+package io.github.rozefound.waterdizzle.benchmark;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.testing.StandInEntity;
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import io.github.rozefound.waterdizzle.utils.Condition;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Cost of the checks a scheduled damage tick runs before damaging an entity:
+ * bounds, liveness and the zone conditions read through the block cache.
+ * The zone damages no kind of entity, so the tick ends right after the
+ * checks of Zone.shouldApplyDamage and only those are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ZoneDamageBenchmark {
+
+    private static final Material[] CONDITION_MATERIALS = {
+        Material.LAVA,
+        Material.MAGMA_BLOCK,
+        Material.SOUL_SAND,
+        Material.POWDER_SNOW,
+        Material.WATER,
+    };
+
+    @Param({ "0", "1", "5" })
+    private int conditionCount;
+
+    private StandInPlugin plugin;
+    private Zone zone;
+    private LivingEntity inside;
+    private LivingEntity outside;
+
+    @Setup
+    public void setup() throws IOException {
+        World world = StandIns.world("world");
+        plugin = StandInPlugin.create();
+
+        zone = StandIns.zone(plugin, "damage", world, 0, 0);
+        zone.setDamageAmount(2.0);
+        zone.setDamageInterval(20L);
+        for (int i = 0; i < conditionCount; i++) {
+            Condition.Direction direction = i % 2 == 0
+                ? Condition.Direction.Inside
+                : Condition.Direction.StandingOn;
+            zone.addCondition(
+                new Condition(
+                    direction,
+                    StandIns.blockData(CONDITION_MATERIALS[i])
+                )
+            );
+        }
+
+        // Only the fifth condition, water, matches the inside entity, with
+        // fewer conditions its whole footprint is scanned
+        inside = new StandInEntity(EntityType.ZOMBIE, 0.6, 1.95)
+            .moveTo(world, 8.5, StandIns.WATER_LEVEL, 8.5)
+            .get();
+        outside = new StandInEntity(EntityType.ZOMBIE, 0.6, 1.95)
+            .moveTo(world, 24.5, StandIns.WATER_LEVEL, 8.5)
+            .get();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        plugin.close();
+    }
+
+    @Benchmark
+    public boolean insideZone() {
+        return zone.applyScheduledDamage(inside);
+    }
+
+    @Benchmark
+    public boolean outsideZone() {
+        return zone.applyScheduledDamage(outside);
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.rozefound.waterdizzle.benchmark;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import io.github.rozefound.waterdizzle.utils.Condition;
+import io.github.rozefound.waterdizzle.utils.ZoneManager;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Saving and loading the zones through the zone manager with the default
+ * storage settings, per-world JSON files with an edit journal, on a
+ * temporary data folder. Saves run on the calling thread the way the plugin
+ * saves when it is disabled, after either one or every zone was edited.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ZoneStorageBenchmark {
+
+    private static final String[] WORLDS = {
+        "world",
+        "world_nether",
+        "world_the_end",
+        "arena",
+    };
+
+    @Param({ "100", "1000", "10000" })
+    private int zoneCount;
+
+    private StandInPlugin plugin;
+    private ZoneManager zoneManager;
+
+    @Setup
+    public void setup() throws IOException {
+        for (String name : WORLDS) {
+            StandIns.world(name);
+        }
+        plugin = StandInPlugin.create();
+        zoneManager = plugin.getZoneManager();
+
+        for (int i = 0; i < zoneCount; i++) {
+            World world = StandIns.world(WORLDS[i % WORLDS.length]);
+            Zone zone = StandIns.zone(
+                plugin,
+                "zone_" + i,
+                world,
+                (i % 1000) * 32,
+                (i / 1000) * 32
+            );
+            zone.setDamageAmount(2.0 + (i % 5));
+            zone.setDamageInterval(20L);
+            zone.setDamagePlayer(true);
+            zone.addCondition(
+                new Condition(Condition.Direction.Inside, "minecraft:water")
+            );
+            zoneManager.addZone(zone);
+        }
+        zoneManager.saveZonesNow();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        plugin.close();
+    }
+
+    @Benchmark
+    public void saveOneEdited() {
+        Zone zone = zoneManager.getZones().get(0);
+        zone.setDeathMessageString(zone.getDeathMessage());
+        zoneManager.saveZonesNow();
+    }
+
+    @Benchmark
+    public void saveAllEdited() {
+        List<Zone> zones = zoneManager.getZones();
+        for (Zone zone : zones) {
+            zone.setDeathMessageString(zone.getDeathMessage());
+        }
+        zoneManager.saveZonesNow();
+    }
+
+    @Benchmark
+    public int loadZones() {
+        zoneManager.loadZones();
+        return zoneManager.getZoneCount();
+    }
+}
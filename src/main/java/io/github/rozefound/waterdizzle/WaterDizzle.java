@@ -1,12 +1,18 @@
 package io.github.rozefound.waterdizzle;
 
 import io.github.rozefound.waterdizzle.commands.ZoneCommand;
+import io.github.rozefound.waterdizzle.listeners.BlockChangeListener;
+import io.github.rozefound.waterdizzle.listeners.ItemTracker;
 import io.github.rozefound.waterdizzle.listeners.SelectionListener;
 import io.github.rozefound.waterdizzle.listeners.WaterDizzleListener;
 import io.github.rozefound.waterdizzle.listeners.WorldLoadListener;
+import io.github.rozefound.waterdizzle.utils.BlockMaterialCache;
+import io.github.rozefound.waterdizzle.utils.DamageScheduler;
 import io.github.rozefound.waterdizzle.utils.LanguageManager;
 import io.github.rozefound.waterdizzle.utils.SelectionManager;
+import io.github.rozefound.waterdizzle.utils.SnapshotConditionSampler;
 import io.github.rozefound.waterdizzle.utils.ZoneManager;
+import io.github.rozefound.waterdizzle.utils.ZoneMembershipTracker;
 import io.papermc.lib.PaperLib;
 import java.io.File;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -14,9 +20,14 @@ import org.bukkit.plugin.java.JavaPlugin;
 public class WaterDizzle extends JavaPlugin {
 
     private WaterDizzleListener waterDizzleListener;
+    private ItemTracker itemTracker;
     private ZoneManager zoneManager;
     private SelectionManager selectionManager;
     private LanguageManager languageManager;
+    private ZoneMembershipTracker membershipTracker;
+    private DamageScheduler damageScheduler;
+    private BlockMaterialCache blockMaterialCache;
+    private SnapshotConditionSampler conditionSampler;
 
     @Override
     public void onEnable() {
@@ -35,14 +46,29 @@ public class WaterDizzle extends JavaPlugin {
         }
 
         languageManager = new LanguageManager(this);
+        blockMaterialCache = new BlockMaterialCache(this);
+        conditionSampler = new SnapshotConditionSampler(this);
+        damageScheduler = new DamageScheduler(this);
+        damageScheduler.start();
         zoneManager = new ZoneManager(this);
         selectionManager = new SelectionManager(this);
+        membershipTracker = new ZoneMembershipTracker(this);
 
         waterDizzleListener = new WaterDizzleListener(this);
         getServer()
             .getPluginManager()
             .registerEvents(waterDizzleListener, this);
 
+        itemTracker = new ItemTracker(this);
+        getServer().getPluginManager().registerEvents(itemTracker, this);
+
+        BlockChangeListener blockChangeListener = new BlockChangeListener(
+            this
+        );
+        getServer()
+            .getPluginManager()
+            .registerEvents(blockChangeListener, this);
+
         WorldLoadListener worldLoadListener = new WorldLoadListener(this);
         getServer().getPluginManager().registerEvents(worldLoadListener, this);
 
@@ -68,8 +94,20 @@ public class WaterDizzle extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (damageScheduler != null) {
+            damageScheduler.stop();
+        }
+
+        if (itemTracker != null) {
+            itemTracker.stop();
+        }
+
+        if (conditionSampler != null) {
+            conditionSampler.shutdown();
+        }
+
         if (zoneManager != null) {
-            zoneManager.saveZones();
+            zoneManager.saveZonesNow();
         }
 
         if (selectionManager != null) {
@@ -91,9 +129,33 @@ public class WaterDizzle extends JavaPlugin {
         return languageManager;
     }
 
+    public ZoneMembershipTracker getMembershipTracker() {
+        return membershipTracker;
+    }
+
+    public DamageScheduler getDamageScheduler() {
+        return damageScheduler;
+    }
+
+    public ItemTracker getItemTracker() {
+        return itemTracker;
+    }
+
+    public BlockMaterialCache getBlockMaterialCache() {
+        return blockMaterialCache;
+    }
+
+    public SnapshotConditionSampler getConditionSampler() {
+        return conditionSampler;
+    }
+
     public void reload() {
         reloadConfig();
         languageManager.reload();
+        waterDizzleListener.reloadSettings();
+        itemTracker.reloadSettings();
+        blockMaterialCache.reloadSettings();
+        conditionSampler.reloadSettings();
         zoneManager.loadZones();
         getLogger().info(languageManager.getMessage("general.config-reloaded"));
     }
@@ -1,13 +1,19 @@
 package io.github.rozefound.waterdizzle;
 
+import com.google.gson.InstanceCreator;
+import com.google.gson.JsonElement;
 import com.google.gson.annotations.Expose;
 import io.github.rozefound.waterdizzle.serialization.GsonFactory;
 import io.github.rozefound.waterdizzle.utils.Bounds;
+import io.github.rozefound.waterdizzle.utils.CompiledConditions;
 import io.github.rozefound.waterdizzle.utils.Condition;
-import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import io.github.rozefound.waterdizzle.utils.DamageScheduler;
+import io.github.rozefound.waterdizzle.utils.EntityCategory;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
@@ -15,14 +21,11 @@ import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.damage.DamageSource;
 import org.bukkit.damage.DamageType;
-import org.bukkit.entity.Animals;
-import org.bukkit.entity.Enemy;
+import org.bukkit.entity.Damageable;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.event.entity.PlayerDeathEvent;
-import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 
 public final class Zone {
 
@@ -63,12 +66,24 @@ public final class Zone {
     @Expose
     private boolean enabled = true;
 
-    private transient HashMap<Entity, ScheduledTask> tasks;
+    // Keyed by entity id so removed entities are never held on to. Touched
+    // from the region thread owning each entity when running on Folia
+    private transient Map<UUID, DamageScheduler.Entry> tasks;
 
     @Expose
     private ArrayList<Condition> conditions;
 
-    private transient HashSet<Player> damagedPlayers;
+    // Conditions folded into material bitsets, rebuilt lazily after edits
+    private transient CompiledConditions compiledConditions;
+
+    private transient Set<UUID> damagedPlayers;
+
+    // Set on every persisted change, cleared once the zone was serialized
+    private transient volatile boolean dirty = true;
+
+    // Bounds inflated by the item lookup distance, rebuilt on anchor changes
+    private transient Bounds interestBounds;
+    private transient int interestDistance;
 
     public Zone(
         final WaterDizzle plugin,
@@ -98,9 +113,19 @@ public final class Zone {
         this.destroyItem = false;
         this.enabled = true;
 
-        this.tasks = new HashMap<>();
+        this.tasks = new ConcurrentHashMap<>();
         this.conditions = new ArrayList<>();
-        this.damagedPlayers = new HashSet<>();
+        this.damagedPlayers = ConcurrentHashMap.newKeySet();
+    }
+
+    private Zone(final WaterDizzle plugin) {
+        this.plugin = plugin;
+        this.name = null;
+
+        this.tasks = new ConcurrentHashMap<>();
+        this.conditions = new ArrayList<>();
+        this.damagedPlayers = ConcurrentHashMap.newKeySet();
+        this.dirty = false;
     }
 
     // #pragma region setters
@@ -123,59 +148,84 @@ public final class Zone {
 
         this.anchors[anchorIndex] = location;
         this.bounds = Bounds.fromAnchors(this.anchors[0], this.anchors[1]);
+        reindex();
     }
 
     public void setAnchors(final Location[] anchors) {
         this.anchors = anchors;
         this.bounds = Bounds.fromAnchors(this.anchors[0], this.anchors[1]);
+        reindex();
     }
 
     public void setDamageAmount(final double damageAmount) {
         this.damageAmount = damageAmount;
+        changed();
     }
 
     public void setDamageInterval(final long damageInterval) {
         this.damageInterval = damageInterval;
+        changed();
     }
 
     public void setDamageType(final DamageType damageType) {
         this.damageType = damageType;
+        changed();
     }
 
     public void setDeathMessage(final String deathMessage) {
         this.deathMessage = deathMessage;
+        edited();
     }
 
     public void setDeathMessageString(final String deathMessageString) {
         this.deathMessage = deathMessageString;
+        edited();
     }
 
     public void setDamageAnimal(final boolean damageAnimal) {
         this.damageAnimal = damageAnimal;
+        changed();
     }
 
     public void setDamageEntity(final boolean damageEntity) {
         this.damageEntity = damageEntity;
+        changed();
     }
 
     public void setDamagePlayer(final boolean damagePlayer) {
         this.damagePlayer = damagePlayer;
+        changed();
     }
 
     public void setDestroyItem(final boolean destroyItem) {
         this.destroyItem = destroyItem;
+        changed();
     }
 
     public void setEnabled(final boolean enabled) {
         this.enabled = enabled;
+        changed();
     }
 
     public void addCondition(final Condition condition) {
         this.conditions.add(condition);
+        conditionsChanged();
     }
 
     public void removeCondition(final Condition condition) {
         this.conditions.remove(condition);
+        conditionsChanged();
+    }
+
+    public Condition removeCondition(final int index) {
+        Condition removed = this.conditions.remove(index);
+        conditionsChanged();
+        return removed;
+    }
+
+    public void clearConditions() {
+        this.conditions.clear();
+        conditionsChanged();
     }
 
     // #pragma endregion setters
@@ -194,6 +244,23 @@ public final class Zone {
         return this.bounds;
     }
 
+    /**
+     * Get the zone bounds inflated by a distance on every side. The result is
+     * cached until the anchors or the requested distance change.
+     *
+     * @param distance Distance in blocks to inflate the bounds by
+     * @return The inflated bounds, the zone bounds when distance is 0
+     */
+    public Bounds getInterestBounds(int distance) {
+        Bounds cached = this.interestBounds;
+        if (cached == null || this.interestDistance != distance) {
+            cached = distance <= 0 ? this.bounds : this.bounds.expand(distance);
+            this.interestDistance = distance;
+            this.interestBounds = cached;
+        }
+        return cached;
+    }
+
     public World getWorld() {
         if (
             this.anchors != null &&
@@ -274,12 +341,46 @@ public final class Zone {
             this.anchors[1].getWorld() != null
         ) {
             this.bounds = Bounds.fromAnchors(this.anchors[0], this.anchors[1]);
+            reindex();
             return true;
         }
 
         return false;
     }
 
+    private void reindex() {
+        this.interestBounds = null;
+        this.dirty = true;
+
+        var zoneManager = this.plugin.getZoneManager();
+        if (zoneManager != null) {
+            zoneManager.reindexZone(this);
+        }
+    }
+
+    private void conditionsChanged() {
+        this.compiledConditions = null;
+        changed();
+    }
+
+    private void edited() {
+        this.dirty = true;
+
+        var zoneManager = this.plugin.getZoneManager();
+        if (zoneManager != null) {
+            zoneManager.markDirty(this);
+        }
+    }
+
+    private void changed() {
+        this.dirty = true;
+
+        var zoneManager = this.plugin.getZoneManager();
+        if (zoneManager != null) {
+            zoneManager.zoneChanged(this);
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -297,40 +398,17 @@ public final class Zone {
 
         if (damageAmount == 0) return;
 
-        DamageSource damageSource = DamageSource.builder(damageType).build();
+        if ((EntityCategory.kindsOf(entity) & getDamagedKinds()) == 0) return;
 
-        if (this.damagePlayer && entity instanceof Player) {
-            var player = (Player) entity;
-            player.damage(this.damageAmount, damageSource);
-        } else if (this.damageAnimal && entity instanceof Animals) {
-            ((Animals) entity).damage(this.damageAmount, damageSource);
-        } else if (this.damageEntity && entity instanceof Enemy) {
-            ((Enemy) entity).damage(this.damageAmount, damageSource);
-        }
-    }
-
-    public void onPlayerJoin(PlayerJoinEvent event) {
-        if (!enabled) return;
-        Player player = event.getPlayer();
-
-        if (this.bounds.containsEntity(player)) {
-            startDamageTaskForEntity(player, 20L);
-        }
-    }
-
-    public void onEntityMove(Entity entity) {
-        if (!enabled) return;
-
-        if (this.bounds.containsEntity(entity)) {
-            startDamageTaskForEntity(entity, 5L);
-        }
+        DamageSource damageSource = DamageSource.builder(damageType).build();
+        ((Damageable) entity).damage(this.damageAmount, damageSource);
     }
 
     public void onPlayerDeath(PlayerDeathEvent event) {
         if (!enabled) return;
         Player player = event.getPlayer();
 
-        if (damagedPlayers.contains(player)) {
+        if (damagedPlayers.contains(player.getUniqueId())) {
             MiniMessage mm = MiniMessage.miniMessage();
 
             Component formattedMessage = mm.deserialize(
@@ -341,91 +419,230 @@ public final class Zone {
         }
     }
 
-    private boolean shouldApplyDamage(Entity entity) {
+    private boolean isInsideAndAlive(Entity entity) {
         if (!this.bounds.containsEntity(entity)) {
             return false;
         }
 
-        if (!(entity instanceof Item) && entity.isDead()) {
+        return entity instanceof Item || !entity.isDead();
+    }
+
+    private boolean shouldApplyDamage(Entity entity) {
+        if (!isInsideAndAlive(entity)) {
             return false;
         }
 
-        if (this.conditions.isEmpty()) {
+        var compiled = getCompiledConditions();
+        if (compiled.isEmpty()) {
             return true;
         }
 
-        for (var condition : this.conditions) {
-            if (condition.isMetForEntity(entity)) {
-                return true;
-            }
+        return compiled.test(entity, this.plugin.getBlockMaterialCache());
+    }
+
+    public CompiledConditions getCompiledConditions() {
+        var compiled = this.compiledConditions;
+        if (compiled == null) {
+            compiled = CompiledConditions.compile(this.conditions);
+            this.compiledConditions = compiled;
+        }
+        return compiled;
+    }
+
+    /**
+     * Check whether this zone can damage or destroy entities of the kind of
+     * the given entity, regardless of where the entity is
+     *
+     * @param entity The entity to check
+     * @return true when the zone's settings affect the entity
+     */
+    public boolean canAffect(Entity entity) {
+        return canAffect(EntityCategory.kindsOf(entity));
+    }
+
+    /**
+     * Check whether this zone can damage or destroy entities of the given
+     * kinds. An entity of several kinds is affected when any of them is.
+     *
+     * @param kinds A mask of {@link EntityCategory} bits
+     * @return true when the zone's settings affect one of the kinds
+     */
+    public boolean canAffect(int kinds) {
+        return (kinds & getAffectedKinds()) != 0;
+    }
+
+    /**
+     * @return The mask of {@link EntityCategory} bits this zone damages or
+     *     destroys
+     */
+    public int getAffectedKinds() {
+        int kinds = this.destroyItem
+            ? EntityCategory.ITEM.mask()
+            : EntityCategory.NONE;
+        if (this.damageAmount != 0 && this.damageInterval > 0) {
+            kinds |= getDamagedKinds();
         }
+        return kinds;
+    }
 
-        return false;
+    private int getDamagedKinds() {
+        int kinds = EntityCategory.NONE;
+        if (this.damagePlayer) kinds |= EntityCategory.PLAYER.mask();
+        if (this.damageAnimal) kinds |= EntityCategory.ANIMAL.mask();
+        if (this.damageEntity) kinds |= EntityCategory.ENEMY.mask();
+        return kinds;
     }
 
     public void startDamageTaskForEntity(Entity entity, long taskDelay) {
 
+        if (!canAffect(entity)) return;
+
         if (this.destroyItem && entity instanceof Item item && shouldApplyDamage(entity)) {
             item.remove(); return;
         }
 
+        UUID entityId = entity.getUniqueId();
         if (
-            tasks.containsKey(entity) ||
+            tasks.containsKey(entityId) ||
             !shouldApplyDamage(entity) ||
             (taskDelay <= 0 || damageInterval <= 0)
         ) return;
 
-        tasks.put(
-            entity,
-            entity
-                .getScheduler()
-                .runAtFixedRate(
-                    this.plugin,
-                    task -> {
-                        if (shouldApplyDamage(entity)) {
-                            boolean isPlayer = entity instanceof Player;
-                            if (isPlayer) damagedPlayers.add((Player) entity);
-                            dealDamage(entity);
-                            if (isPlayer) damagedPlayers.remove(
-                                (Player) entity
-                            );
-                        } else {
-                            task.cancel();
-                            tasks.remove(entity);
-                        }
-                    },
-                    () -> {},
-                    taskDelay,
-                    damageInterval
-                )
+        tasks.computeIfAbsent(entityId, key ->
+            this.plugin.getDamageScheduler().schedule(this, entity, taskDelay)
         );
     }
 
-    // #pragma region JSON serialization
+    /**
+     * Run one scheduled damage tick for an entity
+     *
+     * @param entity The entity to damage
+     * @return false when the entity no longer qualifies and its entry
+     *     should be dropped
+     */
+    public boolean applyScheduledDamage(Entity entity) {
+        if (
+            !canReceiveScheduledDamage(entity) ||
+            !shouldApplyDamage(entity)
+        ) {
+            return false;
+        }
 
-    public String toJson() {
-        return GsonFactory.createPrettyGson().toJson(this);
+        applyDamage(entity);
+        return true;
+    }
+
+    /**
+     * Check everything a scheduled damage tick needs except the conditions,
+     * used when the conditions are evaluated elsewhere
+     *
+     * @param entity The entity to check
+     * @return true when the entity is still inside this enabled zone
+     */
+    public boolean canReceiveScheduledDamage(Entity entity) {
+        return (
+            enabled &&
+            damageInterval > 0 &&
+            entity.isValid() &&
+            isInsideAndAlive(entity)
+        );
     }
 
-    public static Zone fromJson(String json, WaterDizzle plugin) {
-        Zone zone = GsonFactory.createGson().fromJson(json, Zone.class);
-
-        try {
-            var pluginField = Zone.class.getDeclaredField("plugin");
-            pluginField.setAccessible(true);
-            pluginField.set(zone, plugin);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to set plugin field", e);
+    /**
+     * Damage an entity once, tracking players so a death in the same tick
+     * gets this zone's death message
+     *
+     * @param entity The entity to damage
+     */
+    public void applyDamage(Entity entity) {
+        boolean isPlayer = entity instanceof Player;
+        if (isPlayer) damagedPlayers.add(entity.getUniqueId());
+        dealDamage(entity);
+        if (isPlayer) damagedPlayers.remove(entity.getUniqueId());
+    }
+
+    public void releaseDamageEntry(DamageScheduler.Entry entry) {
+        tasks.remove(entry.getEntityId(), entry);
+    }
+
+    /**
+     * Cancel the damage ticks of an entity that left the world, died or
+     * logged off
+     *
+     * @param entityId The unique id of the entity
+     */
+    public void releaseEntity(UUID entityId) {
+        damagedPlayers.remove(entityId);
+        var entry = tasks.remove(entityId);
+        if (entry != null) {
+            this.plugin.getDamageScheduler().cancel(entry);
         }
+    }
 
-        if (zone.anchors != null && zone.anchors.length >= 2) {
-            zone.bounds = Bounds.fromAnchors(zone.anchors[0], zone.anchors[1]);
+    /**
+     * @return The number of entities this zone holds damage entries for
+     */
+    public int getDamagedEntityCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Cancel every pending damage tick of this zone, used when the zone is
+     * removed or replaced
+     */
+    public void cancelDamageTasks() {
+        var damageScheduler = this.plugin.getDamageScheduler();
+        if (damageScheduler != null) {
+            for (var entry : tasks.values()) {
+                damageScheduler.cancel(entry);
+            }
         }
+        tasks.clear();
+    }
 
-        zone.tasks = new HashMap<>();
-        zone.damagedPlayers = new HashSet<>();
+    // #pragma region JSON serialization
 
-        return zone;
+    public String toJson() {
+        return GsonFactory.getPrettyGson().toJson(this);
+    }
+
+    public JsonElement toJsonTree() {
+        return GsonFactory.getGson().toJsonTree(this);
+    }
+
+    /**
+     * @return true when the zone changed since it was last serialized
+     */
+    public boolean isDirty() {
+        return this.dirty;
+    }
+
+    public void clearDirty() {
+        this.dirty = false;
+    }
+
+    public static Zone fromJson(String json, WaterDizzle plugin) {
+        return GsonFactory.getZoneGson(plugin).fromJson(json, Zone.class);
+    }
+
+    /**
+     * Create the instance creator Gson uses for zones, producing empty zones
+     * bound to the plugin with their runtime state initialised
+     *
+     * @param plugin The plugin owning the zones
+     * @return The instance creator
+     */
+    public static InstanceCreator<Zone> instanceCreator(WaterDizzle plugin) {
+        return type -> new Zone(plugin);
+    }
+
+    /**
+     * Recompute the bounds from the anchors after deserialization
+     */
+    public void restoreBounds() {
+        if (this.anchors != null && this.anchors.length >= 2) {
+            this.bounds = Bounds.fromAnchors(this.anchors[0], this.anchors[1]);
+        }
     }
 
     // #pragma endregion JSON serialization
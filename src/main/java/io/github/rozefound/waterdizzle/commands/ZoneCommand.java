@@ -22,11 +22,13 @@ public class ZoneCommand implements CommandExecutor, TabCompleter {
     private final WaterDizzle plugin;
     private final Map<String, ZoneSubCommand> subCommands;
     private final SelectionManager selectionManager;
+    private final WaterDizzleListener listener;
 
     public ZoneCommand(WaterDizzle plugin, WaterDizzleListener listener) {
         this.plugin = plugin;
         this.subCommands = new HashMap<>();
         this.selectionManager = plugin.getSelectionManager();
+        this.listener = listener;
 
         registerSubCommands();
     }
@@ -43,6 +45,10 @@ public class ZoneCommand implements CommandExecutor, TabCompleter {
         registerSubCommand(new ZoneEditCommand(plugin, selectionManager));
         registerSubCommand(new ZoneConditionCommand(plugin));
         registerSubCommand(new ZoneReloadCommand(plugin));
+        registerSubCommand(new ZoneStatsCommand(plugin, listener));
+        registerSubCommand(new ZoneExportCommand(plugin));
+        registerSubCommand(new ZoneImportCommand(plugin));
+        registerSubCommand(new ZoneTrackingCommand(plugin));
 
         // Register selection-related subcommands
         registerSubCommand(new ZoneSelectCommand(plugin, selectionManager));
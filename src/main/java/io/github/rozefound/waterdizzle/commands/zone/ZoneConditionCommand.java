@@ -466,7 +466,7 @@ public class ZoneConditionCommand extends AbstractZoneSubCommand {
         Condition removed = conditions.get(index);
         String removedStr = formatCondition(removed);
 
-        conditions.remove(index);
+        zone.removeCondition(index);
         plugin.getZoneManager().saveZones();
 
         String border =
@@ -715,7 +715,7 @@ public class ZoneConditionCommand extends AbstractZoneSubCommand {
         }
 
         int count = conditions.size();
-        conditions.clear();
+        zone.clearConditions();
         plugin.getZoneManager().saveZones();
 
         String border =
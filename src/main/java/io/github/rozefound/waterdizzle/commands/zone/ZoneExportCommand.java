@@ -0,0 +1,109 @@
+package io.github.rozefound.waterdizzle.commands.zone;
+
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import io.github.rozefound.waterdizzle.storage.ZoneCodec;
+import io.github.rozefound.waterdizzle.utils.LanguageManager;
+import io.github.rozefound.waterdizzle.utils.ZoneManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.bukkit.command.CommandSender;
+
+/**
+ * Command for converting the zone files to another format
+ * Usage: /zone export <json|binary>
+ */
+public class ZoneExportCommand extends AbstractZoneSubCommand {
+
+    public ZoneExportCommand(WaterDizzle plugin) {
+        super(
+            plugin,
+            "export",
+            "waterdizzle.zone.export",
+            "/zone export <json|binary>",
+            "Write the zone files in another format",
+            false
+        );
+    }
+
+    @Override
+    protected boolean executeCommand(CommandSender sender, String[] args) {
+        LanguageManager languageManager = plugin.getLanguageManager();
+        ZoneManager zoneManager = plugin.getZoneManager();
+
+        if (args.length < 1) {
+            sendError(sender, "Usage: " + getUsage());
+            sendInfo(
+                sender,
+                languageManager.getMessage(
+                    "commands.zone.export.specify-format"
+                )
+            );
+            return true;
+        }
+
+        ZoneCodec target = ZoneCodec.forName(args[0]);
+        if (target == null) {
+            sendError(
+                sender,
+                languageManager.getMessage(
+                    "commands.zone.export.unknown-format",
+                    "format",
+                    args[0]
+                )
+            );
+            return true;
+        }
+
+        if (target == zoneManager.getCodec()) {
+            sendError(
+                sender,
+                languageManager.getMessage(
+                    "commands.zone.export.same-format",
+                    "format",
+                    target.getName()
+                )
+            );
+            return true;
+        }
+
+        int count = zoneManager.convertZoneFiles(
+            zoneManager.getCodec(),
+            target
+        );
+        if (count < 0) {
+            sendError(
+                sender,
+                languageManager.getMessage("commands.zone.export.failed")
+            );
+            return true;
+        }
+
+        sendSuccess(
+            sender,
+            languageManager.getMessage(
+                "commands.zone.export.success",
+                Map.of(
+                    "count",
+                    String.valueOf(count),
+                    "format",
+                    target.getName()
+                )
+            )
+        );
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1) {
+            for (String format : List.of("json", "binary")) {
+                if (format.startsWith(args[0].toLowerCase())) {
+                    completions.add(format);
+                }
+            }
+        }
+        return completions;
+    }
+}
@@ -90,12 +90,12 @@ public class ZoneHelpCommand extends AbstractZoneSubCommand {
                 .getMessage("commands.zone.help.zone-management") +
             "</white></gradient>\n" +
             buildCommand(
-                "/zone list",
+                "/zone list [near [count]]",
                 "commands.zone.help.list-hover",
                 "commands.zone.help.list-description"
             ) +
             buildCommand(
-                "/zone info <name>",
+                "/zone info [name]",
                 "commands.zone.help.info-hover",
                 "commands.zone.help.info-description"
             ) +
@@ -139,6 +139,26 @@ public class ZoneHelpCommand extends AbstractZoneSubCommand {
                 "commands.zone.help.reload-hover",
                 "commands.zone.help.reload-description"
             ) +
+            buildCommand(
+                "/zone stats",
+                "commands.zone.help.stats-hover",
+                "commands.zone.help.stats-description"
+            ) +
+            buildCommand(
+                "/zone export <json|binary>",
+                "commands.zone.help.export-hover",
+                "commands.zone.help.export-description"
+            ) +
+            buildCommand(
+                "/zone import <json|binary>",
+                "commands.zone.help.import-hover",
+                "commands.zone.help.import-description"
+            ) +
+            buildCommand(
+                "/zone tracking [zone]",
+                "commands.zone.help.tracking-hover",
+                "commands.zone.help.tracking-description"
+            ) +
             "\n"
         );
     }
@@ -0,0 +1,114 @@
+package io.github.rozefound.waterdizzle.commands.zone;
+
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import io.github.rozefound.waterdizzle.storage.ZoneCodec;
+import io.github.rozefound.waterdizzle.utils.LanguageManager;
+import io.github.rozefound.waterdizzle.utils.ZoneManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.bukkit.command.CommandSender;
+
+/**
+ * Command for replacing the zone files with files of another format and
+ * reloading the zones from them
+ * Usage: /zone import <json|binary>
+ */
+public class ZoneImportCommand extends AbstractZoneSubCommand {
+
+    public ZoneImportCommand(WaterDizzle plugin) {
+        super(
+            plugin,
+            "import",
+            "waterdizzle.zone.import",
+            "/zone import <json|binary>",
+            "Load the zones from files of another format",
+            false
+        );
+    }
+
+    @Override
+    protected boolean executeCommand(CommandSender sender, String[] args) {
+        LanguageManager languageManager = plugin.getLanguageManager();
+        ZoneManager zoneManager = plugin.getZoneManager();
+
+        if (args.length < 1) {
+            sendError(sender, "Usage: " + getUsage());
+            sendInfo(
+                sender,
+                languageManager.getMessage(
+                    "commands.zone.import.specify-format"
+                )
+            );
+            return true;
+        }
+
+        ZoneCodec source = ZoneCodec.forName(args[0]);
+        if (source == null) {
+            sendError(
+                sender,
+                languageManager.getMessage(
+                    "commands.zone.import.unknown-format",
+                    "format",
+                    args[0]
+                )
+            );
+            return true;
+        }
+
+        if (source == zoneManager.getCodec()) {
+            sendError(
+                sender,
+                languageManager.getMessage(
+                    "commands.zone.import.same-format",
+                    "format",
+                    source.getName()
+                )
+            );
+            return true;
+        }
+
+        int count = zoneManager.convertZoneFiles(
+            source,
+            zoneManager.getCodec()
+        );
+        if (count < 0) {
+            sendError(
+                sender,
+                languageManager.getMessage("commands.zone.import.failed")
+            );
+            return true;
+        }
+
+        int loaded = zoneManager.reloadZones();
+
+        sendSuccess(
+            sender,
+            languageManager.getMessage(
+                "commands.zone.import.success",
+                Map.of(
+                    "count",
+                    String.valueOf(count),
+                    "format",
+                    source.getName(),
+                    "loaded",
+                    String.valueOf(loaded)
+                )
+            )
+        );
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1) {
+            for (String format : List.of("json", "binary")) {
+                if (format.startsWith(args[0].toLowerCase())) {
+                    completions.add(format);
+                }
+            }
+        }
+        return completions;
+    }
+}
@@ -2,11 +2,14 @@ package io.github.rozefound.waterdizzle.commands.zone;
 
 import io.github.rozefound.waterdizzle.WaterDizzle;
 import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.storage.ZoneDescriptor;
 import io.github.rozefound.waterdizzle.utils.Condition;
 import java.util.ArrayList;
 import java.util.List;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Location;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 
 /**
  * Command for displaying detailed information about a zone
@@ -20,7 +23,7 @@ public class ZoneInfoCommand extends AbstractZoneSubCommand {
             plugin,
             "info",
             "waterdizzle.zone.info",
-            "/zone info <name>",
+            "/zone info [name]",
             "Display detailed information about a zone",
             false
         );
@@ -28,6 +31,14 @@ public class ZoneInfoCommand extends AbstractZoneSubCommand {
 
     @Override
     protected boolean executeCommand(CommandSender sender, String[] args) {
+        if (args.length < 1 && sender instanceof Player player) {
+            Zone zone = findZoneAround(player);
+            if (zone != null) {
+                displayZoneInfo(sender, zone);
+                return true;
+            }
+        }
+
         if (args.length < 1) {
             sendError(sender, "Usage: " + getUsage());
             sendInfo(
@@ -42,6 +53,14 @@ public class ZoneInfoCommand extends AbstractZoneSubCommand {
         String zoneName = args[0];
         Zone zone = plugin.getZoneManager().getZone(zoneName);
 
+        ZoneDescriptor dormant = zone == null
+            ? plugin.getZoneManager().getDormantZone(zoneName)
+            : null;
+        if (dormant != null) {
+            displayDormantZoneInfo(sender, dormant);
+            return true;
+        }
+
         if (zone == null) {
             sendError(
                 sender,
@@ -67,6 +86,88 @@ public class ZoneInfoCommand extends AbstractZoneSubCommand {
         return true;
     }
 
+    /**
+     * Find the zone a player is standing in, or the closest zone in the
+     * player's world when they are not inside any zone
+     */
+    private Zone findZoneAround(Player player) {
+        Location location = player.getLocation();
+
+        List<Zone> zonesHere = plugin.getZoneManager().getZonesAt(location);
+        if (!zonesHere.isEmpty()) {
+            return zonesHere.get(0);
+        }
+
+        List<Zone> nearest = plugin
+            .getZoneManager()
+            .getNearestZones(location, 1);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    /**
+     * Show what is known about a zone whose world is not loaded, the zone
+     * itself is only built once its world loads
+     */
+    private void displayDormantZoneInfo(
+        CommandSender sender,
+        ZoneDescriptor descriptor
+    ) {
+        String info =
+            "\n<gradient:#3498DB:#2980B9>━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━</gradient>\n" +
+            "<gradient:#3498DB:#2980B9>        <bold>" +
+            plugin
+                .getLanguageManager()
+                .getMessage("commands.zone.info.zone-info-title") +
+            "</bold></gradient>\n" +
+            "<gradient:#3498DB:#2980B9>━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━</gradient>\n" +
+            "<gradient:#9B59B6:#27AE60>" +
+            plugin.getLanguageManager().getMessage("symbols.zap") +
+            " <bold>" +
+            plugin
+                .getLanguageManager()
+                .getMessage("commands.zone.info.zone-name") +
+            "</bold></gradient> <yellow><bold>" +
+            descriptor.getName() +
+            "</bold></yellow>\n" +
+            "<gradient:#9B59B6:#27AE60>" +
+            plugin.getLanguageManager().getMessage("symbols.zap") +
+            " <bold>" +
+            plugin.getLanguageManager().getMessage("commands.zone.info.world") +
+            "</bold></gradient> <aqua>" +
+            descriptor.getWorldName() +
+            "</aqua> <red>(" +
+            plugin
+                .getLanguageManager()
+                .getMessage("commands.zone.info.unloaded") +
+            ")</red>\n" +
+            "<gray>" +
+            plugin
+                .getLanguageManager()
+                .getMessage(
+                    "commands.zone.info.dormant",
+                    "world",
+                    descriptor.getWorldName()
+                ) +
+            "</gray>\n\n" +
+            "<click:suggest_command:'/zone remove " +
+            descriptor.getName() +
+            "'>" +
+            "<hover:show_text:'<gray>" +
+            plugin
+                .getLanguageManager()
+                .getMessage("commands.zone.info.click-remove") +
+            "</gray>'>" +
+            "<red>" +
+            plugin.getLanguageManager().getMessage("symbols.arrow-right") +
+            " " +
+            plugin
+                .getLanguageManager()
+                .getMessage("commands.zone.info.remove-zone") +
+            "</red></hover></click>\n" +
+            "<gradient:#3498DB:#2980B9>━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━</gradient>\n";
+        sender.sendMessage(miniMessage.deserialize(info));
+    }
+
     private void displayZoneInfo(CommandSender sender, Zone zone) {
         String header =
             "\n<gradient:#3498DB:#2980B9>━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━</gradient>\n" +
@@ -437,6 +538,11 @@ public class ZoneInfoCommand extends AbstractZoneSubCommand {
                     completions.add(zone.getName());
                 }
             }
+            for (String name : plugin.getZoneManager().getDormantZoneNames()) {
+                if (name.toLowerCase().startsWith(partial)) {
+                    completions.add(name);
+                }
+            }
         }
 
         return completions;
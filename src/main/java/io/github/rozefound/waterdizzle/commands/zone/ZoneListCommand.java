@@ -2,15 +2,19 @@ package io.github.rozefound.waterdizzle.commands.zone;
 
 import io.github.rozefound.waterdizzle.WaterDizzle;
 import io.github.rozefound.waterdizzle.Zone;
+import java.util.ArrayList;
 import java.util.List;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 
 /**
  * Command for listing all configured zones
  */
 public class ZoneListCommand extends AbstractZoneSubCommand {
 
+    private static final int DEFAULT_NEAREST_COUNT = 5;
+
     private final MiniMessage miniMessage = MiniMessage.miniMessage();
 
     public ZoneListCommand(WaterDizzle plugin) {
@@ -18,7 +22,7 @@ public class ZoneListCommand extends AbstractZoneSubCommand {
             plugin,
             "list",
             "waterdizzle.zone.list",
-            "/zone list",
+            "/zone list [near [count]]",
             "List all configured zones",
             false
         );
@@ -26,7 +30,28 @@ public class ZoneListCommand extends AbstractZoneSubCommand {
 
     @Override
     protected boolean executeCommand(CommandSender sender, String[] args) {
-        List<Zone> zones = plugin.getZoneManager().getZones();
+        List<Zone> zones;
+        if (
+            args.length >= 1 &&
+            args[0].equalsIgnoreCase("near") &&
+            sender instanceof Player player
+        ) {
+            int count = DEFAULT_NEAREST_COUNT;
+            if (args.length >= 2) {
+                try {
+                    count = Math.max(1, Integer.parseInt(args[1]));
+                } catch (NumberFormatException e) {
+                    sendError(sender, "Usage: " + getUsage());
+                    return true;
+                }
+            }
+            zones = plugin
+                .getZoneManager()
+                .getNearestZones(player.getLocation(), count);
+        } else {
+            zones = plugin.getZoneManager().getZones();
+        }
+
         if (zones.isEmpty()) {
             String emptyMessage =
                 "\n<gradient:#95A5A6:#7F8C8D>━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━</gradient>\n" +
@@ -237,4 +262,17 @@ public class ZoneListCommand extends AbstractZoneSubCommand {
 
         return true;
     }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (
+            args.length == 1 &&
+            sender instanceof Player &&
+            "near".startsWith(args[0].toLowerCase())
+        ) {
+            completions.add("near");
+        }
+        return completions;
+    }
 }
@@ -2,6 +2,7 @@ package io.github.rozefound.waterdizzle.commands.zone;
 
 import io.github.rozefound.waterdizzle.WaterDizzle;
 import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.storage.ZoneDescriptor;
 import java.util.ArrayList;
 import java.util.List;
 import net.kyori.adventure.text.minimessage.MiniMessage;
@@ -41,7 +42,10 @@ public class ZoneRemoveCommand extends AbstractZoneSubCommand {
         String zoneName = args[0];
 
         Zone zone = plugin.getZoneManager().getZone(zoneName);
-        if (zone == null) {
+        ZoneDescriptor dormant = zone == null
+            ? plugin.getZoneManager().getDormantZone(zoneName)
+            : null;
+        if (zone == null && dormant == null) {
             sendError(
                 sender,
                 plugin
@@ -61,15 +65,29 @@ public class ZoneRemoveCommand extends AbstractZoneSubCommand {
             return true;
         }
 
-        String worldName = zone.getWorld().getName();
-        int minX = (int) zone.getBounds().getMinX();
-        int minY = (int) zone.getBounds().getMinY();
-        int minZ = (int) zone.getBounds().getMinZ();
-        int maxX = (int) zone.getBounds().getMaxX();
-        int maxY = (int) zone.getBounds().getMaxY();
-        int maxZ = (int) zone.getBounds().getMaxZ();
+        String worldName;
+        String location;
+        if (zone != null) {
+            worldName = zone.getWorld().getName();
+            location = String.format(
+                "(%d, %d, %d) to (%d, %d, %d)",
+                (int) zone.getBounds().getMinX(),
+                (int) zone.getBounds().getMinY(),
+                (int) zone.getBounds().getMinZ(),
+                (int) zone.getBounds().getMaxX(),
+                (int) zone.getBounds().getMaxY(),
+                (int) zone.getBounds().getMaxZ()
+            );
+        } else {
+            // The zone waits for its world to load, only its world is known
+            worldName = dormant.getWorldName();
+            location = plugin
+                .getLanguageManager()
+                .getMessage("commands.zone.info.unloaded");
+        }
 
         plugin.getZoneManager().removeZone(zoneName);
+        plugin.getZoneManager().saveZones();
 
         String removalMessage =
             "\n<gradient:#E74C3C:#C0392B>━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━</gradient>\n" +
@@ -104,15 +122,7 @@ public class ZoneRemoveCommand extends AbstractZoneSubCommand {
                 .getLanguageManager()
                 .getMessage("commands.zone.remove.location") +
             "</bold></gradient> <white>" +
-            String.format(
-                "(%d, %d, %d) to (%d, %d, %d)",
-                minX,
-                minY,
-                minZ,
-                maxX,
-                maxY,
-                maxZ
-            ) +
+            location +
             "</white>\n\n" +
             "<dark_red><italic>" +
             plugin.getLanguageManager().getMessage("symbols.warning") +
@@ -132,7 +142,10 @@ public class ZoneRemoveCommand extends AbstractZoneSubCommand {
 
         sender.sendMessage(miniMessage.deserialize(removalMessage));
 
-        if (!plugin.getZoneManager().getZones().isEmpty()) {
+        if (
+            plugin.getZoneManager().getZoneCount() > 0 ||
+            plugin.getZoneManager().getDormantZoneCount() > 0
+        ) {
             String remainingMessage =
                 "<gradient:#9B59B6:#27AE60>" +
                 plugin.getLanguageManager().getMessage("symbols.bulb") +
@@ -181,6 +194,11 @@ public class ZoneRemoveCommand extends AbstractZoneSubCommand {
                     completions.add(zone.getName());
                 }
             }
+            for (String name : plugin.getZoneManager().getDormantZoneNames()) {
+                if (name.toLowerCase().startsWith(partial)) {
+                    completions.add(name);
+                }
+            }
         }
 
         return completions;
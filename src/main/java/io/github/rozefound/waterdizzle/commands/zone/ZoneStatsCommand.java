@@ -0,0 +1,180 @@
+package io.github.rozefound.waterdizzle.commands.zone;
+
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import io.github.rozefound.waterdizzle.listeners.WaterDizzleListener;
+import io.github.rozefound.waterdizzle.storage.ZoneStore;
+import io.github.rozefound.waterdizzle.utils.BlockMaterialCache;
+import io.github.rozefound.waterdizzle.utils.LanguageManager;
+import io.github.rozefound.waterdizzle.utils.SnapshotConditionSampler;
+import io.github.rozefound.waterdizzle.utils.ZoneMembershipTracker;
+import java.util.Map;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.command.CommandSender;
+
+/**
+ * Command for displaying runtime statistics of the zone event handling
+ * Usage: /zone stats
+ */
+public class ZoneStatsCommand extends AbstractZoneSubCommand {
+
+    private final MiniMessage miniMessage = MiniMessage.miniMessage();
+    private final WaterDizzleListener listener;
+
+    public ZoneStatsCommand(WaterDizzle plugin, WaterDizzleListener listener) {
+        super(
+            plugin,
+            "stats",
+            "waterdizzle.zone.stats",
+            "/zone stats",
+            "Display zone lookup and event statistics",
+            false
+        );
+        this.listener = listener;
+    }
+
+    @Override
+    protected boolean executeCommand(CommandSender sender, String[] args) {
+        LanguageManager languageManager = plugin.getLanguageManager();
+
+        long moveEvents = listener.getMoveEventCount();
+        long filteredMoveEvents = listener.getFilteredMoveEventCount();
+        String filtered = listener.isMoveFilterEnabled()
+            ? filteredMoveEvents +
+            String.format(
+                " (%.1f%%)",
+                moveEvents > 0 ? filteredMoveEvents * 100.0 / moveEvents : 0.0
+            )
+            : languageManager.getMessage(
+                "commands.zone.stats.move-filter-disabled"
+            );
+
+        BlockMaterialCache blockCache = plugin.getBlockMaterialCache();
+        long cacheHits = blockCache.getHitCount();
+        long cacheLookups = cacheHits + blockCache.getMissCount();
+        String blockCacheStats = blockCache.isEnabled()
+            ? cacheHits +
+            "/" +
+            cacheLookups +
+            String.format(
+                " (%.1f%%)",
+                cacheLookups > 0 ? cacheHits * 100.0 / cacheLookups : 0.0
+            )
+            : languageManager.getMessage(
+                "commands.zone.stats.block-cache-disabled"
+            );
+
+        SnapshotConditionSampler sampler = plugin.getConditionSampler();
+        String samplerStats = sampler.isEnabled()
+            ? languageManager.getMessage(
+                "commands.zone.stats.condition-sampler-value",
+                Map.of(
+                    "evaluations",
+                    String.valueOf(sampler.getEvaluationCount()),
+                    "snapshots",
+                    String.valueOf(sampler.getSnapshotsTaken())
+                )
+            )
+            : languageManager.getMessage(
+                "commands.zone.stats.condition-sampler-disabled"
+            );
+
+        ZoneStore store = plugin.getZoneManager().getStore();
+        String saveStats = languageManager.getMessage(
+            "commands.zone.stats.save-latency-value",
+            Map.of(
+                "last",
+                String.format("%.1f", store.getLastWriteMillis()),
+                "average",
+                String.format("%.1f", store.getAverageWriteMillis()),
+                "count",
+                String.valueOf(store.getWriteCount())
+            )
+        );
+
+        String journalStats = plugin.getZoneManager().isJournalEnabled()
+            ? languageManager.getMessage(
+                "commands.zone.stats.journal-value",
+                Map.of(
+                    "records",
+                    String.valueOf(store.getJournalRecordCount()),
+                    "compactions",
+                    String.valueOf(store.getCompactionCount())
+                )
+            )
+            : languageManager.getMessage(
+                "commands.zone.stats.journal-disabled"
+            );
+
+        ZoneMembershipTracker tracker = plugin.getMembershipTracker();
+        String skippedStats = languageManager.getMessage(
+            "commands.zone.stats.type-skipped-value",
+            Map.of(
+                "entities",
+                String.valueOf(tracker.getSkippedEntityCount()),
+                "zones",
+                String.valueOf(tracker.getSkippedZoneCheckCount())
+            )
+        );
+
+        String statsMessage =
+            "\n<gradient:#3498DB:#2980B9>━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━</gradient>\n" +
+            "<gradient:#3498DB:#2980B9>       <bold>" +
+            languageManager.getMessage("commands.zone.stats.title") +
+            "</bold></gradient>\n" +
+            "<gradient:#3498DB:#2980B9>━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━</gradient>\n\n" +
+            buildLine(
+                "commands.zone.stats.zones-label",
+                String.valueOf(plugin.getZoneManager().getZoneCount())
+            ) +
+            buildLine(
+                "commands.zone.stats.dormant-zones-label",
+                String.valueOf(plugin.getZoneManager().getDormantZoneCount())
+            ) +
+            buildLine(
+                "commands.zone.stats.tracked-entities-label",
+                String.valueOf(tracker.getTrackedCount())
+            ) +
+            buildLine(
+                "commands.zone.stats.tracked-items-label",
+                String.valueOf(plugin.getItemTracker().getTrackedCount())
+            ) +
+            buildLine(
+                "commands.zone.stats.move-events-label",
+                String.valueOf(moveEvents)
+            ) +
+            buildLine("commands.zone.stats.move-filtered-label", filtered) +
+            buildLine("commands.zone.stats.type-skipped-label", skippedStats) +
+            buildLine(
+                "commands.zone.stats.damage-pending-label",
+                String.valueOf(plugin.getDamageScheduler().getPendingCount())
+            ) +
+            buildLine(
+                "commands.zone.stats.block-cache-label",
+                blockCacheStats
+            ) +
+            buildLine(
+                "commands.zone.stats.condition-sampler-label",
+                samplerStats
+            ) +
+            buildLine("commands.zone.stats.save-latency-label", saveStats) +
+            buildLine(
+                "commands.zone.stats.save-queue-label",
+                String.valueOf(store.getQueueDepth())
+            ) +
+            buildLine("commands.zone.stats.journal-label", journalStats) +
+            "\n<gradient:#3498DB:#2980B9>━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━</gradient>\n";
+
+        sender.sendMessage(miniMessage.deserialize(statsMessage));
+        return true;
+    }
+
+    private String buildLine(String labelKey, String value) {
+        return (
+            "<gradient:#9B59B6:#27AE60>" +
+            plugin.getLanguageManager().getMessage(labelKey) +
+            ":</gradient> <yellow>" +
+            value +
+            "</yellow>\n"
+        );
+    }
+}
@@ -0,0 +1,185 @@
+package io.github.rozefound.waterdizzle.commands.zone;
+
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.utils.LanguageManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.command.CommandSender;
+
+/**
+ * Command for displaying how many entities every zone keeps track of
+ * Usage: /zone tracking [zone]
+ */
+public class ZoneTrackingCommand extends AbstractZoneSubCommand {
+
+    private static final int MAX_LISTED_ZONES = 10;
+
+    private final MiniMessage miniMessage = MiniMessage.miniMessage();
+
+    public ZoneTrackingCommand(WaterDizzle plugin) {
+        super(
+            plugin,
+            "tracking",
+            "waterdizzle.zone.tracking",
+            "/zone tracking [zone]",
+            "Display tracked entity counts per zone",
+            false
+        );
+    }
+
+    @Override
+    protected boolean executeCommand(CommandSender sender, String[] args) {
+        LanguageManager languageManager = plugin.getLanguageManager();
+
+        List<Zone> zones;
+        if (args.length >= 1) {
+            Zone zone = plugin.getZoneManager().getZone(args[0]);
+            if (zone == null) {
+                sendError(
+                    sender,
+                    languageManager.getMessage(
+                        "commands.zone.tracking.not-found",
+                        "name",
+                        args[0]
+                    )
+                );
+                return true;
+            }
+            zones = List.of(zone);
+        } else {
+            zones = plugin.getZoneManager().getZones();
+        }
+
+        Map<Zone, Integer> inside = plugin
+            .getMembershipTracker()
+            .getTrackedCountByZone();
+
+        List<Zone> listed = new ArrayList<>();
+        for (Zone zone : zones) {
+            if (
+                args.length >= 1 ||
+                inside.containsKey(zone) ||
+                zone.getDamagedEntityCount() > 0
+            ) {
+                listed.add(zone);
+            }
+        }
+        listed.sort(
+            Comparator.comparingInt((Zone zone) ->
+                inside.getOrDefault(zone, 0) + zone.getDamagedEntityCount()
+            ).reversed()
+        );
+
+        StringBuilder message = new StringBuilder();
+        message
+            .append(
+                "\n<gradient:#3498DB:#2980B9>━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━</gradient>\n"
+            )
+            .append("<gradient:#3498DB:#2980B9>       <bold>")
+            .append(languageManager.getMessage("commands.zone.tracking.title"))
+            .append("</bold></gradient>\n")
+            .append(
+                "<gradient:#3498DB:#2980B9>━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━</gradient>\n\n"
+            )
+            .append(
+                buildLine(
+                    languageManager.getMessage(
+                        "commands.zone.stats.tracked-entities-label"
+                    ),
+                    String.valueOf(
+                        plugin.getMembershipTracker().getTrackedCount()
+                    )
+                )
+            )
+            .append(
+                buildLine(
+                    languageManager.getMessage(
+                        "commands.zone.stats.damage-pending-label"
+                    ),
+                    String.valueOf(
+                        plugin.getDamageScheduler().getPendingCount()
+                    )
+                )
+            )
+            .append("\n");
+
+        if (listed.isEmpty()) {
+            message
+                .append("<gray>")
+                .append(
+                    languageManager.getMessage(
+                        "commands.zone.tracking.no-entities"
+                    )
+                )
+                .append("</gray>\n");
+        }
+
+        for (int i = 0; i < listed.size() && i < MAX_LISTED_ZONES; i++) {
+            Zone zone = listed.get(i);
+            message.append(
+                buildLine(
+                    zone.getName(),
+                    languageManager.getMessage(
+                        "commands.zone.tracking.zone-value",
+                        Map.of(
+                            "inside",
+                            String.valueOf(inside.getOrDefault(zone, 0)),
+                            "damage",
+                            String.valueOf(zone.getDamagedEntityCount())
+                        )
+                    )
+                )
+            );
+        }
+
+        if (listed.size() > MAX_LISTED_ZONES) {
+            message
+                .append("<gray>")
+                .append(
+                    languageManager.getMessage(
+                        "commands.zone.tracking.more-zones",
+                        "count",
+                        String.valueOf(listed.size() - MAX_LISTED_ZONES)
+                    )
+                )
+                .append("</gray>\n");
+        }
+
+        message.append(
+            "\n<gradient:#3498DB:#2980B9>━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━</gradient>\n"
+        );
+
+        sender.sendMessage(miniMessage.deserialize(message.toString()));
+        return true;
+    }
+
+    private String buildLine(String label, String value) {
+        return (
+            "<gradient:#9B59B6:#27AE60>" +
+            label +
+            ":</gradient> <yellow>" +
+            value +
+            "</yellow>\n"
+        );
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, String[] args) {
+        List<String> completions = new ArrayList<>();
+
+        if (args.length == 1) {
+            String partial = args[0].toLowerCase();
+            for (Zone zone : plugin.getZoneManager().getZones()) {
+                if (zone.getName().toLowerCase().startsWith(partial)) {
+                    completions.add(zone.getName());
+                }
+            }
+        }
+
+        return completions;
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.rozefound.waterdizzle.events;
+
+import io.github.rozefound.waterdizzle.Zone;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called when an entity enters an enabled zone
+ */
+public class ZoneEnterEvent extends Event {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Zone zone;
+    private final Entity entity;
+
+    public ZoneEnterEvent(Zone zone, Entity entity) {
+        this.zone = zone;
+        this.entity = entity;
+    }
+
+    public Zone getZone() {
+        return zone;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
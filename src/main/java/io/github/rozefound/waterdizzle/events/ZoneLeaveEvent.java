@@ -0,0 +1,41 @@
+package io.github.rozefound.waterdizzle.events;
+
+import io.github.rozefound.waterdizzle.Zone;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called when an entity leaves an enabled zone, dies, quits or when the zone
+ * it was in is disabled or removed
+ */
+public class ZoneLeaveEvent extends Event {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Zone zone;
+    private final Entity entity;
+
+    public ZoneLeaveEvent(Zone zone, Entity entity) {
+        this.zone = zone;
+        this.entity = entity;
+    }
+
+    public Zone getZone() {
+        return zone;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,484 @@
+package io.github.rozefound.waterdizzle.index;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.utils.Bounds;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+
+/**
+ * Spatial index mapping packed chunk keys to the zones overlapping them.
+ * Every world gets its own chunk map, so a lookup only ever touches the
+ * handful of zones registered in the chunks around the queried area.
+ * Lookups ignore the Y axis, zones spanning many chunks are better served by
+ * {@link RTreeZoneIndex}.
+ *
+ * <p>Chunks are grouped into regions of 32 by 32 chunks holding immutable
+ * zone lists. A {@link #copy()} shares every region with the index it was
+ * copied from, and either index copies a shared region before changing it,
+ * so an edit only copies the regions the changed zone covers.
+ */
+public class ChunkZoneIndex implements ZoneIndex {
+
+    private static final int REGION_SHIFT = 5;
+
+    private final Map<UUID, Regions> worlds;
+    private final Map<Zone, Entry> entries;
+    // Regions and world maps of another owner are shared with a copy
+    private Object owner = new Object();
+
+    public ChunkZoneIndex() {
+        this(new HashMap<>(), new HashMap<>());
+    }
+
+    private ChunkZoneIndex(
+        Map<UUID, Regions> worlds,
+        Map<Zone, Entry> entries
+    ) {
+        this.worlds = worlds;
+        this.entries = entries;
+    }
+
+    @Override
+    public ChunkZoneIndex copy() {
+        // From now on both indexes copy what they share before changing it
+        owner = new Object();
+        return new ChunkZoneIndex(
+            new HashMap<>(worlds),
+            new HashMap<>(entries)
+        );
+    }
+
+    @Override
+    public void insert(Zone zone) {
+        remove(zone);
+
+        Entry entry = toEntry(zone);
+        if (entry == null) {
+            return;
+        }
+
+        Regions regions = writableWorld(entry.worldId);
+        for (
+            int chunkX = entry.minChunkX;
+            chunkX <= entry.maxChunkX;
+            chunkX++
+        ) {
+            for (
+                int chunkZ = entry.minChunkZ;
+                chunkZ <= entry.maxChunkZ;
+                chunkZ++
+            ) {
+                Map<Long, List<Zone>> chunks = regions.writable(
+                    chunkX,
+                    chunkZ
+                );
+                long key = Chunk.getChunkKey(chunkX, chunkZ);
+                chunks.put(key, with(chunks.get(key), zone));
+            }
+        }
+
+        entries.put(zone, entry);
+    }
+
+    @Override
+    public void remove(Zone zone) {
+        Entry entry = entries.remove(zone);
+        if (entry == null) {
+            return;
+        }
+
+        if (!worlds.containsKey(entry.worldId)) {
+            return;
+        }
+        Regions regions = writableWorld(entry.worldId);
+
+        for (
+            int chunkX = entry.minChunkX;
+            chunkX <= entry.maxChunkX;
+            chunkX++
+        ) {
+            for (
+                int chunkZ = entry.minChunkZ;
+                chunkZ <= entry.maxChunkZ;
+                chunkZ++
+            ) {
+                if (regions.get(chunkX, chunkZ) == null) {
+                    continue;
+                }
+
+                Map<Long, List<Zone>> chunks = regions.writable(
+                    chunkX,
+                    chunkZ
+                );
+                long key = Chunk.getChunkKey(chunkX, chunkZ);
+                List<Zone> zones = without(chunks.get(key), zone);
+                if (zones != null) {
+                    chunks.put(key, zones);
+                } else {
+                    chunks.remove(key);
+                    if (chunks.isEmpty()) {
+                        regions.remove(chunkX, chunkZ);
+                    }
+                }
+            }
+        }
+
+        if (regions.isEmpty()) {
+            worlds.remove(entry.worldId);
+        }
+    }
+
+    @Override
+    public void clear() {
+        worlds.clear();
+        entries.clear();
+    }
+
+    @Override
+    public void bulkLoad(Collection<Zone> zones) {
+        clear();
+
+        // Gather every chunk's zones first, the immutable lists are built
+        // once per chunk instead of once per zone
+        Map<UUID, Map<Long, Map<Long, List<Zone>>>> gathered = new HashMap<>();
+        for (Zone zone : zones) {
+            Entry entry = toEntry(zone);
+            if (entry == null) {
+                continue;
+            }
+
+            Map<Long, Map<Long, List<Zone>>> regions = gathered.computeIfAbsent(
+                entry.worldId,
+                id -> new HashMap<>()
+            );
+            for (
+                int chunkX = entry.minChunkX;
+                chunkX <= entry.maxChunkX;
+                chunkX++
+            ) {
+                for (
+                    int chunkZ = entry.minChunkZ;
+                    chunkZ <= entry.maxChunkZ;
+                    chunkZ++
+                ) {
+                    regions
+                        .computeIfAbsent(regionKey(chunkX, chunkZ), key ->
+                            new HashMap<>()
+                        )
+                        .computeIfAbsent(
+                            Chunk.getChunkKey(chunkX, chunkZ),
+                            key -> new ArrayList<>(2)
+                        )
+                        .add(zone);
+                }
+            }
+            entries.put(zone, entry);
+        }
+
+        for (Map.Entry<
+            UUID,
+            Map<Long, Map<Long, List<Zone>>>
+        > world : gathered.entrySet()) {
+            Regions regions = new Regions(owner);
+            for (Map.Entry<Long, Map<Long, List<Zone>>> region : world
+                .getValue()
+                .entrySet()) {
+                Map<Long, List<Zone>> chunks = region.getValue();
+                chunks.replaceAll((key, chunkZones) -> List.copyOf(chunkZones));
+                regions.regions.put(
+                    region.getKey(),
+                    new Region(owner, chunks)
+                );
+            }
+            worlds.put(world.getKey(), regions);
+        }
+    }
+
+    @Override
+    public List<Zone> queryPoint(World world, double x, double y, double z) {
+        return queryBox(world, x, y, z, x, y, z);
+    }
+
+    @Override
+    public List<Zone> queryBox(
+        World world,
+        double minX,
+        double minY,
+        double minZ,
+        double maxX,
+        double maxY,
+        double maxZ
+    ) {
+        if (world == null) {
+            return Collections.emptyList();
+        }
+
+        Regions regions = worlds.get(world.getUID());
+        if (regions == null) {
+            return Collections.emptyList();
+        }
+
+        int minChunkX = toChunk(minX);
+        int minChunkZ = toChunk(minZ);
+        int maxChunkX = toChunk(maxX);
+        int maxChunkZ = toChunk(maxZ);
+
+        if (minChunkX == maxChunkX && minChunkZ == maxChunkZ) {
+            List<Zone> zones = regions.getZones(minChunkX, minChunkZ);
+            return zones != null ? zones : Collections.emptyList();
+        }
+
+        // Chunks holding the same zones as the first one, like the chunks
+        // inside one large zone, add nothing and allocate nothing
+        List<Zone> first = null;
+        List<Zone> result = null;
+        Set<Zone> seen = null;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                List<Zone> zones = regions.getZones(chunkX, chunkZ);
+                if (zones == null) continue;
+
+                if (first == null) {
+                    first = zones;
+                    continue;
+                }
+                if (result == null) {
+                    if (sameZones(first, zones)) continue;
+                    result = new ArrayList<>(first);
+                    seen = Collections.newSetFromMap(new IdentityHashMap<>());
+                    seen.addAll(first);
+                }
+                for (Zone zone : zones) {
+                    if (seen.add(zone)) {
+                        result.add(zone);
+                    }
+                }
+            }
+        }
+
+        if (result != null) {
+            return result;
+        }
+        return first != null ? first : Collections.emptyList();
+    }
+
+    @Override
+    public List<Zone> nearest(
+        World world,
+        double x,
+        double y,
+        double z,
+        int count
+    ) {
+        if (world == null || count <= 0) {
+            return Collections.emptyList();
+        }
+
+        UUID worldId = world.getUID();
+        List<Zone> candidates = new ArrayList<>();
+        for (Map.Entry<Zone, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().worldId.equals(worldId)) {
+                candidates.add(entry.getKey());
+            }
+        }
+
+        candidates.sort(
+            Comparator.comparingDouble(zone -> {
+                Bounds bounds = zone.getBounds();
+                return ZoneIndex.distanceSquared(
+                    x,
+                    y,
+                    z,
+                    bounds.getMinX(),
+                    bounds.getMinY(),
+                    bounds.getMinZ(),
+                    bounds.getMaxX(),
+                    bounds.getMaxY(),
+                    bounds.getMaxZ()
+                );
+            })
+        );
+
+        return candidates.size() > count
+            ? new ArrayList<>(candidates.subList(0, count))
+            : candidates;
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    private Regions writableWorld(UUID worldId) {
+        Regions regions = worlds.get(worldId);
+        if (regions == null || regions.owner != owner) {
+            regions = regions == null
+                ? new Regions(owner)
+                : new Regions(owner, regions);
+            worlds.put(worldId, regions);
+        }
+        return regions;
+    }
+
+    private static Entry toEntry(Zone zone) {
+        Bounds bounds = zone.getBounds();
+        if (bounds == null || bounds.getWorld() == null) {
+            return null;
+        }
+
+        return new Entry(
+            bounds.getWorld().getUID(),
+            toChunk(bounds.getMinX()),
+            toChunk(bounds.getMinZ()),
+            toChunk(bounds.getMaxX()),
+            toChunk(bounds.getMaxZ())
+        );
+    }
+
+    private static List<Zone> with(List<Zone> zones, Zone zone) {
+        if (zones == null) {
+            return List.of(zone);
+        }
+        Zone[] added = zones.toArray(new Zone[zones.size() + 1]);
+        added[zones.size()] = zone;
+        return List.of(added);
+    }
+
+    private static List<Zone> without(List<Zone> zones, Zone zone) {
+        if (zones == null || !zones.contains(zone)) {
+            return zones;
+        }
+        if (zones.size() == 1) {
+            return null;
+        }
+        List<Zone> remaining = new ArrayList<>(zones);
+        remaining.remove(zone);
+        return List.copyOf(remaining);
+    }
+
+    private static boolean sameZones(List<Zone> first, List<Zone> second) {
+        if (first.size() != second.size()) {
+            return false;
+        }
+        for (int i = 0; i < first.size(); i++) {
+            if (first.get(i) != second.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int toChunk(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> 4;
+    }
+
+    private static long regionKey(int chunkX, int chunkZ) {
+        return Chunk.getChunkKey(
+            chunkX >> REGION_SHIFT,
+            chunkZ >> REGION_SHIFT
+        );
+    }
+
+    /**
+     * Regions of one world, each mapping chunk keys to the zones overlapping
+     * the chunk
+     */
+    private static final class Regions {
+
+        private final Object owner;
+        private final Map<Long, Region> regions;
+
+        private Regions(Object owner) {
+            this.owner = owner;
+            this.regions = new HashMap<>();
+        }
+
+        private Regions(Object owner, Regions shared) {
+            this.owner = owner;
+            this.regions = new HashMap<>(shared.regions);
+        }
+
+        private Map<Long, List<Zone>> get(int chunkX, int chunkZ) {
+            Region region = regions.get(regionKey(chunkX, chunkZ));
+            return region != null ? region.chunks : null;
+        }
+
+        private List<Zone> getZones(int chunkX, int chunkZ) {
+            Map<Long, List<Zone>> chunks = get(chunkX, chunkZ);
+            return chunks != null
+                ? chunks.get(Chunk.getChunkKey(chunkX, chunkZ))
+                : null;
+        }
+
+        /**
+         * Get the chunk map of a region for modification, copying a region
+         * shared with another index first
+         */
+        private Map<Long, List<Zone>> writable(int chunkX, int chunkZ) {
+            long key = regionKey(chunkX, chunkZ);
+            Region region = regions.get(key);
+            if (region == null || region.owner != owner) {
+                region = new Region(
+                    owner,
+                    region != null
+                        ? new HashMap<>(region.chunks)
+                        : new HashMap<>()
+                );
+                regions.put(key, region);
+            }
+            return region.chunks;
+        }
+
+        private void remove(int chunkX, int chunkZ) {
+            regions.remove(regionKey(chunkX, chunkZ));
+        }
+
+        private boolean isEmpty() {
+            return regions.isEmpty();
+        }
+    }
+
+    private static final class Region {
+
+        private final Object owner;
+        private final Map<Long, List<Zone>> chunks;
+
+        private Region(Object owner, Map<Long, List<Zone>> chunks) {
+            this.owner = owner;
+            this.chunks = chunks;
+        }
+    }
+
+    private static final class Entry {
+
+        private final UUID worldId;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int maxChunkX;
+        private final int maxChunkZ;
+
+        private Entry(
+            UUID worldId,
+            int minChunkX,
+            int minChunkZ,
+            int maxChunkX,
+            int maxChunkZ
+        ) {
+            this.worldId = worldId;
+            this.minChunkX = minChunkX;
+            this.minChunkZ = minChunkZ;
+            this.maxChunkX = maxChunkX;
+            this.maxChunkZ = maxChunkZ;
+        }
+    }
+}
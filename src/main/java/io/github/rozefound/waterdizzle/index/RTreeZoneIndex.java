@@ -0,0 +1,609 @@
+package io.github.rozefound.waterdizzle.index;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.utils.Bounds;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import org.bukkit.World;
+
+/**
+ * R-tree over zone bounds, one tree per world. The tree is bulk loaded with
+ * Sort-Tile-Recursive packing when the zone set is loaded and kept up to
+ * date with regular R-tree insertion and removal afterwards. Unlike the chunk
+ * grid its cost does not grow with the area a zone covers, which makes it the
+ * better choice for huge or heavily overlapping zones.
+ *
+ * <p>Nodes do not point to their parents, so a {@link #copy()} can share
+ * every node with the tree it was copied from. Insertion and removal copy
+ * the nodes on their path from the root before changing them, leaving the
+ * nodes of the other tree untouched.
+ */
+public class RTreeZoneIndex implements ZoneIndex {
+
+    private static final int MAX_ENTRIES = 16;
+    private static final int MIN_ENTRIES = 6;
+
+    private final Map<UUID, Node> roots;
+    private final Map<Zone, Item> items;
+    // Nodes of another owner are shared with a copy
+    private Object owner = new Object();
+
+    public RTreeZoneIndex() {
+        this(new HashMap<>(), new HashMap<>());
+    }
+
+    private RTreeZoneIndex(Map<UUID, Node> roots, Map<Zone, Item> items) {
+        this.roots = roots;
+        this.items = items;
+    }
+
+    @Override
+    public RTreeZoneIndex copy() {
+        // From now on both trees copy the nodes they share before changing
+        // them
+        owner = new Object();
+        return new RTreeZoneIndex(new HashMap<>(roots), new HashMap<>(items));
+    }
+
+    @Override
+    public void insert(Zone zone) {
+        remove(zone);
+
+        Bounds bounds = zone.getBounds();
+        if (bounds == null || bounds.getWorld() == null) {
+            return;
+        }
+
+        Item item = new Item(zone, bounds);
+        items.put(zone, item);
+        insertItem(item);
+    }
+
+    @Override
+    public void remove(Zone zone) {
+        Item item = items.remove(zone);
+        if (item == null) {
+            return;
+        }
+
+        Node root = roots.get(item.worldId);
+        List<Integer> path = new ArrayList<>();
+        if (root == null || !findLeaf(root, item, path)) {
+            return;
+        }
+
+        // Copy the path down to the item's leaf, then take the item out
+        Node[] nodes = new Node[path.size()];
+        nodes[0] = writable(root);
+        for (int depth = 1; depth < nodes.length; depth++) {
+            Node parent = nodes[depth - 1];
+            int index = path.get(depth - 1);
+            nodes[depth] = writable((Node) parent.children.get(index));
+            parent.children.set(index, nodes[depth]);
+        }
+        nodes[nodes.length - 1].children.remove((int) path.get(
+            path.size() - 1
+        ));
+
+        // Underfull nodes leave the tree, their items are inserted again
+        List<Item> orphans = new ArrayList<>();
+        for (int depth = nodes.length - 1; depth > 0; depth--) {
+            Node node = nodes[depth];
+            if (node.children.size() < MIN_ENTRIES) {
+                nodes[depth - 1].children.remove(node);
+                collectItems(node, orphans);
+            } else {
+                node.recalculate();
+            }
+        }
+
+        root = nodes[0];
+        root.recalculate();
+        while (!root.leaf && root.children.size() == 1) {
+            root = (Node) root.children.get(0);
+        }
+
+        if (root.children.isEmpty()) {
+            roots.remove(item.worldId);
+        } else {
+            roots.put(item.worldId, root);
+        }
+
+        for (Item orphan : orphans) {
+            insertItem(orphan);
+        }
+    }
+
+    @Override
+    public void clear() {
+        roots.clear();
+        items.clear();
+    }
+
+    @Override
+    public void bulkLoad(Collection<Zone> zones) {
+        clear();
+
+        Map<UUID, List<Entry>> perWorld = new HashMap<>();
+        for (Zone zone : zones) {
+            Bounds bounds = zone.getBounds();
+            if (bounds == null || bounds.getWorld() == null) {
+                continue;
+            }
+
+            Item item = new Item(zone, bounds);
+            items.put(zone, item);
+            perWorld
+                .computeIfAbsent(item.worldId, id -> new ArrayList<>())
+                .add(item);
+        }
+
+        for (Map.Entry<UUID, List<Entry>> world : perWorld.entrySet()) {
+            List<Entry> level = world.getValue();
+            boolean leaf = true;
+
+            while (level.size() > MAX_ENTRIES) {
+                level = packLevel(level, leaf, owner);
+                leaf = false;
+            }
+
+            Node root = new Node(leaf, owner);
+            root.children.addAll(level);
+            root.recalculate();
+            roots.put(world.getKey(), root);
+        }
+    }
+
+    @Override
+    public List<Zone> queryPoint(World world, double x, double y, double z) {
+        return queryBox(world, x, y, z, x, y, z);
+    }
+
+    @Override
+    public List<Zone> queryBox(
+        World world,
+        double minX,
+        double minY,
+        double minZ,
+        double maxX,
+        double maxY,
+        double maxZ
+    ) {
+        if (world == null) {
+            return Collections.emptyList();
+        }
+
+        Node root = roots.get(world.getUID());
+        if (
+            root == null ||
+            !root.intersects(minX, minY, minZ, maxX, maxY, maxZ)
+        ) {
+            return Collections.emptyList();
+        }
+
+        List<Zone> result = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            for (Entry child : node.children) {
+                if (!child.intersects(minX, minY, minZ, maxX, maxY, maxZ)) {
+                    continue;
+                }
+
+                if (node.leaf) {
+                    result.add(((Item) child).zone);
+                } else {
+                    stack.push((Node) child);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<Zone> nearest(
+        World world,
+        double x,
+        double y,
+        double z,
+        int count
+    ) {
+        if (world == null || count <= 0) {
+            return Collections.emptyList();
+        }
+
+        Node root = roots.get(world.getUID());
+        if (root == null) {
+            return Collections.emptyList();
+        }
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(
+            Comparator.comparingDouble(candidate -> candidate.distance)
+        );
+        queue.add(new Candidate(root, root.distanceSquared(x, y, z)));
+
+        List<Zone> result = new ArrayList<>(count);
+        while (!queue.isEmpty() && result.size() < count) {
+            Entry entry = queue.poll().entry;
+
+            if (entry instanceof Item item) {
+                result.add(item.zone);
+                continue;
+            }
+
+            for (Entry child : ((Node) entry).children) {
+                queue.add(
+                    new Candidate(child, child.distanceSquared(x, y, z))
+                );
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    private void insertItem(Item item) {
+        Node root = roots.get(item.worldId);
+        root = root != null ? writable(root) : new Node(true, owner);
+
+        Node sibling = insert(root, item);
+        if (sibling != null) {
+            Node newRoot = new Node(false, owner);
+            newRoot.children.add(root);
+            newRoot.children.add(sibling);
+            newRoot.recalculate();
+            root = newRoot;
+        }
+        roots.put(item.worldId, root);
+    }
+
+    /**
+     * Insert an item below a node owned by this tree
+     *
+     * @return The node split off the given node, or null when it did not
+     *     overflow
+     */
+    private Node insert(Node node, Item item) {
+        if (node.leaf) {
+            node.children.add(item);
+        } else {
+            int index = chooseSubtree(node, item);
+            Node child = writable((Node) node.children.get(index));
+            node.children.set(index, child);
+
+            Node sibling = insert(child, item);
+            if (sibling != null) {
+                node.children.add(sibling);
+            }
+        }
+
+        if (node.children.size() > MAX_ENTRIES) {
+            return split(node, owner);
+        }
+        node.expand(item);
+        return null;
+    }
+
+    private Node writable(Node node) {
+        return node.owner == owner ? node : node.copy(owner);
+    }
+
+    /**
+     * Find the leaf holding an item, recording the child index taken at
+     * every level
+     */
+    private static boolean findLeaf(Node node, Item item, List<Integer> path) {
+        for (int i = 0; i < node.children.size(); i++) {
+            Entry child = node.children.get(i);
+            if (node.leaf) {
+                if (child == item) {
+                    path.add(i);
+                    return true;
+                }
+                continue;
+            }
+
+            if (!child.contains(item)) {
+                continue;
+            }
+            path.add(i);
+            if (findLeaf((Node) child, item, path)) {
+                return true;
+            }
+            path.remove(path.size() - 1);
+        }
+        return false;
+    }
+
+    private static int chooseSubtree(Node node, Entry entry) {
+        int best = 0;
+        double bestEnlargement = Double.MAX_VALUE;
+        double bestVolume = Double.MAX_VALUE;
+
+        for (int i = 0; i < node.children.size(); i++) {
+            Entry child = node.children.get(i);
+            double volume = child.volume();
+            double enlargement = child.unionVolume(entry) - volume;
+
+            if (
+                enlargement < bestEnlargement ||
+                (enlargement == bestEnlargement && volume < bestVolume)
+            ) {
+                best = i;
+                bestEnlargement = enlargement;
+                bestVolume = volume;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Quadratic split: the two entries wasting the most space seed the two
+     * groups, the remaining entries go to the group they enlarge the least
+     */
+    private static Node split(Node node, Object owner) {
+        List<Entry> entries = new ArrayList<>(node.children);
+        node.children.clear();
+
+        Node sibling = new Node(node.leaf, owner);
+
+        int firstSeed = 0;
+        int secondSeed = 1;
+        double worstWaste = -Double.MAX_VALUE;
+        for (int i = 0; i < entries.size(); i++) {
+            for (int j = i + 1; j < entries.size(); j++) {
+                Entry a = entries.get(i);
+                Entry b = entries.get(j);
+                double waste = a.unionVolume(b) - a.volume() - b.volume();
+                if (waste > worstWaste) {
+                    worstWaste = waste;
+                    firstSeed = i;
+                    secondSeed = j;
+                }
+            }
+        }
+
+        node.children.add(entries.get(firstSeed));
+        sibling.children.add(entries.get(secondSeed));
+        node.recalculate();
+        sibling.recalculate();
+        entries.remove(secondSeed);
+        entries.remove(firstSeed);
+
+        while (!entries.isEmpty()) {
+            if (node.children.size() + entries.size() == MIN_ENTRIES) {
+                for (Entry entry : entries) node.children.add(entry);
+                break;
+            }
+            if (sibling.children.size() + entries.size() == MIN_ENTRIES) {
+                for (Entry entry : entries) sibling.children.add(entry);
+                break;
+            }
+
+            Entry entry = entries.remove(entries.size() - 1);
+            double nodeGrowth = node.unionVolume(entry) - node.volume();
+            double siblingGrowth =
+                sibling.unionVolume(entry) - sibling.volume();
+
+            Node target;
+            if (nodeGrowth != siblingGrowth) {
+                target = nodeGrowth < siblingGrowth ? node : sibling;
+            } else {
+                target = node.children.size() <= sibling.children.size()
+                    ? node
+                    : sibling;
+            }
+            target.children.add(entry);
+            target.expand(entry);
+        }
+
+        node.recalculate();
+        sibling.recalculate();
+        return sibling;
+    }
+
+    /**
+     * Pack one level of the tree with Sort-Tile-Recursive: entries are sorted
+     * by X into vertical slices, each slice is sorted by Z and cut into full
+     * nodes
+     */
+    private static List<Entry> packLevel(
+        List<Entry> entries,
+        boolean leaf,
+        Object owner
+    ) {
+        int nodeCount = (int) Math.ceil(entries.size() / (double) MAX_ENTRIES);
+        int sliceCount = (int) Math.ceil(Math.sqrt(nodeCount));
+        int sliceSize = sliceCount * MAX_ENTRIES;
+
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingDouble(Entry::centerX));
+
+        List<Entry> packed = new ArrayList<>(nodeCount);
+        for (int start = 0; start < sorted.size(); start += sliceSize) {
+            int end = Math.min(start + sliceSize, sorted.size());
+            List<Entry> slice = new ArrayList<>(sorted.subList(start, end));
+            slice.sort(Comparator.comparingDouble(Entry::centerZ));
+
+            for (int i = 0; i < slice.size(); i += MAX_ENTRIES) {
+                Node node = new Node(leaf, owner);
+                node.children.addAll(
+                    slice.subList(i, Math.min(i + MAX_ENTRIES, slice.size()))
+                );
+                node.recalculate();
+                packed.add(node);
+            }
+        }
+
+        return packed;
+    }
+
+    private static void collectItems(Node node, List<Item> out) {
+        for (Entry child : node.children) {
+            if (node.leaf) {
+                out.add((Item) child);
+            } else {
+                collectItems((Node) child, out);
+            }
+        }
+    }
+
+    private abstract static class Entry {
+
+        double minX;
+        double minY;
+        double minZ;
+        double maxX;
+        double maxY;
+        double maxZ;
+
+        boolean intersects(
+            double minX,
+            double minY,
+            double minZ,
+            double maxX,
+            double maxY,
+            double maxZ
+        ) {
+            return (
+                this.minX <= maxX &&
+                this.maxX >= minX &&
+                this.minY <= maxY &&
+                this.maxY >= minY &&
+                this.minZ <= maxZ &&
+                this.maxZ >= minZ
+            );
+        }
+
+        boolean contains(Entry other) {
+            return (
+                minX <= other.minX &&
+                maxX >= other.maxX &&
+                minY <= other.minY &&
+                maxY >= other.maxY &&
+                minZ <= other.minZ &&
+                maxZ >= other.maxZ
+            );
+        }
+
+        double volume() {
+            return (maxX - minX) * (maxY - minY) * (maxZ - minZ);
+        }
+
+        double unionVolume(Entry other) {
+            return (
+                (Math.max(maxX, other.maxX) - Math.min(minX, other.minX)) *
+                (Math.max(maxY, other.maxY) - Math.min(minY, other.minY)) *
+                (Math.max(maxZ, other.maxZ) - Math.min(minZ, other.minZ))
+            );
+        }
+
+        double distanceSquared(double x, double y, double z) {
+            return ZoneIndex.distanceSquared(
+                x,
+                y,
+                z,
+                minX,
+                minY,
+                minZ,
+                maxX,
+                maxY,
+                maxZ
+            );
+        }
+
+        double centerX() {
+            return (minX + maxX) / 2.0;
+        }
+
+        double centerZ() {
+            return (minZ + maxZ) / 2.0;
+        }
+    }
+
+    private static final class Item extends Entry {
+
+        private final Zone zone;
+        private final UUID worldId;
+
+        private Item(Zone zone, Bounds bounds) {
+            this.zone = zone;
+            this.worldId = bounds.getWorld().getUID();
+            this.minX = bounds.getMinX();
+            this.minY = bounds.getMinY();
+            this.minZ = bounds.getMinZ();
+            this.maxX = bounds.getMaxX();
+            this.maxY = bounds.getMaxY();
+            this.maxZ = bounds.getMaxZ();
+        }
+    }
+
+    private static final class Node extends Entry {
+
+        private final boolean leaf;
+        private final Object owner;
+        private final List<Entry> children = new ArrayList<>(MAX_ENTRIES + 1);
+
+        private Node(boolean leaf, Object owner) {
+            this.leaf = leaf;
+            this.owner = owner;
+        }
+
+        private Node copy(Object owner) {
+            Node copy = new Node(leaf, owner);
+            copy.children.addAll(children);
+            copy.minX = minX;
+            copy.minY = minY;
+            copy.minZ = minZ;
+            copy.maxX = maxX;
+            copy.maxY = maxY;
+            copy.maxZ = maxZ;
+            return copy;
+        }
+
+        private void expand(Entry entry) {
+            minX = Math.min(minX, entry.minX);
+            minY = Math.min(minY, entry.minY);
+            minZ = Math.min(minZ, entry.minZ);
+            maxX = Math.max(maxX, entry.maxX);
+            maxY = Math.max(maxY, entry.maxY);
+            maxZ = Math.max(maxZ, entry.maxZ);
+        }
+
+        private void recalculate() {
+            minX = minY = minZ = Double.MAX_VALUE;
+            maxX = maxY = maxZ = -Double.MAX_VALUE;
+            for (Entry child : children) {
+                expand(child);
+            }
+        }
+    }
+
+    private static final class Candidate {
+
+        private final Entry entry;
+        private final double distance;
+
+        private Candidate(Entry entry, double distance) {
+            this.entry = entry;
+            this.distance = distance;
+        }
+    }
+}
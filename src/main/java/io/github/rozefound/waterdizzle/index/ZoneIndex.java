@@ -0,0 +1,118 @@
+package io.github.rozefound.waterdizzle.index;
+
+import io.github.rozefound.waterdizzle.Zone;
+import java.util.Collection;
+import java.util.List;
+import org.bukkit.World;
+
+/**
+ * Spatial lookup structure used by the zone manager to find zones around a
+ * position without scanning every registered zone. Query results are
+ * candidate lists: implementations may return zones that do not overlap the
+ * queried area exactly, so callers still have to test the zone bounds.
+ *
+ * <p>Implementations are not thread safe. The zone manager derives the
+ * index of every new zone set from a {@link #copy()} of the previous one and
+ * publishes it with its {@code ZoneSnapshot}, after which it is only queried.
+ */
+public interface ZoneIndex {
+    /**
+     * Register a zone, replacing any previous registration of the same zone
+     *
+     * @param zone The zone to index
+     */
+    void insert(Zone zone);
+
+    /**
+     * Remove a zone from the index
+     *
+     * @param zone The zone to remove
+     */
+    void remove(Zone zone);
+
+    /**
+     * Remove every zone from the index
+     */
+    void clear();
+
+    /**
+     * Replace the content of the index with the given zones. Implementations
+     * that can build a better structure from a complete zone set override
+     * this.
+     *
+     * @param zones The zones to index
+     */
+    default void bulkLoad(Collection<Zone> zones) {
+        clear();
+        for (Zone zone : zones) {
+            insert(zone);
+        }
+    }
+
+    /**
+     * Copy the index. The copy shares the structure of this index until
+     * either of them is modified, a modification copies only the parts of
+     * the structure it touches, so deriving the index of an edited zone set
+     * costs about as much as the edit itself.
+     *
+     * @return An index of the same zones
+     */
+    ZoneIndex copy();
+
+    /**
+     * Find the zones that may contain the given point
+     *
+     * @return The candidate zones, must not be modified
+     */
+    List<Zone> queryPoint(World world, double x, double y, double z);
+
+    /**
+     * Find the zones that may overlap the given box
+     *
+     * @return The candidate zones, must not be modified
+     */
+    List<Zone> queryBox(
+        World world,
+        double minX,
+        double minY,
+        double minZ,
+        double maxX,
+        double maxY,
+        double maxZ
+    );
+
+    /**
+     * Find the zones closest to the given point, ordered by the distance
+     * between the point and the zone bounds
+     *
+     * @param count Maximum number of zones to return
+     * @return The nearest zones, closest first
+     */
+    List<Zone> nearest(World world, double x, double y, double z, int count);
+
+    /**
+     * @return The number of indexed zones
+     */
+    int size();
+
+    /**
+     * Squared distance between a point and an axis aligned box, zero when
+     * the point lies inside the box
+     */
+    static double distanceSquared(
+        double x,
+        double y,
+        double z,
+        double minX,
+        double minY,
+        double minZ,
+        double maxX,
+        double maxY,
+        double maxZ
+    ) {
+        double dx = Math.max(Math.max(minX - x, 0), x - maxX);
+        double dy = Math.max(Math.max(minY - y, 0), y - maxY);
+        double dz = Math.max(Math.max(minZ - z, 0), z - maxZ);
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
@@ -0,0 +1,259 @@
+package io.github.rozefound.waterdizzle.listeners;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import io.github.rozefound.waterdizzle.utils.DamageScheduler;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.Location;
+import org.bukkit.entity.Item;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.ItemDespawnEvent;
+import org.bukkit.event.entity.ItemMergeEvent;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.event.inventory.InventoryPickupItemEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Tracks dropped items lying near zones that destroy items. Items are picked
+ * up and released through spawn, merge, pickup, despawn and removal events
+ * and kept as direct references, so the periodic check never has to look an
+ * entity up. An item is only re-evaluated when it crossed into another block
+ * since the previous check.
+ */
+public class ItemTracker implements Listener {
+
+    private final WaterDizzle plugin;
+    private final Map<UUID, TrackedItem> items = new ConcurrentHashMap<>();
+    private int lookupDistance;
+    private long checkInterval;
+    private BukkitTask task;
+
+    public ItemTracker(WaterDizzle plugin) {
+        this.plugin = plugin;
+
+        reloadSettings();
+    }
+
+    /**
+     * Re-read the lookup distance and check cadence and restart the periodic
+     * check with the new interval
+     */
+    public void reloadSettings() {
+        lookupDistance = Math.max(
+            0,
+            plugin.getConfig().getInt("item_lookup_distance_modifier", 0)
+        );
+        checkInterval = Math.max(
+            1L,
+            plugin.getConfig().getLong("item_check_interval", 1L)
+        );
+
+        stop();
+
+        if (isRegionized()) {
+            for (TrackedItem tracked : items.values()) {
+                scheduleRegionized(tracked);
+            }
+        } else {
+            task = plugin
+                .getServer()
+                .getScheduler()
+                .runTaskTimer(plugin, this::checkAll, 0L, checkInterval);
+        }
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (TrackedItem tracked : items.values()) {
+            tracked.cancelTask();
+        }
+    }
+
+    public int getTrackedCount() {
+        return items.size();
+    }
+
+    /**
+     * Start tracking an item if it lies near a zone that destroys items
+     *
+     * @param item The item to track
+     */
+    public void track(Item item) {
+        if (!isNearDestroyItemZone(item)) {
+            return;
+        }
+
+        TrackedItem tracked = new TrackedItem(item);
+        if (items.putIfAbsent(item.getUniqueId(), tracked) != null) {
+            return;
+        }
+
+        if (isRegionized()) {
+            scheduleRegionized(tracked);
+        }
+        plugin.getMembershipTracker().update(item, 5L);
+    }
+
+    /**
+     * Stop tracking an item and drop its zone membership
+     *
+     * @param item The item to release
+     */
+    public void untrack(Item item) {
+        TrackedItem tracked = items.remove(item.getUniqueId());
+        if (tracked != null) {
+            tracked.cancelTask();
+        }
+        plugin.getMembershipTracker().forget(item);
+    }
+
+    private void checkAll() {
+        Iterator<TrackedItem> iterator = items.values().iterator();
+        while (iterator.hasNext()) {
+            TrackedItem tracked = iterator.next();
+            if (!check(tracked)) {
+                iterator.remove();
+                plugin.getMembershipTracker().forget(tracked.item);
+            }
+        }
+    }
+
+    /**
+     * Re-evaluate a tracked item if it moved to another block
+     *
+     * @return false when the item should no longer be tracked
+     */
+    private boolean check(TrackedItem tracked) {
+        Item item = tracked.item;
+        if (!item.isValid()) {
+            return false;
+        }
+
+        Location location = item.getLocation();
+        int blockX = location.getBlockX();
+        int blockY = location.getBlockY();
+        int blockZ = location.getBlockZ();
+
+        // For performance reasons we only track items near zones
+        // As soon as it leaves the zone, it's none of our concern
+
+        if (
+            blockX == tracked.blockX &&
+            blockY == tracked.blockY &&
+            blockZ == tracked.blockZ
+        ) {
+            return true;
+        }
+
+        if (!isNearDestroyItemZone(item)) {
+            return false;
+        }
+
+        tracked.blockX = blockX;
+        tracked.blockY = blockY;
+        tracked.blockZ = blockZ;
+        plugin.getMembershipTracker().update(item, 5L);
+        return true;
+    }
+
+    private void scheduleRegionized(TrackedItem tracked) {
+        tracked.task = tracked.item
+            .getScheduler()
+            .runAtFixedRate(
+                plugin,
+                scheduled -> {
+                    if (!check(tracked)) {
+                        untrack(tracked.item);
+                    }
+                },
+                () -> items.remove(tracked.item.getUniqueId()),
+                checkInterval,
+                checkInterval
+            );
+    }
+
+    private boolean isRegionized() {
+        return (
+            plugin.getDamageScheduler().getMode() ==
+            DamageScheduler.ExecutionMode.FOLIA
+        );
+    }
+
+    private boolean isNearDestroyItemZone(Item item) {
+        return plugin
+            .getZoneManager()
+            .isNearDestroyItemZone(item, lookupDistance);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemSpawn(ItemSpawnEvent event) {
+        track(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityAddToWorld(EntityAddToWorldEvent event) {
+        // Items loaded back in with their chunk never fire a spawn event
+        if (event.getEntity() instanceof Item item) {
+            track(item);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemMerge(ItemMergeEvent event) {
+        untrack(event.getEntity());
+        track(event.getTarget());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityPickupItem(EntityPickupItemEvent event) {
+        untrack(event.getItem());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryPickupItem(InventoryPickupItemEvent event) {
+        untrack(event.getItem());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDespawn(ItemDespawnEvent event) {
+        untrack(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        if (event.getEntity() instanceof Item item) {
+            untrack(item);
+        }
+    }
+
+    private static final class TrackedItem {
+
+        private final Item item;
+        private int blockX = Integer.MIN_VALUE;
+        private int blockY = Integer.MIN_VALUE;
+        private int blockZ = Integer.MIN_VALUE;
+        private ScheduledTask task;
+
+        private TrackedItem(Item item) {
+            this.item = item;
+        }
+
+        private void cancelTask() {
+            if (task != null) {
+                task.cancel();
+                task = null;
+            }
+        }
+    }
+}
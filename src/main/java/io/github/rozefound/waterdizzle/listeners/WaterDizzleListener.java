@@ -1,123 +1,148 @@
 package io.github.rozefound.waterdizzle.listeners;
 
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
 import io.github.rozefound.waterdizzle.WaterDizzle;
-import io.github.rozefound.waterdizzle.utils.Bounds;
 import io.papermc.paper.event.entity.EntityMoveEvent;
-import java.util.HashMap;
-import java.util.UUID;
-import org.bukkit.Bukkit;
+import java.util.concurrent.atomic.LongAdder;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
-import org.bukkit.entity.Item;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.entity.ItemDespawnEvent;
-import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
 
 public class WaterDizzleListener implements Listener {
 
     private final WaterDizzle plugin;
-    private final HashMap<UUID, Location> lastKnown = new HashMap<>();
-    private int ItemLookupDistanceModifier;
+    private boolean moveFilterEnabled;
+
+    private final LongAdder moveEvents = new LongAdder();
+    private final LongAdder filteredMoveEvents = new LongAdder();
 
     public WaterDizzleListener(WaterDizzle plugin) {
         this.plugin = plugin;
 
-        ItemLookupDistanceModifier = plugin.getConfig().getInt("item_lookup_distance_modifier", 0);
-
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (var entry : lastKnown.entrySet()) {
-                    Item item = (Item) Bukkit.getEntity(entry.getKey());
-                    if (item == null) continue;
-
-                    // For performance reasons we only track items in zones
-                    // As soon as it leaves the zone, it's none of our concern
-
-                    Location current = item.getLocation();
-                    if (!current.equals(entry.getValue())) {
-                        if (!anyZoneContainsEntity(item, ItemLookupDistanceModifier)) {
-                            lastKnown.remove(entry.getKey());
-                        }
-                        entry.setValue(current);
-                        onItemMove(item);
-                    }
-                }
-            }
-        }
-            .runTaskTimer(plugin, 0L, 1L);
+        reloadSettings();
     }
 
-    private boolean anyZoneContainsEntity(Entity entity, int lookupModifier) {
-        for (var zone : plugin.getZoneManager().getZones()) {
+    public void reloadSettings() {
+        moveFilterEnabled = plugin
+            .getConfig()
+            .getBoolean("move_event_filter", true);
+    }
 
-            var oldBounds = zone.getBounds();
+    public boolean isMoveFilterEnabled() {
+        return moveFilterEnabled;
+    }
 
-            var newBounds = lookupModifier <= 0 ? oldBounds
-                    : new Bounds(oldBounds.getWorld(),
-                    oldBounds.getMinX() - lookupModifier,
-                    oldBounds.getMinY() - lookupModifier,
-                    oldBounds.getMinZ() - lookupModifier,
-                    oldBounds.getMaxX() + lookupModifier,
-                    oldBounds.getMaxY() + lookupModifier,
-                    oldBounds.getMaxZ() + lookupModifier);
+    public long getMoveEventCount() {
+        return moveEvents.sum();
+    }
 
-            if (newBounds.containsEntity(entity))
-                return true;
+    public long getFilteredMoveEventCount() {
+        return filteredMoveEvents.sum();
+    }
 
+    /**
+     * Check whether a move only rotated the entity or kept every block its
+     * bounding box touches the same. Zone bounds and conditions work on
+     * whole blocks, so such moves can never change the zone state.
+     */
+    private boolean staysInBlockSpan(
+        Entity entity,
+        Location from,
+        Location to
+    ) {
+        if (from.getWorld() != to.getWorld()) {
+            return false;
         }
-        return false;
+
+        double halfWidth = entity.getWidth() / 2;
+        double height = entity.getHeight();
+
+        return (
+            sameBlock(from.getX() - halfWidth, to.getX() - halfWidth) &&
+            sameBlock(from.getX() + halfWidth, to.getX() + halfWidth) &&
+            sameBlock(from.getY(), to.getY()) &&
+            sameBlock(from.getY() + height, to.getY() + height) &&
+            sameBlock(from.getZ() - halfWidth, to.getZ() - halfWidth) &&
+            sameBlock(from.getZ() + halfWidth, to.getZ() + halfWidth)
+        );
     }
 
-    @EventHandler(priority = EventPriority.NORMAL)
-    public void onItemSpawn(ItemSpawnEvent event) {
-        Item item = event.getEntity();
-        if (anyZoneContainsEntity(item, ItemLookupDistanceModifier)) {
-            lastKnown.put(item.getUniqueId(), item.getLocation());
-        }
+    private static boolean sameBlock(double from, double to) {
+        return Math.floor(from) == Math.floor(to);
     }
 
-    @EventHandler(priority = EventPriority.NORMAL)
-    public void onItemDespawn(ItemDespawnEvent event) {
-        lastKnown.remove(event.getEntity().getUniqueId());
+    private boolean shouldSkipMove(Entity entity, Location from, Location to) {
+        moveEvents.increment();
+
+        if (moveFilterEnabled && staysInBlockSpan(entity, from, to)) {
+            filteredMoveEvents.increment();
+            return true;
+        }
+
+        return false;
     }
 
     @EventHandler(priority = EventPriority.NORMAL)
     public void onPlayerJoinEvent(PlayerJoinEvent event) {
-        for (var zone : plugin.getZoneManager().getZones()) {
-            zone.onPlayerJoin(event);
-        }
+        plugin.getMembershipTracker().update(event.getPlayer(), 20L);
     }
 
     @EventHandler(priority = EventPriority.NORMAL)
     public void OnPlayerMoveEvent(PlayerMoveEvent event) {
-        for (var zone : plugin.getZoneManager().getZones()) {
-            zone.onEntityMove(event.getPlayer());
+        Player player = event.getPlayer();
+        if (shouldSkipMove(player, event.getFrom(), event.getTo())) {
+            return;
         }
+        plugin.getMembershipTracker().update(player, 5L);
     }
 
     @EventHandler(priority = EventPriority.NORMAL)
     public void onEntityMoveEvent(EntityMoveEvent event) {
-        for (var zone : plugin.getZoneManager().getZones()) {
-            zone.onEntityMove(event.getEntity());
+        LivingEntity entity = event.getEntity();
+        if (shouldSkipMove(entity, event.getFrom(), event.getTo())) {
+            return;
         }
+        plugin.getMembershipTracker().update(entity, 5L);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        plugin.getMembershipTracker().forget(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent event) {
+        plugin.getMembershipTracker().forget(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        // Covers despawns, removals and changing worlds
+        plugin.getMembershipTracker().forget(event.getEntity());
     }
 
-    public void onItemMove(Item item) {
-        for (var zone : plugin.getZoneManager().getZones()) {
-            zone.onEntityMove(item);
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            plugin.getMembershipTracker().forget(entity);
         }
     }
 
     @EventHandler(priority = EventPriority.NORMAL)
     public void onPlayerDeath(PlayerDeathEvent event) {
-        for (var zone : plugin.getZoneManager().getZones()) {
+        for (var zone : plugin
+            .getZoneManager()
+            .getZonesNear(event.getPlayer())) {
             zone.onPlayerDeath(event);
         }
     }
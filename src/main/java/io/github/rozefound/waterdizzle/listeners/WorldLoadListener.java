@@ -1,7 +1,6 @@
 package io.github.rozefound.waterdizzle.listeners;
 
 import io.github.rozefound.waterdizzle.WaterDizzle;
-import io.github.rozefound.waterdizzle.Zone;
 import io.github.rozefound.waterdizzle.utils.ZoneManager;
 import java.util.logging.Level;
 import org.bukkit.World;
@@ -12,8 +11,9 @@ import org.bukkit.event.world.WorldLoadEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
 
 /**
- * Listener to handle world load/unload events and maintain zone world references.
- * This is critical for zones that are loaded from storage before their worlds are available.
+ * Listener to handle world load/unload events and activate zones together with their world.
+ * Zones of worlds that are not loaded are kept as dormant descriptors and only built when
+ * their world loads, so no zone ever references a missing world.
  */
 public class WorldLoadListener implements Listener {
 
@@ -27,54 +27,7 @@ public class WorldLoadListener implements Listener {
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onWorldLoad(WorldLoadEvent event) {
-        World loadedWorld = event.getWorld();
-        String worldName = loadedWorld.getName();
-
-        plugin
-            .getLogger()
-            .log(
-                Level.INFO,
-                "World '" +
-                worldName +
-                "' loaded. Checking zones for world reference restoration..."
-            );
-
-        int restoredCount = 0;
-
-        for (Zone zone : zoneManager.getZones()) {
-            if (zone.getWorld() == null && zone.getAnchors() != null) {
-                boolean restored = tryRestoreZoneWorld(zone, loadedWorld);
-
-                if (restored) {
-                    restoredCount++;
-                    plugin
-                        .getLogger()
-                        .log(
-                            Level.INFO,
-                            "Restored world reference for zone '" +
-                            zone.getName() +
-                            "' to world '" +
-                            worldName +
-                            "'"
-                        );
-                }
-            }
-        }
-
-        if (restoredCount > 0) {
-            plugin
-                .getLogger()
-                .log(
-                    Level.INFO,
-                    "Restored world references for " +
-                    restoredCount +
-                    " zone(s) in world '" +
-                    worldName +
-                    "'"
-                );
-
-            zoneManager.saveZones();
-        }
+        zoneManager.loadWorld(event.getWorld());
     }
 
     /**
@@ -82,60 +35,23 @@ public class WorldLoadListener implements Listener {
      */
     @EventHandler(priority = EventPriority.MONITOR)
     public void onWorldUnload(WorldUnloadEvent event) {
-        World unloadedWorld = event.getWorld();
-        String worldName = unloadedWorld.getName();
-
-        plugin
-            .getLogger()
-            .log(
-                Level.INFO,
-                "World '" + worldName + "' is being unloaded. Checking zones..."
-            );
-
-        int affectedCount = 0;
-
-        for (Zone zone : zoneManager.getZones()) {
-            if (
-                zone.getWorld() != null && zone.getWorld().equals(unloadedWorld)
-            ) {
-                affectedCount++;
-                plugin
-                    .getLogger()
-                    .log(
-                        Level.WARNING,
-                        "Zone '" +
-                        zone.getName() +
-                        "' is in unloading world '" +
-                        worldName +
-                        "'. Zone will be inactive until world is reloaded."
-                    );
-            }
+        if (event.isCancelled()) {
+            return;
         }
 
-        if (affectedCount > 0) {
+        World unloadedWorld = event.getWorld();
+        int unloadedCount = zoneManager.unloadWorld(unloadedWorld);
+        if (unloadedCount > 0) {
             plugin
                 .getLogger()
                 .log(
-                    Level.WARNING,
-                    affectedCount +
-                    " zone(s) are affected by unloading world '" +
-                    worldName +
-                    "'"
+                    Level.INFO,
+                    "Deactivated " +
+                    unloadedCount +
+                    " zone(s) of world '" +
+                    unloadedWorld.getName() +
+                    "' until it loads again"
                 );
         }
     }
-
-    private boolean tryRestoreZoneWorld(Zone zone, World world) {
-        if (zone.getAnchors() == null || zone.getAnchors().length < 2) {
-            return false;
-        }
-
-        boolean restored = zone.ensureWorldLoaded();
-
-        if (!restored) {
-            return false;
-        }
-
-        return restored;
-    }
 }
@@ -0,0 +1,23 @@
+package io.github.rozefound.waterdizzle.serialization;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+
+public class ComponentTypeAdapter extends TypeAdapter<Component> {
+
+    private static final MiniMessage miniMessage = MiniMessage.miniMessage();
+
+    @Override
+    public void write(JsonWriter out, Component component) throws IOException {
+        out.value(miniMessage.serialize(component));
+    }
+
+    @Override
+    public Component read(JsonReader in) throws IOException {
+        return miniMessage.deserialize(in.nextString());
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.rozefound.waterdizzle.serialization;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.github.rozefound.waterdizzle.utils.Condition;
+import java.io.IOException;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+
+public class ConditionTypeAdapter extends TypeAdapter<Condition> {
+
+    @Override
+    public void write(JsonWriter out, Condition condition) throws IOException {
+        out.beginObject();
+
+        if (condition.getDirection() != null) {
+            out.name("direction").value(condition.getDirection().name());
+        }
+
+        if (condition.getBlockDataString() != null) {
+            out.name("blockDataString").value(condition.getBlockDataString());
+        }
+
+        out.endObject();
+    }
+
+    @Override
+    public Condition read(JsonReader in) throws IOException {
+        String directionStr = null;
+        String blockDataString = null;
+        String materialName = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "direction" -> directionStr = in.nextString();
+                case "blockDataString" -> blockDataString = in.nextString();
+                case "material" -> materialName = in.nextString();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        Condition.Direction direction = null;
+        if (directionStr != null) {
+            try {
+                direction = Condition.Direction.valueOf(directionStr);
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException(
+                    "Invalid Condition.Direction: " + directionStr,
+                    e
+                );
+            }
+        }
+
+        if (blockDataString != null) {
+            return new Condition(direction, blockDataString);
+        }
+
+        if (materialName != null) {
+            try {
+                Material material = Material.valueOf(materialName);
+
+                String migratedBlockData = material.name().toLowerCase();
+
+                Bukkit.getLogger().info(
+                    "Migrating condition from Material '" +
+                    materialName +
+                    "' to block data '" +
+                    migratedBlockData +
+                    "'"
+                );
+
+                return new Condition(direction, migratedBlockData);
+            } catch (IllegalArgumentException e) {
+                Bukkit.getLogger().warning(
+                    "Could not migrate Material '" +
+                    materialName +
+                    "' to block data. Using AIR as fallback."
+                );
+                return new Condition(direction, "air");
+            }
+        }
+
+        throw new JsonParseException(
+            "Condition JSON must contain either 'blockDataString' or 'material' field"
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.rozefound.waterdizzle.serialization;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.papermc.paper.registry.RegistryAccess;
+import io.papermc.paper.registry.RegistryKey;
+import java.io.IOException;
+import org.bukkit.NamespacedKey;
+import org.bukkit.damage.DamageType;
+
+public class DamageTypeTypeAdapter extends TypeAdapter<DamageType> {
+
+    @Override
+    public void write(JsonWriter out, DamageType damageType)
+        throws IOException {
+        out.value(damageType.key().toString());
+    }
+
+    @Override
+    public DamageType read(JsonReader in) throws IOException {
+        DamageType damageType = getDamageType(in.nextString());
+        return damageType != null ? damageType : DamageType.MAGIC; // fallback
+    }
+
+    private DamageType getDamageType(String name) {
+        try {
+            // Accepts both namespaced keys as written and bare vanilla names
+            NamespacedKey key = NamespacedKey.fromString(name);
+            if (key == null) {
+                return null;
+            }
+            return RegistryAccess.registryAccess()
+                .getRegistry(RegistryKey.DAMAGE_TYPE)
+                .get(key);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
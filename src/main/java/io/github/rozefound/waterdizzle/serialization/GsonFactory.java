@@ -2,55 +2,102 @@ package io.github.rozefound.waterdizzle.serialization;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import io.github.rozefound.waterdizzle.Zone;
 import io.github.rozefound.waterdizzle.utils.Condition;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.damage.DamageType;
 
+/**
+ * Shared Gson instances. Gson instances are thread-safe and cache the
+ * reflective metadata of every type they saw, so they are built once and
+ * reused instead of being created for every zone.
+ */
 public final class GsonFactory {
 
+    private static final Gson GSON = createGsonBuilder().create();
+
+    private static final Gson PRETTY_GSON = createGsonBuilder()
+        .setPrettyPrinting()
+        .create();
+
+    private static final Gson COMPACT_GSON = createBaseBuilder().create();
+
+    private static volatile Gson zoneGson;
+    private static volatile WaterDizzle zoneGsonPlugin;
+
     private GsonFactory() {
         // Utility class - prevent instantiation
     }
 
-    public static Gson createGson() {
-        return createGsonBuilder().create();
+    public static Gson getGson() {
+        return GSON;
+    }
+
+    public static Gson getPrettyGson() {
+        return PRETTY_GSON;
     }
 
-    public static Gson createPrettyGson() {
-        return createGsonBuilder().setPrettyPrinting().create();
+    public static Gson getCompactGson() {
+        return COMPACT_GSON;
     }
 
     public static GsonBuilder createGsonBuilder() {
-        return new GsonBuilder()
-            .excludeFieldsWithoutExposeAnnotation()
-            .registerTypeAdapter(Component.class, new ComponentSerializer())
-            .registerTypeAdapter(Component.class, new ComponentDeserializer())
-            .registerTypeAdapter(DamageType.class, new DamageTypeSerializer())
-            .registerTypeAdapter(DamageType.class, new DamageTypeDeserializer())
-            .registerTypeAdapter(Location.class, new LocationSerializer())
-            .registerTypeAdapter(Location.class, new LocationDeserializer())
-            .registerTypeAdapter(Material.class, new MaterialSerializer())
-            .registerTypeAdapter(Material.class, new MaterialDeserializer())
-            .registerTypeAdapter(Condition.class, new ConditionSerializer())
-            .registerTypeAdapter(Condition.class, new ConditionDeserializer())
-            .serializeNulls();
+        return createBaseBuilder().serializeNulls();
     }
 
-    public static Gson createCompactGson() {
+    private static GsonBuilder createBaseBuilder() {
         return new GsonBuilder()
             .excludeFieldsWithoutExposeAnnotation()
-            .registerTypeAdapter(Component.class, new ComponentSerializer())
-            .registerTypeAdapter(Component.class, new ComponentDeserializer())
-            .registerTypeAdapter(DamageType.class, new DamageTypeSerializer())
-            .registerTypeAdapter(DamageType.class, new DamageTypeDeserializer())
-            .registerTypeAdapter(Location.class, new LocationSerializer())
-            .registerTypeAdapter(Location.class, new LocationDeserializer())
-            .registerTypeAdapter(Material.class, new MaterialSerializer())
-            .registerTypeAdapter(Material.class, new MaterialDeserializer())
-            .registerTypeAdapter(Condition.class, new ConditionSerializer())
-            .registerTypeAdapter(Condition.class, new ConditionDeserializer())
-            .create();
+            .registerTypeAdapter(
+                Component.class,
+                new ComponentTypeAdapter().nullSafe()
+            )
+            .registerTypeAdapter(
+                DamageType.class,
+                new DamageTypeTypeAdapter().nullSafe()
+            )
+            .registerTypeAdapter(
+                Location.class,
+                new LocationTypeAdapter().nullSafe()
+            )
+            .registerTypeAdapter(
+                Material.class,
+                new MaterialTypeAdapter().nullSafe()
+            )
+            .registerTypeAdapter(
+                Condition.class,
+                new ConditionTypeAdapter().nullSafe()
+            );
+    }
+
+    /**
+     * Get the Gson instance able to read zones. Zones are constructed bound
+     * to the plugin instead of having it injected afterwards.
+     *
+     * @param plugin The plugin owning the zones
+     * @return The zone Gson instance, shared until the plugin changes
+     */
+    public static Gson getZoneGson(WaterDizzle plugin) {
+        Gson gson = zoneGson;
+        if (gson != null && zoneGsonPlugin == plugin) {
+            return gson;
+        }
+
+        synchronized (GsonFactory.class) {
+            if (zoneGson == null || zoneGsonPlugin != plugin) {
+                zoneGson = createGsonBuilder()
+                    .registerTypeAdapter(
+                        Zone.class,
+                        Zone.instanceCreator(plugin)
+                    )
+                    .registerTypeAdapterFactory(new ZoneTypeAdapterFactory())
+                    .create();
+                zoneGsonPlugin = plugin;
+            }
+            return zoneGson;
+        }
     }
 }
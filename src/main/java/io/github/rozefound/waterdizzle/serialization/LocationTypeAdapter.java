@@ -0,0 +1,69 @@
+package io.github.rozefound.waterdizzle.serialization;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+public class LocationTypeAdapter extends TypeAdapter<Location> {
+
+    @Override
+    public void write(JsonWriter out, Location location) throws IOException {
+        out.beginObject();
+
+        World world = location.getWorld();
+        if (world != null) {
+            out.name("world").value(world.getName());
+        }
+
+        out.name("x").value(location.getX());
+        out.name("y").value(location.getY());
+        out.name("z").value(location.getZ());
+
+        float yaw = location.getYaw();
+        float pitch = location.getPitch();
+
+        if (yaw != 0.0f) {
+            out.name("yaw").value(yaw);
+        }
+
+        if (pitch != 0.0f) {
+            out.name("pitch").value(pitch);
+        }
+
+        out.endObject();
+    }
+
+    @Override
+    public Location read(JsonReader in) throws IOException {
+        String worldName = null;
+        double x = 0.0;
+        double y = 0.0;
+        double z = 0.0;
+        float yaw = 0.0f;
+        float pitch = 0.0f;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "world" -> worldName = in.nextString();
+                case "x" -> x = in.nextDouble();
+                case "y" -> y = in.nextDouble();
+                case "z" -> z = in.nextDouble();
+                case "yaw" -> yaw = (float) in.nextDouble();
+                case "pitch" -> pitch = (float) in.nextDouble();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        // Zones of unloaded worlds are kept serialized until the world loads,
+        // so a missing world here is not worth a warning
+        World world = worldName != null ? Bukkit.getWorld(worldName) : null;
+
+        return new Location(world, x, y, z, yaw, pitch);
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.rozefound.waterdizzle.serialization;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+
+public class MaterialTypeAdapter extends TypeAdapter<Material> {
+
+    @Override
+    public void write(JsonWriter out, Material material) throws IOException {
+        out.value(material.name());
+    }
+
+    @Override
+    public Material read(JsonReader in) throws IOException {
+        String materialName = in.nextString();
+
+        try {
+            return Material.valueOf(materialName);
+        } catch (IllegalArgumentException e) {
+            Bukkit.getLogger().warning(
+                "Could not deserialize Material: '" +
+                materialName +
+                "'. Material may not exist in this version of Minecraft."
+            );
+            return null;
+        }
+    }
+}
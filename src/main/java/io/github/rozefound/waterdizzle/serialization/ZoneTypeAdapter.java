@@ -0,0 +1,47 @@
+package io.github.rozefound.waterdizzle.serialization;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.github.rozefound.waterdizzle.Zone;
+import java.io.IOException;
+
+/**
+ * Type adapter for zones. Reading always consumes the whole zone object
+ * before any field is interpreted, so a malformed zone fails on its own and
+ * leaves a streaming reader positioned at the next zone.
+ */
+public class ZoneTypeAdapter extends TypeAdapter<Zone> {
+
+    private final TypeAdapter<Zone> delegate;
+
+    public ZoneTypeAdapter(TypeAdapter<Zone> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void write(JsonWriter out, Zone zone) throws IOException {
+        delegate.write(out, zone);
+    }
+
+    @Override
+    public Zone read(JsonReader in) throws IOException {
+        return fromTree(JsonParser.parseReader(in));
+    }
+
+    /**
+     * Build a zone from an already parsed zone object
+     *
+     * @param element The zone object
+     * @return The zone with its bounds restored
+     */
+    public Zone fromTree(JsonElement element) {
+        Zone zone = delegate.fromJsonTree(element);
+        if (zone != null) {
+            zone.restoreBounds();
+        }
+        return zone;
+    }
+}
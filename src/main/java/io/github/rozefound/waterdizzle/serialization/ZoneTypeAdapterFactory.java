@@ -0,0 +1,28 @@
+package io.github.rozefound.waterdizzle.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import io.github.rozefound.waterdizzle.Zone;
+
+/**
+ * Wraps the reflective zone adapter of a Gson instance in a
+ * {@link ZoneTypeAdapter}
+ */
+public class ZoneTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != Zone.class) {
+            return null;
+        }
+
+        TypeAdapter<Zone> delegate = gson.getDelegateAdapter(
+            this,
+            TypeToken.get(Zone.class)
+        );
+        return (TypeAdapter<T>) new ZoneTypeAdapter(delegate);
+    }
+}
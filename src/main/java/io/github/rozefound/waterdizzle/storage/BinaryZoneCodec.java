@@ -0,0 +1,447 @@
+package io.github.rozefound.waterdizzle.storage;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary zone format. A file starts with a magic number and format
+ * version, followed by a table of the strings shared between zones (world
+ * names, damage types, condition directions and block data) and the zones
+ * themselves as length-prefixed records referring to that table. Readers
+ * skip the unknown tail of a record, so later versions can append fields.
+ *
+ * <p>Layout of version 1:
+ * <pre>
+ * int magic, short version
+ * int stringCount, (int length, utf8 bytes) * stringCount
+ * int zoneCount, (int recordLength, record) * zoneCount
+ *
+ * record: string name, byte anchorCount (-1 for none),
+ *         (byte present, int world, double x, y, z, float yaw, pitch) * n,
+ *         double damageAmount, long damageInterval, int damageType,
+ *         string deathMessage, byte flags,
+ *         int conditionCount (-1 for none),
+ *         (int direction, int blockData) * conditionCount
+ * </pre>
+ * Table references are -1 for null, inline strings use a length of -1.
+ */
+public final class BinaryZoneCodec implements ZoneCodec {
+
+    public static final BinaryZoneCodec INSTANCE = new BinaryZoneCodec();
+
+    private static final int MAGIC = 0x57445A42; // WDZB
+    private static final short VERSION = 1;
+
+    private static final int FLAG_DAMAGE_ANIMAL = 1;
+    private static final int FLAG_DAMAGE_ENTITY = 1 << 1;
+    private static final int FLAG_DAMAGE_PLAYER = 1 << 2;
+    private static final int FLAG_DESTROY_ITEM = 1 << 3;
+    private static final int FLAG_ENABLED = 1 << 4;
+
+    private BinaryZoneCodec() {}
+
+    @Override
+    public String getName() {
+        return "binary";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return ".dat";
+    }
+
+    @Override
+    public void encode(JsonArray zones, WritableByteChannel channel)
+        throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (JsonElement zone : zones) {
+            collectStrings(zone.getAsJsonObject(), strings);
+        }
+
+        Output out = new Output(64 + zones.size() * 256);
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+
+        out.putInt(strings.size());
+        for (String string : strings.keySet()) {
+            out.putString(string);
+        }
+
+        out.putInt(zones.size());
+        for (JsonElement zone : zones) {
+            int lengthPosition = out.reserveInt();
+            writeZone(zone.getAsJsonObject(), strings, out);
+            out.patchLength(lengthPosition);
+        }
+
+        ByteBuffer buffer = out.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void decode(
+        ReadableByteChannel channel,
+        Consumer<JsonElement> consumer
+    ) throws IOException {
+        ByteBuffer buffer = readFully(channel);
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a binary zones file.");
+            }
+            short version = buffer.getShort();
+            if (version > VERSION) {
+                throw new IOException(
+                    "Unsupported binary zones format version " + version
+                );
+            }
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = getString(buffer);
+            }
+
+            int zoneCount = buffer.getInt();
+            for (int i = 0; i < zoneCount; i++) {
+                int length = buffer.getInt();
+                int end = buffer.position() + length;
+                JsonObject zone = readZone(buffer, strings);
+                buffer.position(end);
+                consumer.accept(zone);
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated or corrupt binary zones file.");
+        }
+    }
+
+    private static void collectStrings(
+        JsonObject zone,
+        Map<String, Integer> strings
+    ) {
+        JsonElement anchors = zone.get("anchors");
+        if (anchors != null && anchors.isJsonArray()) {
+            for (JsonElement anchor : anchors.getAsJsonArray()) {
+                if (anchor.isJsonObject()) {
+                    intern(anchor.getAsJsonObject().get("world"), strings);
+                }
+            }
+        }
+
+        intern(zone.get("damageType"), strings);
+
+        JsonElement conditions = zone.get("conditions");
+        if (conditions != null && conditions.isJsonArray()) {
+            for (JsonElement condition : conditions.getAsJsonArray()) {
+                JsonObject object = condition.getAsJsonObject();
+                intern(object.get("direction"), strings);
+                intern(object.get("blockDataString"), strings);
+            }
+        }
+    }
+
+    private static void intern(
+        JsonElement element,
+        Map<String, Integer> strings
+    ) {
+        if (element != null && !element.isJsonNull()) {
+            strings.putIfAbsent(element.getAsString(), strings.size());
+        }
+    }
+
+    private static int reference(
+        JsonElement element,
+        Map<String, Integer> strings
+    ) {
+        if (element == null || element.isJsonNull()) {
+            return -1;
+        }
+        return strings.get(element.getAsString());
+    }
+
+    private static void writeZone(
+        JsonObject zone,
+        Map<String, Integer> strings,
+        Output out
+    ) {
+        out.putString(getString(zone, "name"));
+
+        JsonElement anchors = zone.get("anchors");
+        if (anchors == null || !anchors.isJsonArray()) {
+            out.putByte(-1);
+        } else {
+            JsonArray array = anchors.getAsJsonArray();
+            out.putByte(array.size());
+            for (JsonElement anchor : array) {
+                if (!anchor.isJsonObject()) {
+                    out.putByte(0);
+                    continue;
+                }
+
+                JsonObject location = anchor.getAsJsonObject();
+                out.putByte(1);
+                out.putInt(reference(location.get("world"), strings));
+                out.putDouble(location.get("x").getAsDouble());
+                out.putDouble(location.get("y").getAsDouble());
+                out.putDouble(location.get("z").getAsDouble());
+                out.putFloat(getFloat(location, "yaw"));
+                out.putFloat(getFloat(location, "pitch"));
+            }
+        }
+
+        out.putDouble(zone.get("damageAmount").getAsDouble());
+        out.putLong(zone.get("damageInterval").getAsLong());
+        out.putInt(reference(zone.get("damageType"), strings));
+        out.putString(getString(zone, "deathMessage"));
+
+        int flags = 0;
+        if (getBoolean(zone, "damageAnimal")) flags |= FLAG_DAMAGE_ANIMAL;
+        if (getBoolean(zone, "damageEntity")) flags |= FLAG_DAMAGE_ENTITY;
+        if (getBoolean(zone, "damagePlayer")) flags |= FLAG_DAMAGE_PLAYER;
+        if (getBoolean(zone, "destroyItem")) flags |= FLAG_DESTROY_ITEM;
+        if (getBoolean(zone, "enabled")) flags |= FLAG_ENABLED;
+        out.putByte(flags);
+
+        JsonElement conditions = zone.get("conditions");
+        if (conditions == null || !conditions.isJsonArray()) {
+            out.putInt(-1);
+        } else {
+            JsonArray array = conditions.getAsJsonArray();
+            out.putInt(array.size());
+            for (JsonElement condition : array) {
+                JsonObject object = condition.getAsJsonObject();
+                out.putInt(reference(object.get("direction"), strings));
+                out.putInt(reference(object.get("blockDataString"), strings));
+            }
+        }
+    }
+
+    private static JsonObject readZone(ByteBuffer buffer, String[] strings) {
+        JsonObject zone = new JsonObject();
+        zone.addProperty("name", getString(buffer));
+
+        int anchorCount = buffer.get();
+        if (anchorCount < 0) {
+            zone.add("anchors", JsonNull.INSTANCE);
+        } else {
+            JsonArray anchors = new JsonArray(anchorCount);
+            for (int i = 0; i < anchorCount; i++) {
+                if (buffer.get() == 0) {
+                    anchors.add(JsonNull.INSTANCE);
+                    continue;
+                }
+
+                JsonObject location = new JsonObject();
+                String world = lookup(strings, buffer.getInt());
+                if (world != null) {
+                    location.addProperty("world", world);
+                }
+                location.addProperty("x", buffer.getDouble());
+                location.addProperty("y", buffer.getDouble());
+                location.addProperty("z", buffer.getDouble());
+                float yaw = buffer.getFloat();
+                float pitch = buffer.getFloat();
+                if (yaw != 0.0f) {
+                    location.addProperty("yaw", yaw);
+                }
+                if (pitch != 0.0f) {
+                    location.addProperty("pitch", pitch);
+                }
+                anchors.add(location);
+            }
+            zone.add("anchors", anchors);
+        }
+
+        zone.addProperty("damageAmount", buffer.getDouble());
+        zone.addProperty("damageInterval", buffer.getLong());
+        zone.addProperty("damageType", lookup(strings, buffer.getInt()));
+        zone.addProperty("deathMessage", getString(buffer));
+
+        int flags = buffer.get();
+        zone.addProperty("damageAnimal", (flags & FLAG_DAMAGE_ANIMAL) != 0);
+        zone.addProperty("damageEntity", (flags & FLAG_DAMAGE_ENTITY) != 0);
+        zone.addProperty("damagePlayer", (flags & FLAG_DAMAGE_PLAYER) != 0);
+        zone.addProperty("destroyItem", (flags & FLAG_DESTROY_ITEM) != 0);
+        zone.addProperty("enabled", (flags & FLAG_ENABLED) != 0);
+
+        int conditionCount = buffer.getInt();
+        if (conditionCount < 0) {
+            zone.add("conditions", JsonNull.INSTANCE);
+        } else {
+            JsonArray conditions = new JsonArray(conditionCount);
+            for (int i = 0; i < conditionCount; i++) {
+                JsonObject condition = new JsonObject();
+                String direction = lookup(strings, buffer.getInt());
+                String blockData = lookup(strings, buffer.getInt());
+                if (direction != null) {
+                    condition.addProperty("direction", direction);
+                }
+                if (blockData != null) {
+                    condition.addProperty("blockDataString", blockData);
+                }
+                conditions.add(condition);
+            }
+            zone.add("conditions", conditions);
+        }
+
+        return zone;
+    }
+
+    private static String lookup(String[] strings, int reference) {
+        return reference < 0 ? null : strings[reference];
+    }
+
+    private static String getString(JsonObject object, String member) {
+        JsonElement element = object.get(member);
+        return element == null || element.isJsonNull()
+            ? null
+            : element.getAsString();
+    }
+
+    private static float getFloat(JsonObject object, String member) {
+        JsonElement element = object.get(member);
+        return element == null ? 0.0f : element.getAsFloat();
+    }
+
+    private static boolean getBoolean(JsonObject object, String member) {
+        JsonElement element = object.get(member);
+        return element != null && element.getAsBoolean();
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        String string;
+        if (buffer.hasArray()) {
+            string = new String(
+                buffer.array(),
+                buffer.arrayOffset() + buffer.position(),
+                length,
+                StandardCharsets.UTF_8
+            );
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            string = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return string;
+    }
+
+    private static ByteBuffer readFully(ReadableByteChannel channel)
+        throws IOException {
+        int capacity = channel instanceof FileChannel file
+            ? (int) Math.min(file.size(), Integer.MAX_VALUE - 8)
+            : 8192;
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(capacity, 16));
+
+        while (channel.read(buffer) >= 0) {
+            if (!buffer.hasRemaining()) {
+                ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Growable big-endian output buffer
+     */
+    private static final class Output {
+
+        private ByteBuffer buffer;
+
+        private Output(int capacity) {
+            this.buffer = ByteBuffer.allocate(capacity);
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+
+            int capacity = Math.max(
+                buffer.capacity() * 2,
+                buffer.position() + bytes
+            );
+            ByteBuffer grown = ByteBuffer.allocate(capacity);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+
+        private void putByte(int value) {
+            ensure(1);
+            buffer.put((byte) value);
+        }
+
+        private void putShort(short value) {
+            ensure(2);
+            buffer.putShort(value);
+        }
+
+        private void putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        private void putLong(long value) {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        private void putFloat(float value) {
+            ensure(4);
+            buffer.putFloat(value);
+        }
+
+        private void putDouble(double value) {
+            ensure(8);
+            buffer.putDouble(value);
+        }
+
+        private void putString(String value) {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        private int reserveInt() {
+            putInt(0);
+            return buffer.position() - 4;
+        }
+
+        private void patchLength(int lengthPosition) {
+            int length = buffer.position() - lengthPosition - 4;
+            buffer.putInt(lengthPosition, length);
+        }
+
+        private ByteBuffer flip() {
+            return buffer.flip();
+        }
+    }
+}
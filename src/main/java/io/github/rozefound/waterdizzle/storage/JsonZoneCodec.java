@@ -0,0 +1,71 @@
+package io.github.rozefound.waterdizzle.storage;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * The JSON zone format, a single array of zone objects read in one
+ * streaming pass
+ */
+public final class JsonZoneCodec implements ZoneCodec {
+
+    public static final JsonZoneCodec INSTANCE = new JsonZoneCodec();
+
+    private JsonZoneCodec() {}
+
+    @Override
+    public String getName() {
+        return "json";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return ".json";
+    }
+
+    @Override
+    public void encode(JsonArray zones, WritableByteChannel channel)
+        throws IOException {
+        Writer writer = new BufferedWriter(
+            Channels.newWriter(channel, StandardCharsets.UTF_8)
+        );
+        writer.write(zones.toString());
+        writer.flush();
+    }
+
+    @Override
+    public void decode(
+        ReadableByteChannel channel,
+        Consumer<JsonElement> consumer
+    ) throws IOException {
+        JsonReader reader = new JsonReader(
+            new BufferedReader(
+                Channels.newReader(channel, StandardCharsets.UTF_8)
+            )
+        );
+
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            throw new IOException(
+                "Invalid zones file format, expected JSON array."
+            );
+        }
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            consumer.accept(JsonParser.parseReader(reader));
+        }
+        reader.endArray();
+    }
+}
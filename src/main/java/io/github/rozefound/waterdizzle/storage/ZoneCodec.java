@@ -0,0 +1,60 @@
+package io.github.rozefound.waterdizzle.storage;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.Consumer;
+
+/**
+ * On-disk format of zone files. Codecs work on the serialized zone objects,
+ * turning them into zones stays with the zone Gson.
+ */
+public interface ZoneCodec {
+    /**
+     * @return The name of the format as used in the config and commands
+     */
+    String getName();
+
+    /**
+     * @return The extension of zone files in this format, including the dot
+     */
+    String getFileExtension();
+
+    /**
+     * Write zone objects to a channel
+     *
+     * @param zones The serialized zones
+     * @param channel The channel to write to, left open
+     * @throws IOException If writing fails
+     */
+    void encode(JsonArray zones, WritableByteChannel channel)
+        throws IOException;
+
+    /**
+     * Read zone objects from a channel one by one
+     *
+     * @param channel The channel to read from, left open
+     * @param consumer Receives every zone object in file order
+     * @throws IOException If the channel does not hold zones in this format
+     */
+    void decode(ReadableByteChannel channel, Consumer<JsonElement> consumer)
+        throws IOException;
+
+    /**
+     * Resolve a codec from its configured name
+     *
+     * @param name The format name, json or binary
+     * @return The codec, or null for unknown names
+     */
+    static ZoneCodec forName(String name) {
+        if (JsonZoneCodec.INSTANCE.getName().equalsIgnoreCase(name)) {
+            return JsonZoneCodec.INSTANCE;
+        }
+        if (BinaryZoneCodec.INSTANCE.getName().equalsIgnoreCase(name)) {
+            return BinaryZoneCodec.INSTANCE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.rozefound.waterdizzle.storage;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Lightweight stand-in for a zone whose world is not loaded. Only the name
+ * and the world name are read out of the serialized zone, which is kept as
+ * compact JSON text instead of a tree and parsed again once its world loads.
+ */
+public final class ZoneDescriptor {
+
+    private final String name;
+    private final String worldName;
+    private final String json;
+
+    private ZoneDescriptor(String name, String worldName, String json) {
+        this.name = name;
+        this.worldName = worldName;
+        this.json = json;
+    }
+
+    /**
+     * Describe a serialized zone
+     *
+     * @param zone The serialized zone
+     * @return The descriptor, or null when the zone names no world
+     */
+    public static ZoneDescriptor of(JsonElement zone) {
+        try {
+            JsonObject zoneObject = zone.getAsJsonObject();
+            JsonObject anchor = zoneObject
+                .getAsJsonArray("anchors")
+                .get(0)
+                .getAsJsonObject();
+
+            return new ZoneDescriptor(
+                zoneObject.get("name").getAsString(),
+                anchor.get("world").getAsString(),
+                zone.toString()
+            );
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * @return A new tree of the serialized zone
+     */
+    public JsonElement getZone() {
+        return JsonParser.parseString(json);
+    }
+}
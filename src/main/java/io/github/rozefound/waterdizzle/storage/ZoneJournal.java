@@ -0,0 +1,184 @@
+package io.github.rozefound.waterdizzle.storage;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Append-only journal of zone edits kept next to a zone file. Every record
+ * is one line of compact JSON holding either the complete state of one zone
+ * or the removal of one zone, so replaying a record twice or on top of a
+ * snapshot that already contains it gives the same result. Replaying the
+ * journal over the zone file restores the edits made since the file was
+ * last written.
+ */
+public final class ZoneJournal {
+
+    private static final String OPERATION = "op";
+    private static final String PUT = "put";
+    private static final String REMOVE = "remove";
+
+    private ZoneJournal() {}
+
+    /**
+     * Record a created or modified zone
+     *
+     * @param zone The complete serialized zone
+     * @return The journal record
+     */
+    public static JsonObject put(JsonElement zone) {
+        JsonObject record = new JsonObject();
+        record.addProperty(OPERATION, PUT);
+        record.add("zone", zone);
+        return record;
+    }
+
+    /**
+     * Record a removed zone
+     *
+     * @param name The name of the removed zone
+     * @return The journal record
+     */
+    public static JsonObject remove(String name) {
+        JsonObject record = new JsonObject();
+        record.addProperty(OPERATION, REMOVE);
+        record.addProperty("name", name);
+        return record;
+    }
+
+    /**
+     * Append records to a journal and flush them to disk
+     *
+     * @param journal The journal file
+     * @param records The records to append
+     * @return The size of the journal afterwards in bytes
+     * @throws IOException If the records could not be written
+     */
+    static long append(File journal, List<JsonObject> records)
+        throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (JsonObject record : records) {
+            lines.append(record).append('\n');
+        }
+
+        Files.createDirectories(journal.toPath().getParent());
+        try (
+            FileChannel channel = FileChannel.open(
+                journal.toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND
+            )
+        ) {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(
+                lines.toString()
+            );
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            return channel.size();
+        }
+    }
+
+    /**
+     * Apply the records of a journal to serialized zones. Replay stops at
+     * the first record that cannot be read, which is where a crash tore the
+     * last append.
+     *
+     * @param journal The journal file, may not exist
+     * @param zones The serialized zones by name, modified in place
+     * @param logger Receives a warning about a torn record
+     * @return The number of records applied
+     * @throws IOException If the journal could not be read
+     */
+    public static int replay(
+        File journal,
+        Map<String, JsonElement> zones,
+        Logger logger
+    ) throws IOException {
+        if (!journal.exists()) {
+            return 0;
+        }
+
+        int applied = 0;
+        try (
+            BufferedReader reader = Files.newBufferedReader(
+                journal.toPath(),
+                StandardCharsets.UTF_8
+            )
+        ) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                try {
+                    apply(
+                        JsonParser.parseString(line).getAsJsonObject(),
+                        zones
+                    );
+                    applied++;
+                } catch (RuntimeException e) {
+                    logger.warning(
+                        "Ignoring the rest of " +
+                        journal.getName() +
+                        " from unreadable record at line " +
+                        lineNumber +
+                        "."
+                    );
+                    break;
+                }
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Apply one record to serialized zones
+     *
+     * @param record The journal record
+     * @param zones The serialized zones by name, modified in place
+     * @throws RuntimeException If the record is malformed
+     */
+    static void apply(JsonObject record, Map<String, JsonElement> zones) {
+        String operation = record.get(OPERATION).getAsString();
+        if (PUT.equals(operation)) {
+            JsonElement zone = record.get("zone");
+            zones.put(zone.getAsJsonObject().get("name").getAsString(), zone);
+        } else if (REMOVE.equals(operation)) {
+            zones.remove(record.get("name").getAsString());
+        } else {
+            throw new IllegalStateException(operation);
+        }
+    }
+
+    /**
+     * Read the name of a serialized zone
+     *
+     * @param zone The serialized zone
+     * @return The name, or null when the zone has none
+     */
+    static String getName(JsonElement zone) {
+        JsonElement name = zone.isJsonObject()
+            ? zone.getAsJsonObject().get("name")
+            : null;
+        return name != null && name.isJsonPrimitive()
+            ? name.getAsString()
+            : null;
+    }
+}
@@ -0,0 +1,906 @@
+package io.github.rozefound.waterdizzle.storage;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.serialization.GsonFactory;
+import io.github.rozefound.waterdizzle.serialization.ZoneTypeAdapter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.bukkit.World;
+
+/**
+ * The zone files of the plugin. Zones are stored in shards, one zones file
+ * or one file per world, each with a journal of the edits not folded into it
+ * yet. The repository knows which zones every shard holds and their last
+ * serialized form, keeps the zones of unloaded worlds as dormant
+ * descriptors, and turns the edits made since the last save into journal
+ * records or shard writes for the {@link ZoneStore}.
+ *
+ * <p>The loaded zones themselves are registered elsewhere. Methods that need
+ * them take a lookup of the loaded zones by name, methods that read zones
+ * return the zones built for the caller to register.
+ *
+ * <p>The repository is not thread-safe. The {@code ZoneManager} calls it
+ * while holding its monitor, so one thread at a time reads and writes the
+ * shard bookkeeping. Only marking zones dirty and the dormant zone methods
+ * may be called from any thread, zone edits use them without the lock.
+ */
+public class ZoneRepository {
+
+    // With single file storage every zone belongs to the one unnamed shard
+    private static final String SINGLE_SHARD = "";
+    private static final String NO_WORLD_SHARD = "_no_world";
+
+    private final WaterDizzle plugin;
+    private final ZoneStore store;
+    private final ZoneTypeAdapter zoneAdapter;
+    private final File zonesDirectory;
+
+    // Storage settings, read again by open()
+    private boolean perWorldStorage;
+    private ZoneCodec codec = JsonZoneCodec.INSTANCE;
+    private boolean journal;
+    private File zonesFile;
+
+    // Last serialized form of every zone, only dirty zones are rebuilt
+    private final Map<String, JsonElement> serializedZones = new HashMap<>();
+    // Shard a loaded zone was read from, used while the zone has no world
+    private final Map<String, String> zoneShards = new HashMap<>();
+    // Names of the zones in every shard file read or written
+    private final Map<String, Set<String>> writtenShards = new HashMap<>();
+    // Shards with edits in their journal that are not in their zone file yet
+    private final Set<String> journaledShards = new HashSet<>();
+
+    // Names of zones added, edited or removed since the last save
+    private final Set<String> dirtyZones = ConcurrentHashMap.newKeySet();
+    // Zones of unloaded worlds by name, activated when their world loads
+    private final Map<String, ZoneDescriptor> dormantZones =
+        new ConcurrentHashMap<>();
+
+    public ZoneRepository(WaterDizzle plugin) {
+        this.plugin = plugin;
+        this.store = new ZoneStore(plugin);
+        this.zoneAdapter = (ZoneTypeAdapter) GsonFactory.getZoneGson(
+            plugin
+        ).getAdapter(Zone.class);
+        this.zonesDirectory = new File(plugin.getDataFolder(), "zones");
+        this.zonesFile = getZonesFile(codec);
+
+        if (!plugin.getDataFolder().exists()) {
+            plugin.getDataFolder().mkdirs();
+        }
+    }
+
+    public ZoneStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return The format zone files are currently stored in
+     */
+    public ZoneCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * @return true when zones are stored in one file per world
+     */
+    public boolean isPerWorldStorage() {
+        return perWorldStorage;
+    }
+
+    /**
+     * @return true when zone edits are appended to journals
+     */
+    public boolean isJournalEnabled() {
+        return journal;
+    }
+
+    /**
+     * Queue a zone to be written, or dropped from its file, by the next save
+     *
+     * @param name The name of the edited or removed zone
+     */
+    public void markDirty(String name) {
+        dirtyZones.add(name);
+    }
+
+    public boolean isDormant(String name) {
+        return dormantZones.containsKey(name);
+    }
+
+    /**
+     * Get a zone waiting for its world to load
+     *
+     * @param name The name of the zone
+     * @return The zone's descriptor, or null when no dormant zone has the name
+     */
+    public ZoneDescriptor getDormantZone(String name) {
+        return dormantZones.get(name);
+    }
+
+    /**
+     * @return The names of the zones waiting for their world to load
+     */
+    public Set<String> getDormantZoneNames() {
+        return Collections.unmodifiableSet(dormantZones.keySet());
+    }
+
+    /**
+     * @return The number of zones waiting for their world to load
+     */
+    public int getDormantZoneCount() {
+        return dormantZones.size();
+    }
+
+    /**
+     * Forget a zone waiting for its world to load, because it was replaced
+     * or removed. The caller marks the name dirty when the zone has to be
+     * dropped from its file.
+     *
+     * @param name The name of the zone
+     * @return The zone's descriptor, or null when no dormant zone has the name
+     */
+    public ZoneDescriptor removeDormantZone(String name) {
+        return dormantZones.remove(name);
+    }
+
+    /**
+     * Remove every zone waiting for its world to load, the next save drops
+     * them from their files
+     */
+    public void clearDormantZones() {
+        Iterator<String> iterator = dormantZones.keySet().iterator();
+        while (iterator.hasNext()) {
+            dirtyZones.add(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Read the storage settings and forget everything known about the zone
+     * files, including edits that were not saved. Writes still queued land
+     * first. With per-world storage a single zones file left from before is
+     * split into per-world files. The zones are read again by
+     * {@link #loadZoneFile} or {@link #loadWorld} afterwards.
+     */
+    public void open() {
+        // Let queued writes and compactions land before reading the files
+        store.awaitQueued();
+
+        perWorldStorage = !"single".equalsIgnoreCase(
+            plugin.getConfig().getString("zone_storage", "single")
+        );
+
+        String format = plugin.getConfig().getString("zone_format", "json");
+        codec = ZoneCodec.forName(format);
+        if (codec == null) {
+            plugin
+                .getLogger()
+                .warning("Unknown zone_format '" + format + "', using json.");
+            codec = JsonZoneCodec.INSTANCE;
+        }
+        zonesFile = getZonesFile(codec);
+
+        journal = plugin.getConfig().getBoolean("zone_journal", true);
+        store.setCompactThreshold(
+            plugin
+                .getConfig()
+                .getLong("zone_journal_compact_bytes", 1024L * 1024L)
+        );
+
+        dormantZones.clear();
+        dirtyZones.clear();
+        serializedZones.clear();
+        zoneShards.clear();
+        writtenShards.clear();
+        journaledShards.clear();
+
+        if (perWorldStorage && !migrateSingleFile()) {
+            plugin
+                .getLogger()
+                .warning(
+                    "Using single file storage until " +
+                    zonesFile.getName() +
+                    " can be migrated."
+                );
+            perWorldStorage = false;
+        }
+    }
+
+    /**
+     * Read the single zones file, used with single file storage. Zones of
+     * worlds that are not loaded are kept dormant.
+     *
+     * @param isLoaded Tells whether a zone name is taken by a loaded zone
+     * @return The zones built from the file
+     */
+    public List<Zone> loadZoneFile(Predicate<String> isLoaded) {
+        if (!zonesFile.exists() && !getJournalFile(SINGLE_SHARD).exists()) {
+            plugin
+                .getLogger()
+                .info("No zones file found, starting with empty zones list.");
+            return List.of();
+        }
+
+        List<Zone> loaded = loadShard(SINGLE_SHARD, isLoaded);
+        if (!writtenShards.containsKey(SINGLE_SHARD)) {
+            return loaded;
+        }
+        plugin
+            .getLogger()
+            .info("Loaded " + loaded.size() + " zones from file.");
+        if (!dormantZones.isEmpty()) {
+            plugin
+                .getLogger()
+                .info(
+                    dormantZones.size() +
+                    " zones wait for their world to load."
+                );
+        }
+        return loaded;
+    }
+
+    /**
+     * Build the zones of a world that loaded. Zones kept dormant since the
+     * world was last unloaded are built from memory, with per-world storage
+     * the zones of a world seen for the first time are read from its file.
+     *
+     * @param worldName The name of the loaded world
+     * @param isLoaded Tells whether a zone name is taken by a loaded zone
+     * @return The zones built
+     */
+    public List<Zone> loadWorld(String worldName, Predicate<String> isLoaded) {
+        List<Zone> loaded = activateZones(worldName);
+        if (perWorldStorage && !writtenShards.containsKey(worldName)) {
+            Set<String> activated = new HashSet<>();
+            for (Zone zone : loaded) {
+                activated.add(zone.getName());
+            }
+            loaded.addAll(
+                loadShard(worldName, name ->
+                    isLoaded.test(name) || activated.contains(name)
+                )
+            );
+        }
+        return loaded;
+    }
+
+    private List<Zone> activateZones(String worldName) {
+        List<Zone> activated = new ArrayList<>();
+        Iterator<ZoneDescriptor> iterator = dormantZones.values().iterator();
+        while (iterator.hasNext()) {
+            ZoneDescriptor descriptor = iterator.next();
+            if (!worldName.equals(descriptor.getWorldName())) {
+                continue;
+            }
+            iterator.remove();
+
+            JsonElement zoneElement = descriptor.getZone();
+            Zone zone = deserializeZone(zoneElement);
+            if (zone == null) {
+                continue;
+            }
+            activated.add(zone);
+            serializedZones.put(zone.getName(), zoneElement);
+        }
+        return activated;
+    }
+
+    private List<Zone> loadShard(String shard, Predicate<String> isLoaded) {
+        Set<String> names = new HashSet<>();
+        writtenShards.put(shard, names);
+
+        Map<String, JsonElement> trees = readShard(shard);
+        if (trees == null) {
+            // Keep the broken file untouched until it is fixed by hand
+            writtenShards.remove(shard);
+            return new ArrayList<>();
+        }
+
+        // Fold a journal left by a crash into the zone file, later appends
+        // then start from a clean journal
+        File journalFile = getJournalFile(shard);
+        if (journalFile.exists()) {
+            JsonArray zonesArray = new JsonArray(trees.size());
+            trees.values().forEach(zonesArray::add);
+            store.compact(journalFile, getShardFile(shard), zonesArray, codec);
+        }
+
+        List<Zone> loaded = new ArrayList<>();
+        for (JsonElement zoneElement : trees.values()) {
+            // Zones of worlds that are not loaded are not built yet
+            ZoneDescriptor descriptor = ZoneDescriptor.of(zoneElement);
+            if (
+                descriptor != null &&
+                plugin.getServer().getWorld(descriptor.getWorldName()) == null
+            ) {
+                String name = descriptor.getName();
+                if (!isLoaded.test(name) && !dormantZones.containsKey(name)) {
+                    dormantZones.put(name, descriptor);
+                    names.add(name);
+                }
+                continue;
+            }
+
+            Zone zone = deserializeZone(zoneElement);
+            if (zone == null) {
+                continue;
+            }
+            if (
+                isLoaded.test(zone.getName()) ||
+                dormantZones.containsKey(zone.getName())
+            ) {
+                plugin
+                    .getLogger()
+                    .warning(
+                        "Skipping zone '" +
+                        zone.getName() +
+                        "' of world '" +
+                        shard +
+                        "', a zone with that name is already loaded."
+                    );
+                continue;
+            }
+
+            loaded.add(zone);
+            serializedZones.put(zone.getName(), zoneElement);
+            zoneShards.put(zone.getName(), shard);
+            names.add(zone.getName());
+        }
+        return loaded;
+    }
+
+    /**
+     * Turn a zone of an unloading world into a dormant descriptor. Nothing
+     * is written, unsaved edits stay pending and are saved with the next
+     * save.
+     *
+     * @param zone The zone to deactivate
+     * @return The zone's descriptor, or null when the zone cannot be
+     *     described and stays loaded
+     */
+    public ZoneDescriptor deactivate(Zone zone) {
+        boolean dirty = zone.isDirty();
+        ZoneDescriptor descriptor = ZoneDescriptor.of(serializeZone(zone));
+        if (descriptor == null) {
+            return null;
+        }
+        if (dirty) {
+            // Written again as a new zone by the next save
+            Set<String> written = writtenShards.get(getShardName(descriptor));
+            if (written != null) {
+                written.remove(zone.getName());
+            }
+            dirtyZones.add(zone.getName());
+        }
+
+        serializedZones.remove(zone.getName());
+        zoneShards.remove(zone.getName());
+        dormantZones.put(zone.getName(), descriptor);
+        return descriptor;
+    }
+
+    /**
+     * Save the edits made since the last save. With journals enabled the
+     * changes are appended to the journals of their shards, otherwise the
+     * changed shards are written whole, both by the {@link ZoneStore} off
+     * the calling thread.
+     *
+     * @param zones The loaded zones by name
+     */
+    public void flush(Function<String, Zone> zones) {
+        for (ShardUpdate update : serializeZones(zones)) {
+            File shardFile = getShardFile(update.shard);
+            if (journal) {
+                store.append(
+                    getJournalFile(update.shard),
+                    update.records,
+                    shardFile,
+                    codec
+                );
+                journaledShards.add(update.shard);
+            } else {
+                store.write(
+                    shardFile,
+                    serializeShard(update.shard, zones),
+                    codec
+                );
+            }
+        }
+    }
+
+    /**
+     * Stop the background writes, then write every changed and journaled
+     * shard on the calling thread and drop their journals. Used when the
+     * plugin is disabled.
+     *
+     * @param zones The loaded zones by name
+     */
+    public void close(Function<String, Zone> zones) {
+        store.close();
+        compactNow(zones);
+    }
+
+    private void compactNow(Function<String, Zone> zones) {
+        Set<String> shards = new HashSet<>(journaledShards);
+        for (ShardUpdate update : serializeZones(zones)) {
+            shards.add(update.shard);
+        }
+
+        for (String shard : shards) {
+            if (
+                store.writeSync(
+                    getShardFile(shard),
+                    serializeShard(shard, zones),
+                    codec
+                )
+            ) {
+                store.truncateJournal(getJournalFile(shard));
+                journaledShards.remove(shard);
+            }
+        }
+    }
+
+    /**
+     * Serialize the edits made since the last save. Only zones marked dirty
+     * are looked at, the other zones and shards are left alone.
+     *
+     * @param zones The loaded zones by name
+     * @return The journal records of every changed shard
+     */
+    private List<ShardUpdate> serializeZones(Function<String, Zone> zones) {
+        Map<String, List<JsonObject>> records = new LinkedHashMap<>();
+
+        Iterator<String> iterator = dirtyZones.iterator();
+        while (iterator.hasNext()) {
+            String name = iterator.next();
+            iterator.remove();
+
+            Zone zone = zones.apply(name);
+            ZoneDescriptor dormant = zone == null
+                ? dormantZones.get(name)
+                : null;
+            String target = null;
+            if (zone != null) {
+                target = getShardName(zone);
+            } else if (dormant != null) {
+                target = getShardName(dormant);
+            } else {
+                serializedZones.remove(name);
+            }
+
+            // Drop the zone from shards it was removed or moved from
+            for (
+                Map.Entry<String, Set<String>> entry : writtenShards.entrySet()
+            ) {
+                String shard = entry.getKey();
+                if (!shard.equals(target) && entry.getValue().remove(name)) {
+                    records
+                        .computeIfAbsent(shard, key -> new ArrayList<>())
+                        .add(ZoneJournal.remove(name));
+                }
+            }
+            if (target == null) {
+                continue;
+            }
+
+            Set<String> written = writtenShards.computeIfAbsent(target, key ->
+                new HashSet<>()
+            );
+            JsonElement zoneElement;
+            if (zone != null) {
+                if (
+                    !zone.isDirty() &&
+                    written.contains(name) &&
+                    serializedZones.containsKey(name)
+                ) {
+                    continue;
+                }
+                zoneElement = serializeZone(zone);
+            } else if (!written.contains(name)) {
+                zoneElement = dormant.getZone();
+            } else {
+                continue;
+            }
+            written.add(name);
+            records
+                .computeIfAbsent(target, key -> new ArrayList<>())
+                .add(ZoneJournal.put(zoneElement));
+        }
+
+        List<ShardUpdate> updates = new ArrayList<>(records.size());
+        for (Map.Entry<String, List<JsonObject>> entry : records.entrySet()) {
+            updates.add(new ShardUpdate(entry.getKey(), entry.getValue()));
+        }
+        return updates;
+    }
+
+    /**
+     * Serialize every zone of a shard, reusing the serialized form of zones
+     * that did not change
+     *
+     * @param shard The shard to serialize
+     * @param zones The loaded zones by name
+     * @return The zones of the shard
+     */
+    private JsonArray serializeShard(
+        String shard,
+        Function<String, Zone> zones
+    ) {
+        Set<String> written = writtenShards.getOrDefault(shard, Set.of());
+        JsonArray zonesArray = new JsonArray(written.size());
+        for (String name : written) {
+            Zone zone = zones.apply(name);
+            if (zone != null) {
+                zonesArray.add(serializeZone(zone));
+                continue;
+            }
+            ZoneDescriptor dormant = dormantZones.get(name);
+            if (dormant != null) {
+                zonesArray.add(dormant.getZone());
+            }
+        }
+        return zonesArray;
+    }
+
+    private JsonElement serializeZone(Zone zone) {
+        JsonElement zoneElement = serializedZones.get(zone.getName());
+        if (zoneElement == null || zone.isDirty()) {
+            zone.clearDirty();
+            zoneElement = zone.toJsonTree();
+            serializedZones.put(zone.getName(), zoneElement);
+        }
+        return zoneElement;
+    }
+
+    private String getShardName(Zone zone) {
+        if (!perWorldStorage) {
+            return SINGLE_SHARD;
+        }
+        World world = zone.getWorld();
+        if (world != null) {
+            return world.getName();
+        }
+        return zoneShards.getOrDefault(zone.getName(), NO_WORLD_SHARD);
+    }
+
+    private String getShardName(ZoneDescriptor descriptor) {
+        return perWorldStorage ? descriptor.getWorldName() : SINGLE_SHARD;
+    }
+
+    private File getShardFile(String shard) {
+        if (SINGLE_SHARD.equals(shard)) {
+            return getZonesFile(codec);
+        }
+        return new File(zonesDirectory, shard + codec.getFileExtension());
+    }
+
+    private File getJournalFile(String shard) {
+        if (SINGLE_SHARD.equals(shard)) {
+            return new File(plugin.getDataFolder(), "zones.journal");
+        }
+        return new File(zonesDirectory, shard + ".journal");
+    }
+
+    private File getZonesFile(ZoneCodec codec) {
+        return new File(
+            plugin.getDataFolder(),
+            "zones" + codec.getFileExtension()
+        );
+    }
+
+    /**
+     * Split a single zones file and its journal into per-world files. The
+     * original files are kept next to them with a .migrated suffix, moving
+     * them back and setting zone_storage to single undoes the migration.
+     *
+     * @return true when there was nothing to migrate or the migration
+     *     finished, false when the zones are still in the single file
+     */
+    private boolean migrateSingleFile() {
+        File journalFile = getJournalFile(SINGLE_SHARD);
+        if (!zonesFile.exists() && !journalFile.exists()) {
+            return true;
+        }
+
+        Map<String, JsonElement> trees = readShard(SINGLE_SHARD);
+        if (trees == null) {
+            return false;
+        }
+
+        Map<String, JsonArray> shards = new HashMap<>();
+        for (JsonElement zoneElement : trees.values()) {
+            shards
+                .computeIfAbsent(getWorldName(zoneElement), key ->
+                    new JsonArray()
+                )
+                .add(zoneElement);
+        }
+
+        for (Map.Entry<String, JsonArray> entry : shards.entrySet()) {
+            File shardFile = getShardFile(entry.getKey());
+            if (shardFile.exists()) {
+                plugin
+                    .getLogger()
+                    .warning(
+                        "Not migrating zones of world '" +
+                        entry.getKey() +
+                        "', " +
+                        shardFile.getName() +
+                        " already exists."
+                    );
+                continue;
+            }
+            if (!store.writeSync(shardFile, entry.getValue(), codec)) {
+                plugin
+                    .getLogger()
+                    .severe(
+                        "Zone migration failed, keeping " +
+                        zonesFile.getName() +
+                        "."
+                    );
+                return false;
+            }
+        }
+
+        // The journal's edits are in the per-world files now, it is kept
+        // with the zones file it belongs to
+        for (File original : List.of(zonesFile, journalFile)) {
+            File migrated = new File(original.getPath() + ".migrated");
+            if (original.exists() && !original.renameTo(migrated)) {
+                plugin
+                    .getLogger()
+                    .severe(
+                        "Could not rename " +
+                        original.getName() +
+                        " after migration, remove it before the next start."
+                    );
+            }
+        }
+
+        plugin
+            .getLogger()
+            .warning(
+                "zone_storage is per_world: migrated " +
+                trees.size() +
+                " zones from " +
+                zonesFile.getName() +
+                " into " +
+                shards.size() +
+                " per-world files in " +
+                zonesDirectory.getName() +
+                "/. The previous files are kept with a .migrated suffix."
+            );
+        return true;
+    }
+
+    private static String getWorldName(JsonElement zoneElement) {
+        try {
+            JsonElement anchor = zoneElement
+                .getAsJsonObject()
+                .getAsJsonArray("anchors")
+                .get(0);
+            return anchor.getAsJsonObject().get("world").getAsString();
+        } catch (RuntimeException e) {
+            return NO_WORLD_SHARD;
+        }
+    }
+
+    /**
+     * Read the zone objects of a shard, its zone file with the edits of its
+     * journal replayed on top
+     *
+     * @param shard The shard to read
+     * @return The zone objects by name, or null when a file is unreadable
+     */
+    private Map<String, JsonElement> readShard(String shard) {
+        File shardFile = getShardFile(shard);
+        Map<String, JsonElement> trees = shardFile.exists()
+            ? readZoneTrees(shardFile, codec)
+            : new LinkedHashMap<>();
+        if (trees == null) {
+            return null;
+        }
+
+        File journalFile = getJournalFile(shard);
+        try {
+            int replayed = ZoneJournal.replay(
+                journalFile,
+                trees,
+                plugin.getLogger()
+            );
+            if (replayed > 0) {
+                plugin
+                    .getLogger()
+                    .info(
+                        "Replayed " +
+                        replayed +
+                        " zone edits from " +
+                        journalFile.getName() +
+                        "."
+                    );
+            }
+        } catch (IOException e) {
+            plugin
+                .getLogger()
+                .severe(
+                    "Failed to replay " +
+                    journalFile.getName() +
+                    ": " +
+                    e.getMessage()
+                );
+            return null;
+        }
+
+        return trees;
+    }
+
+    /**
+     * Read the zone objects of a zone file in one streaming pass
+     *
+     * @param file The zone file
+     * @param codec The format of the file
+     * @return The zone objects by name, or null when the file is unreadable
+     */
+    private Map<String, JsonElement> readZoneTrees(File file, ZoneCodec codec) {
+        Map<String, JsonElement> trees = new LinkedHashMap<>();
+
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            codec.decode(channel, zoneElement -> {
+                JsonElement name = zoneElement.isJsonObject()
+                    ? zoneElement.getAsJsonObject().get("name")
+                    : null;
+                if (name == null || !name.isJsonPrimitive()) {
+                    plugin
+                        .getLogger()
+                        .warning("Failed to load a zone: missing name");
+                    return;
+                }
+                trees.put(name.getAsString(), zoneElement);
+            });
+        } catch (Exception e) {
+            plugin
+                .getLogger()
+                .severe(
+                    "Failed to load zones from " +
+                    file.getName() +
+                    ": " +
+                    e.getMessage()
+                );
+            e.printStackTrace();
+            return null;
+        }
+
+        return trees;
+    }
+
+    /**
+     * Convert every zone file from one format to another, including the
+     * files of worlds that are not loaded. Zones changed in memory and
+     * journaled edits are written first so the conversion sees the current
+     * state. Importing into the current format drops the journals. Converted
+     * files are written next to the originals, which are left in place.
+     *
+     * @param from The format to read
+     * @param to The format to write
+     * @param zones The loaded zones by name
+     * @return The number of zones converted, or -1 when a file failed
+     */
+    public int convertZoneFiles(
+        ZoneCodec from,
+        ZoneCodec to,
+        Function<String, Zone> zones
+    ) {
+        store.awaitQueued();
+        if (from == codec) {
+            compactNow(zones);
+        }
+
+        List<File> sources = new ArrayList<>();
+        if (perWorldStorage) {
+            File[] files = zonesDirectory.listFiles((directory, name) ->
+                name.endsWith(from.getFileExtension())
+            );
+            if (files != null) {
+                sources.addAll(List.of(files));
+            }
+        } else if (getZonesFile(from).exists()) {
+            sources.add(getZonesFile(from));
+        }
+
+        int converted = 0;
+        for (File source : sources) {
+            Map<String, JsonElement> trees = readZoneTrees(source, from);
+            if (trees == null) {
+                return -1;
+            }
+
+            JsonArray zonesArray = new JsonArray(trees.size());
+            trees.values().forEach(zonesArray::add);
+
+            String fileName = source.getName();
+            String baseName = fileName.substring(
+                0,
+                fileName.length() - from.getFileExtension().length()
+            );
+            File target = new File(
+                source.getParentFile(),
+                baseName + to.getFileExtension()
+            );
+            if (!store.writeSync(target, zonesArray, to)) {
+                return -1;
+            }
+            converted += trees.size();
+        }
+
+        if (to == codec) {
+            // Journals hold edits of the files that were just replaced
+            deleteJournals();
+        }
+
+        plugin
+            .getLogger()
+            .info(
+                "Converted " +
+                converted +
+                " zones from " +
+                from.getName() +
+                " to " +
+                to.getName() +
+                "."
+            );
+        return converted;
+    }
+
+    private void deleteJournals() {
+        store.truncateJournal(getJournalFile(SINGLE_SHARD));
+        File[] journals = zonesDirectory.listFiles((directory, name) ->
+            name.endsWith(".journal")
+        );
+        if (journals != null) {
+            for (File journalFile : journals) {
+                store.truncateJournal(journalFile);
+            }
+        }
+        journaledShards.clear();
+    }
+
+    private Zone deserializeZone(JsonElement zoneElement) {
+        try {
+            return zoneAdapter.fromTree(zoneElement);
+        } catch (Exception e) {
+            plugin
+                .getLogger()
+                .warning("Failed to load a zone: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class ShardUpdate {
+
+        private final String shard;
+        private final List<JsonObject> records;
+
+        private ShardUpdate(String shard, List<JsonObject> records) {
+            this.shard = shard;
+            this.records = records;
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package io.github.rozefound.waterdizzle.storage;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes zone files on a dedicated I/O thread. Every write goes to a
+ * temporary file which is flushed to disk and then atomically moved over the
+ * zone file, so a crash mid-write leaves the previous file intact. When
+ * several snapshots of the same file queue up behind a slow write only the
+ * newest one is written.
+ *
+ * <p>Journal appends and compactions run on the same thread, so they are
+ * applied to a zone file in the order they were queued.
+ */
+public class ZoneStore {
+
+    private final WaterDizzle plugin;
+    private final ExecutorService executor;
+    private final Map<Path, Snapshot> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder totalWriteNanos = new LongAdder();
+    private volatile long lastWriteNanos;
+    private final LongAdder journalRecords = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+    private volatile long compactThreshold = 1024 * 1024;
+
+    public ZoneStore(WaterDizzle plugin) {
+        this.plugin = plugin;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "WaterDizzle Zone Saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue a snapshot of zones to be written to a file in the background
+     *
+     * @param file The zone file to write
+     * @param zonesArray The serialized zones, must not be modified afterwards
+     * @param codec The format to write the file in
+     */
+    public void write(File file, JsonArray zonesArray, ZoneCodec codec) {
+        Path path = file.toPath();
+        if (pending.put(path, new Snapshot(zonesArray, codec)) != null) {
+            // An older snapshot is still queued, it is replaced by this one
+            return;
+        }
+
+        submit(() -> {
+            Snapshot latest = pending.remove(path);
+            if (latest != null) {
+                writeFile(path, latest.zones, latest.codec);
+            }
+        });
+    }
+
+    /**
+     * Set the journal size after which a journal is folded into its zone file
+     *
+     * @param bytes The size threshold in bytes
+     */
+    public void setCompactThreshold(long bytes) {
+        this.compactThreshold = bytes;
+    }
+
+    /**
+     * Queue journal records to be appended in the background. When the
+     * journal grows past the compaction threshold the zone file is read back,
+     * the journal is replayed over it and the result replaces the zone file,
+     * so callers only have to serialize the changed zones.
+     *
+     * @param journal The journal file
+     * @param records The records to append
+     * @param file The zone file the journal belongs to
+     * @param codec The format of the zone file
+     */
+    public void append(
+        File journal,
+        List<JsonObject> records,
+        File file,
+        ZoneCodec codec
+    ) {
+        submit(() -> {
+            List<JsonObject> unwritten = List.of();
+            try {
+                long size = ZoneJournal.append(journal, records);
+                journalRecords.add(records.size());
+                if (size < compactThreshold) {
+                    return;
+                }
+            } catch (IOException e) {
+                plugin
+                    .getLogger()
+                    .severe(
+                        "Failed to append to " +
+                        journal.getName() +
+                        ", writing " +
+                        file.getName() +
+                        " instead: " +
+                        e.getMessage()
+                    );
+                unwritten = records;
+            }
+            compactJournal(journal, file, unwritten, codec);
+        });
+    }
+
+    /**
+     * Queue rewriting a zone file from a snapshot and emptying its journal
+     *
+     * @param journal The journal file
+     * @param file The zone file
+     * @param zonesArray The serialized zones, must not be modified afterwards
+     * @param codec The format of the zone file
+     */
+    public void compact(
+        File journal,
+        File file,
+        JsonArray zonesArray,
+        ZoneCodec codec
+    ) {
+        submit(() -> compactFile(journal, file, zonesArray, codec));
+    }
+
+    private void submit(Runnable task) {
+        queueDepth.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                queueDepth.decrementAndGet();
+                synchronized (this) {
+                    task.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Store is closing, the final state is written synchronously
+            queueDepth.decrementAndGet();
+        }
+    }
+
+    /**
+     * Fold a journal into its zone file using only the files themselves
+     *
+     * @param journal The journal file
+     * @param file The zone file
+     * @param records Records missing from the journal, applied last
+     * @param codec The format of the zone file
+     */
+    private void compactJournal(
+        File journal,
+        File file,
+        List<JsonObject> records,
+        ZoneCodec codec
+    ) {
+        Map<String, JsonElement> zones = new LinkedHashMap<>();
+        try {
+            if (file.exists()) {
+                try (FileChannel channel = FileChannel.open(file.toPath())) {
+                    codec.decode(channel, zone -> {
+                        String name = ZoneJournal.getName(zone);
+                        if (name != null) {
+                            zones.put(name, zone);
+                        }
+                    });
+                }
+            }
+            ZoneJournal.replay(journal, zones, plugin.getLogger());
+        } catch (Exception e) {
+            plugin
+                .getLogger()
+                .severe(
+                    "Failed to compact " +
+                    journal.getName() +
+                    " into " +
+                    file.getName() +
+                    ": " +
+                    e.getMessage()
+                );
+            return;
+        }
+        for (JsonObject record : records) {
+            ZoneJournal.apply(record, zones);
+        }
+
+        JsonArray zonesArray = new JsonArray(zones.size());
+        zones.values().forEach(zonesArray::add);
+        compactFile(journal, file, zonesArray, codec);
+    }
+
+    private void compactFile(
+        File journal,
+        File file,
+        JsonArray zonesArray,
+        ZoneCodec codec
+    ) {
+        // The journal is only dropped once the zone file holds its edits
+        if (writeFile(file.toPath(), zonesArray, codec)) {
+            deleteJournal(journal);
+            compactions.increment();
+        }
+    }
+
+    /**
+     * Wait until everything queued so far has been written
+     */
+    public void awaitQueued() {
+        try {
+            executor.submit(() -> {}).get(10, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            // Store is closed, nothing is queued anymore
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            plugin
+                .getLogger()
+                .warning("Timed out waiting for pending zone saves.");
+        }
+    }
+
+    /**
+     * Wait for queued writes and stop the I/O thread. The store accepts no
+     * more queued writes afterwards, the final state is written with
+     * {@link #writeSync}.
+     */
+    public void close() {
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin
+                    .getLogger()
+                    .warning("Timed out waiting for pending zone saves.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        pending.clear();
+    }
+
+    /**
+     * Delete a journal on the calling thread once its edits are part of the
+     * zone file
+     *
+     * @param journal The journal file
+     */
+    public synchronized void truncateJournal(File journal) {
+        deleteJournal(journal);
+    }
+
+    private void deleteJournal(File journal) {
+        try {
+            Files.deleteIfExists(journal.toPath());
+        } catch (IOException e) {
+            plugin
+                .getLogger()
+                .warning(
+                    "Failed to delete " +
+                    journal.getName() +
+                    ": " +
+                    e.getMessage()
+                );
+        }
+    }
+
+    /**
+     * Write a file on the calling thread, bypassing the queue. A snapshot of
+     * the same file still waiting in the queue is dropped, used when
+     * migrating or converting zone files.
+     *
+     * @param file The zone file to write
+     * @param zonesArray The serialized zones
+     * @param codec The format to write the file in
+     * @return true when the file was written
+     */
+    public synchronized boolean writeSync(
+        File file,
+        JsonArray zonesArray,
+        ZoneCodec codec
+    ) {
+        Path path = file.toPath();
+        pending.remove(path);
+        return writeFile(path, zonesArray, codec);
+    }
+
+    private boolean writeFile(
+        Path file,
+        JsonArray zonesArray,
+        ZoneCodec codec
+    ) {
+        long start = System.nanoTime();
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try {
+            Files.createDirectories(file.getParent());
+
+            try (
+                FileChannel channel = FileChannel.open(
+                    tempFile,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING
+                )
+            ) {
+                codec.encode(zonesArray, channel);
+                channel.force(true);
+            }
+
+            try {
+                Files.move(
+                    tempFile,
+                    file,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING
+                );
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            long elapsed = System.nanoTime() - start;
+            lastWriteNanos = elapsed;
+            totalWriteNanos.add(elapsed);
+            writes.increment();
+
+            plugin
+                .getLogger()
+                .info(
+                    "Saved " +
+                    zonesArray.size() +
+                    " zones to " +
+                    file.getFileName() +
+                    "."
+                );
+            return true;
+        } catch (IOException e) {
+            plugin
+                .getLogger()
+                .severe("Failed to save zones: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public long getJournalRecordCount() {
+        return journalRecords.sum();
+    }
+
+    public long getCompactionCount() {
+        return compactions.sum();
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getWriteCount() {
+        return writes.sum();
+    }
+
+    /**
+     * @return Duration of the last write in milliseconds
+     */
+    public double getLastWriteMillis() {
+        return lastWriteNanos / 1_000_000.0;
+    }
+
+    /**
+     * @return Average duration of all writes in milliseconds
+     */
+    public double getAverageWriteMillis() {
+        long count = writes.sum();
+        return count > 0 ? totalWriteNanos.sum() / 1_000_000.0 / count : 0.0;
+    }
+
+    private static final class Snapshot {
+
+        private final JsonArray zones;
+        private final ZoneCodec codec;
+
+        private Snapshot(JsonArray zones, ZoneCodec codec) {
+            this.zones = zones;
+            this.codec = codec;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+/**
+ * Cache of block materials for the blocks zone conditions test. Materials
+ * are stored per world and chunk in lazily allocated 16x16x16 section arrays,
+ * a slot is filled the first time a condition reads it and cleared again by
+ * {@link io.github.rozefound.waterdizzle.listeners.BlockChangeListener} when
+ * the block changes. Entities standing still in a zone are evaluated without
+ * touching the world at all.
+ *
+ * <p>Changes made without firing block events, such as /fill, /setblock,
+ * WorldEdit pastes or other plugins setting blocks, are not seen by the
+ * listener. Every chunk entry is therefore dropped once it is older than
+ * condition_block_cache_ttl_ticks, so such changes are seen after that time
+ * at the latest, and /zone reload drops the whole cache right away.
+ */
+public class BlockMaterialCache implements MaterialLookup {
+
+    private static final int SECTION_VOLUME = 16 * 16 * 16;
+    private static final long NANOS_PER_TICK = 50_000_000L;
+
+    private final WaterDizzle plugin;
+    private final LongSupplier clock;
+    private final Map<UUID, Map<Long, ChunkEntry>> worlds =
+        new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile boolean enabled;
+    // Age in nanoseconds after which a chunk entry is read again, 0 to keep
+    // entries until they are invalidated
+    private volatile long ttlNanos;
+
+    public BlockMaterialCache(WaterDizzle plugin) {
+        this(plugin, System::nanoTime);
+    }
+
+    /**
+     * @param plugin The plugin
+     * @param clock Source of the current time in nanoseconds
+     */
+    BlockMaterialCache(WaterDizzle plugin, LongSupplier clock) {
+        this.plugin = plugin;
+        this.clock = clock;
+
+        reloadSettings();
+    }
+
+    public void reloadSettings() {
+        enabled = plugin
+            .getConfig()
+            .getBoolean("condition_block_cache", true);
+        ttlNanos =
+            Math.max(
+                0L,
+                plugin
+                    .getConfig()
+                    .getLong("condition_block_cache_ttl_ticks", 100L)
+            ) *
+            NANOS_PER_TICK;
+        clear();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the material of a block, reading it from the world only when it is
+     * not cached yet
+     *
+     * @param world The world of the block
+     * @param x Block X coordinate
+     * @param y Block Y coordinate
+     * @param z Block Z coordinate
+     * @return The material of the block
+     */
+    @Override
+    public Material getMaterial(World world, int x, int y, int z) {
+        if (!enabled) {
+            return world.getBlockAt(x, y, z).getType();
+        }
+
+        int minHeight = world.getMinHeight();
+        if (y < minHeight || y >= world.getMaxHeight()) {
+            return Material.VOID_AIR;
+        }
+
+        Map<Long, ChunkEntry> chunks = worlds.computeIfAbsent(
+            world.getUID(),
+            id -> new ConcurrentHashMap<>()
+        );
+        long chunkKey = Chunk.getChunkKey(x >> 4, z >> 4);
+        int sectionCount = (world.getMaxHeight() - minHeight) >> 4;
+        long now = clock.getAsLong();
+        ChunkEntry chunk = chunks.computeIfAbsent(chunkKey, key ->
+            new ChunkEntry(sectionCount, now)
+        );
+        if (ttlNanos > 0 && now - chunk.created >= ttlNanos) {
+            // Read the chunk again, it may have changed without an event
+            ChunkEntry fresh = new ChunkEntry(sectionCount, now);
+            chunk = chunks.replace(chunkKey, chunk, fresh)
+                ? fresh
+                : chunks.computeIfAbsent(chunkKey, key -> fresh);
+        }
+
+        int sectionIndex = (y - minHeight) >> 4;
+        Material[] section = chunk.sections[sectionIndex];
+        if (section == null) {
+            section = new Material[SECTION_VOLUME];
+            chunk.sections[sectionIndex] = section;
+        }
+
+        int slot = blockSlot(x, y, z);
+        Material material = section[slot];
+        if (material != null) {
+            hits.increment();
+            return material;
+        }
+
+        misses.increment();
+        material = world.getBlockAt(x, y, z).getType();
+        section[slot] = material;
+        return material;
+    }
+
+    /**
+     * Forget the cached material of a changed block
+     *
+     * @param block The block that changed or is about to change
+     */
+    public void invalidate(Block block) {
+        invalidate(block.getWorld(), block.getX(), block.getY(), block.getZ());
+    }
+
+    public void invalidate(World world, int x, int y, int z) {
+        Map<Long, ChunkEntry> chunks = worlds.get(world.getUID());
+        if (chunks == null) {
+            return;
+        }
+
+        ChunkEntry chunk = chunks.get(Chunk.getChunkKey(x >> 4, z >> 4));
+        if (chunk == null) {
+            return;
+        }
+
+        int sectionIndex = (y - world.getMinHeight()) >> 4;
+        if (sectionIndex < 0 || sectionIndex >= chunk.sections.length) {
+            return;
+        }
+
+        Material[] section = chunk.sections[sectionIndex];
+        if (section != null) {
+            section[blockSlot(x, y, z)] = null;
+        }
+    }
+
+    public void invalidateChunk(World world, int chunkX, int chunkZ) {
+        Map<Long, ChunkEntry> chunks = worlds.get(world.getUID());
+        if (chunks != null) {
+            chunks.remove(Chunk.getChunkKey(chunkX, chunkZ));
+        }
+    }
+
+    public void invalidateWorld(World world) {
+        worlds.remove(world.getUID());
+    }
+
+    public void clear() {
+        worlds.clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private static int blockSlot(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    private static final class ChunkEntry {
+
+        private final Material[][] sections;
+        private final long created;
+
+        private ChunkEntry(int sectionCount, long created) {
+            this.sections = new Material[sectionCount][];
+            this.created = created;
+        }
+    }
+}
@@ -3,7 +3,6 @@ package io.github.rozefound.waterdizzle.utils;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Entity;
-import org.bukkit.util.BoundingBox;
 
 public final class Bounds {
 
@@ -93,31 +92,97 @@ public final class Bounds {
         );
     }
 
+    /**
+     * Create a copy of these bounds grown by a distance on every side
+     *
+     * @param distance Distance in blocks to grow by
+     * @return The expanded bounds
+     */
+    public Bounds expand(double distance) {
+        return new Bounds(
+            world,
+            minX - distance,
+            minY - distance,
+            minZ - distance,
+            maxX + distance,
+            maxY + distance,
+            maxZ + distance
+        );
+    }
+
+    /**
+     * Check whether an axis aligned box overlaps these bounds, using the same
+     * exclusive edges as {@link #containsEntity(Entity)}
+     */
+    public boolean overlaps(
+        World world,
+        double minX,
+        double minY,
+        double minZ,
+        double maxX,
+        double maxY,
+        double maxZ
+    ) {
+        return (
+            this.world == world &&
+            maxX > this.minX &&
+            minX < this.maxX &&
+            maxY > this.minY &&
+            minY < this.maxY &&
+            maxZ > this.minZ &&
+            minZ < this.maxZ
+        );
+    }
+
+    /**
+     * Check whether the bounding box of an entity overlaps these bounds. The
+     * box is rebuilt from the entity's position and current dimensions, so
+     * no location or bounding box is allocated.
+     *
+     * @param entity The entity to check
+     * @return true when the entity is in the same world and overlaps
+     */
     public boolean containsEntity(final Entity entity) {
-        Location entityLocation = entity.getLocation();
-        BoundingBox entityBoundingBox = entity.getBoundingBox();
-
-        double entityMinX =
-            entityLocation.getX() - (entityBoundingBox.getWidthX() / 2);
-        double entityMaxX =
-            entityLocation.getX() + (entityBoundingBox.getWidthX() / 2);
-        double entityMinY = entityLocation.getY();
-        double entityMaxY =
-            entityLocation.getY() + entityBoundingBox.getHeight();
-        double entityMinZ =
-            entityLocation.getZ() - (entityBoundingBox.getWidthZ() / 2);
-        double entityMaxZ =
-            entityLocation.getZ() + (entityBoundingBox.getWidthZ() / 2);
-
-        boolean xOverlap = entityMaxX > minX && entityMinX < maxX;
-        boolean yOverlap = entityMaxY > minY && entityMinY < maxY;
-        boolean zOverlap = entityMaxZ > minZ && entityMinZ < maxZ;
+        return containsEntity(
+            entity.getWorld(),
+            entity.getX(),
+            entity.getY(),
+            entity.getZ(),
+            entity.getWidth(),
+            entity.getHeight()
+        );
+    }
 
+    /**
+     * Check whether an entity sized box standing at a position overlaps
+     * these bounds, using the same exclusive edges as
+     * {@link #overlaps(World, double, double, double, double, double, double)}
+     *
+     * @param world The world of the position, compared by identity
+     * @param x The x coordinate of the box's bottom center
+     * @param y The y coordinate of the box's bottom
+     * @param z The z coordinate of the box's bottom center
+     * @param width The width of the box on the x and z axes
+     * @param height The height of the box
+     * @return true when the box is in the same world and overlaps
+     */
+    public boolean containsEntity(
+        World world,
+        double x,
+        double y,
+        double z,
+        double width,
+        double height
+    ) {
+        double halfWidth = width / 2;
         return (
-            entityLocation.getWorld().equals(world) &&
-            xOverlap &&
-            yOverlap &&
-            zOverlap
+            this.world == world &&
+            x + halfWidth > minX &&
+            x - halfWidth < maxX &&
+            y + height > minY &&
+            y < maxY &&
+            z + halfWidth > minZ &&
+            z - halfWidth < maxZ
         );
     }
 
@@ -0,0 +1,158 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import java.util.List;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Entity;
+import org.bukkit.util.BoundingBox;
+
+/**
+ * The conditions of a zone folded into one material bitset per direction.
+ * Conditions only ever compare materials, so instead of scanning the entity
+ * footprint once per condition, the footprint is scanned once per direction
+ * and every block is tested with a single bit check.
+ */
+public final class CompiledConditions {
+
+    private static final int MATERIAL_COUNT = Material.values().length;
+
+    private static final CompiledConditions EMPTY = new CompiledConditions(
+        null,
+        null
+    );
+
+    private final long[] inside;
+    private final long[] standingOn;
+
+    private CompiledConditions(long[] inside, long[] standingOn) {
+        this.inside = inside;
+        this.standingOn = standingOn;
+    }
+
+    /**
+     * Compile a list of conditions. Conditions with invalid block data are
+     * skipped, same as they never match when evaluated one by one.
+     *
+     * @param conditions The conditions of a zone
+     * @return The compiled predicate
+     */
+    public static CompiledConditions compile(List<Condition> conditions) {
+        if (conditions.isEmpty()) {
+            return EMPTY;
+        }
+
+        long[] inside = null;
+        long[] standingOn = null;
+
+        for (Condition condition : conditions) {
+            BlockData blockData;
+            try {
+                blockData = condition.getBlockData();
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (blockData == null) continue;
+
+            int ordinal = blockData.getMaterial().ordinal();
+            if (condition.getDirection() == Condition.Direction.Inside) {
+                if (inside == null) inside = newBitset();
+                inside[ordinal >>> 6] |= 1L << ordinal;
+            } else if (
+                condition.getDirection() == Condition.Direction.StandingOn
+            ) {
+                if (standingOn == null) standingOn = newBitset();
+                standingOn[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+
+        return new CompiledConditions(inside, standingOn);
+    }
+
+    private static long[] newBitset() {
+        return new long[(MATERIAL_COUNT + 63) >>> 6];
+    }
+
+    /**
+     * @return true when there were no conditions to compile, in which case
+     *     the zone applies to every entity
+     */
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    public boolean test(Entity entity, MaterialLookup lookup) {
+        BoundingBox box = entity.getBoundingBox();
+        return test(
+            entity.getWorld(),
+            box.getMinX(),
+            box.getMinY(),
+            box.getMinZ(),
+            box.getMaxX(),
+            box.getMaxY(),
+            box.getMaxZ(),
+            lookup
+        );
+    }
+
+    /**
+     * Check whether any condition is met for an entity bounding box
+     *
+     * @return true when a block of the footprint matches a condition
+     */
+    public boolean test(
+        World world,
+        double minX,
+        double minY,
+        double minZ,
+        double maxX,
+        double maxY,
+        double maxZ,
+        MaterialLookup lookup
+    ) {
+        int minBlockX = (int) Math.floor(minX);
+        int maxBlockX = (int) Math.floor(maxX);
+        int minBlockZ = (int) Math.floor(minZ);
+        int maxBlockZ = (int) Math.floor(maxZ);
+
+        if (inside != null) {
+            int minBlockY = (int) Math.floor(minY);
+            int maxBlockY = (int) Math.floor(maxY);
+
+            for (int x = minBlockX; x <= maxBlockX; x++) {
+                for (int y = minBlockY; y <= maxBlockY; y++) {
+                    for (int z = minBlockZ; z <= maxBlockZ; z++) {
+                        Material material = lookup.getMaterial(world, x, y, z);
+                        if (matches(inside, material)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+
+        if (standingOn != null) {
+            int blockY = (int) Math.floor(minY - 0.1); // Slightly below feet
+
+            for (int x = minBlockX; x <= maxBlockX; x++) {
+                for (int z = minBlockZ; z <= maxBlockZ; z++) {
+                    if (
+                        matches(
+                            standingOn,
+                            lookup.getMaterial(world, x, blockY, z)
+                        )
+                    ) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean matches(long[] bitset, Material material) {
+        int ordinal = material.ordinal();
+        return (bitset[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+}
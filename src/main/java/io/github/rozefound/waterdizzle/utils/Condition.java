@@ -2,7 +2,8 @@ package io.github.rozefound.waterdizzle.utils;
 
 import com.google.gson.annotations.Expose;
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Entity;
 import org.bukkit.util.BoundingBox;
@@ -65,14 +66,23 @@ public final class Condition {
         return blockDataString.split("\\[")[0];
     }
 
-    public boolean isMetForEntity(Entity entity) {
-        Location entityLocation = entity.getLocation();
+    /**
+     * Check whether the blocks around an entity satisfy this condition
+     *
+     * @param entity The entity to check
+     * @param lookup Source the block materials are read through
+     * @return true when a block in the tested footprint matches
+     */
+    public boolean isMetForEntity(Entity entity, MaterialLookup lookup) {
+        World world = entity.getWorld();
         BlockData targetBlockData = getBlockData();
 
         if (targetBlockData == null) {
             return false;
         }
 
+        Material targetMaterial = targetBlockData.getMaterial();
+
         if (direction == Direction.Inside) {
             BoundingBox entityBoundingBox = entity.getBoundingBox();
 
@@ -86,17 +96,9 @@ public final class Condition {
             for (int x = minBlockX; x <= maxBlockX; x++) {
                 for (int y = minBlockY; y <= maxBlockY; y++) {
                     for (int z = minBlockZ; z <= maxBlockZ; z++) {
-                        Location blockLocation = new Location(
-                            entityLocation.getWorld(),
-                            x,
-                            y,
-                            z
-                        );
-                        BlockData currentBlockData = blockLocation
-                            .getBlock()
-                            .getBlockData();
                         if (
-                            matchesBlockData(currentBlockData, targetBlockData)
+                            lookup.getMaterial(world, x, y, z) ==
+                            targetMaterial
                         ) {
                             return true;
                         }
@@ -114,16 +116,10 @@ public final class Condition {
 
             for (int x = minBlockX; x <= maxBlockX; x++) {
                 for (int z = minBlockZ; z <= maxBlockZ; z++) {
-                    Location blockLocation = new Location(
-                        entityLocation.getWorld(),
-                        x,
-                        blockY,
-                        z
-                    );
-                    BlockData currentBlockData = blockLocation
-                        .getBlock()
-                        .getBlockData();
-                    if (matchesBlockData(currentBlockData, targetBlockData)) {
+                    if (
+                        lookup.getMaterial(world, x, blockY, z) ==
+                        targetMaterial
+                    ) {
                         return true;
                     }
                 }
@@ -133,10 +129,6 @@ public final class Condition {
         return false;
     }
 
-    private boolean matchesBlockData(BlockData current, BlockData target) {
-        return current.getMaterial().equals(target.getMaterial());
-    }
-
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -0,0 +1,434 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import io.github.rozefound.waterdizzle.Zone;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Single damage scheduler shared by every zone. Pending damage ticks are kept
+ * in a hashed timing wheel indexed by the tick they are due on; every server
+ * tick only the bucket of the current tick is drained, and all entries due
+ * on that tick are applied in one pass. Buckets are intrusive doubly linked
+ * lists, so a cancelled entry is unlinked right away instead of waiting for
+ * its bucket, and entries only hold a weak reference to their entity.
+ *
+ * <p>On Folia the wheel is advanced by the global region scheduler and the
+ * due entries are grouped by the region section their entity was last seen
+ * in. Each group is handed to the region scheduler as one batch, so damage
+ * is applied on the thread owning the entities instead of racing them.
+ */
+public class DamageScheduler {
+
+    public enum ExecutionMode {
+        BUKKIT,
+        FOLIA,
+    }
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    // Folia never splits a region section of 2^4 x 2^4 chunks
+    private static final int REGION_SECTION_SHIFT = 4;
+
+    private final WaterDizzle plugin;
+    private final ExecutionMode mode;
+    // Head of the entry list of every bucket
+    private final Entry[] wheel = new Entry[WHEEL_SIZE];
+    // Entries drained by the current tick, only touched by the ticking thread
+    private final List<Entry> dueEntries = new ArrayList<>();
+    private BukkitTask task;
+    private ScheduledTask regionizedTask;
+    private long currentTick;
+    private int pendingCount;
+
+    public DamageScheduler(WaterDizzle plugin) {
+        this.plugin = plugin;
+        this.mode = resolveMode(
+            plugin.getConfig().getString("execution_mode", "auto")
+        );
+    }
+
+    private ExecutionMode resolveMode(String configured) {
+        if ("bukkit".equalsIgnoreCase(configured)) {
+            return ExecutionMode.BUKKIT;
+        }
+        if ("folia".equalsIgnoreCase(configured)) {
+            return ExecutionMode.FOLIA;
+        }
+        if (!"auto".equalsIgnoreCase(configured)) {
+            plugin
+                .getLogger()
+                .warning(
+                    "Unknown execution_mode '" + configured + "', using auto."
+                );
+        }
+        return isFolia() ? ExecutionMode.FOLIA : ExecutionMode.BUKKIT;
+    }
+
+    private static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    public void start() {
+        if (mode == ExecutionMode.FOLIA) {
+            if (regionizedTask == null) {
+                regionizedTask = plugin
+                    .getServer()
+                    .getGlobalRegionScheduler()
+                    .runAtFixedRate(plugin, scheduled -> tick(), 1L, 1L);
+            }
+        } else if (task == null) {
+            task = plugin
+                .getServer()
+                .getScheduler()
+                .runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (regionizedTask != null) {
+            regionizedTask.cancel();
+            regionizedTask = null;
+        }
+    }
+
+    /**
+     * Schedule repeated damage of an entity by a zone. Must be called from
+     * the thread owning the entity.
+     *
+     * @param zone The zone dealing the damage
+     * @param entity The entity to damage
+     * @param delay Ticks until the first damage tick
+     * @return The scheduled entry, used to cancel it later
+     */
+    public Entry schedule(Zone zone, Entity entity, long delay) {
+        Entry entry = new Entry(zone, entity);
+        entry.capturePosition();
+
+        synchronized (this) {
+            enqueue(entry, currentTick + Math.max(1L, delay));
+            pendingCount++;
+        }
+        return entry;
+    }
+
+    /**
+     * Cancel a scheduled entry and unlink it from its bucket
+     *
+     * @param entry The entry to cancel
+     */
+    public synchronized void cancel(Entry entry) {
+        if (!entry.cancelled) {
+            entry.cancelled = true;
+            pendingCount--;
+            if (entry.linked) {
+                unlink(entry);
+            }
+        }
+    }
+
+    /**
+     * @return The number of live damage entries waiting in the wheel
+     */
+    public synchronized int getPendingCount() {
+        return pendingCount;
+    }
+
+    private void enqueue(Entry entry, long dueTick) {
+        entry.dueTick = dueTick;
+        int slot = (int) (dueTick & WHEEL_MASK);
+        Entry head = wheel[slot];
+        entry.previous = null;
+        entry.next = head;
+        if (head != null) {
+            head.previous = entry;
+        }
+        wheel[slot] = entry;
+        entry.linked = true;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            wheel[(int) (entry.dueTick & WHEEL_MASK)] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+        entry.linked = false;
+    }
+
+    /**
+     * Advance the wheel by one tick and apply the entries due on it. Called
+     * by the scheduler task every server tick, tests call it directly.
+     */
+    void tick() {
+        synchronized (this) {
+            currentTick++;
+
+            // Entries due a whole turn of the wheel later stay in the bucket
+            Entry entry = wheel[(int) (currentTick & WHEEL_MASK)];
+            while (entry != null) {
+                Entry next = entry.next;
+                if (entry.dueTick <= currentTick) {
+                    unlink(entry);
+                    dueEntries.add(entry);
+                }
+                entry = next;
+            }
+        }
+
+        if (dueEntries.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (mode == ExecutionMode.FOLIA) {
+                dispatchToRegions(dueEntries);
+            } else {
+                SnapshotConditionSampler.Batch samples = plugin
+                    .getConditionSampler()
+                    .newBatch();
+                for (Entry entry : dueEntries) {
+                    process(entry, samples);
+                }
+                samples.submit();
+            }
+        } finally {
+            // Do not keep the entries reachable until the next due tick
+            dueEntries.clear();
+        }
+    }
+
+    /**
+     * Group due entries by region section and submit one batch per section
+     * to the region scheduler
+     */
+    private void dispatchToRegions(List<Entry> dueEntries) {
+        Map<World, Map<Long, List<Entry>>> batches = new HashMap<>();
+        for (Entry entry : dueEntries) {
+            batches
+                .computeIfAbsent(entry.world, world -> new HashMap<>())
+                .computeIfAbsent(
+                    regionSectionKey(entry.chunkX, entry.chunkZ),
+                    key -> new ArrayList<>()
+                )
+                .add(entry);
+        }
+
+        for (Map<Long, List<Entry>> sections : batches.values()) {
+            for (List<Entry> batch : sections.values()) {
+                Entry first = batch.get(0);
+                plugin
+                    .getServer()
+                    .getRegionScheduler()
+                    .execute(
+                        plugin,
+                        first.world,
+                        first.chunkX,
+                        first.chunkZ,
+                        () -> runBatch(batch)
+                    );
+            }
+        }
+    }
+
+    private void runBatch(List<Entry> batch) {
+        SnapshotConditionSampler sampler = plugin.getConditionSampler();
+        SnapshotConditionSampler.Batch samples = sampler.newBatch();
+
+        for (Entry entry : batch) {
+            Entity entity = entry.getEntity();
+            if (entity == null) {
+                drop(entry);
+                continue;
+            }
+            if (Bukkit.isOwnedByCurrentRegion(entity)) {
+                process(entry, samples);
+                continue;
+            }
+
+            // The entity moved into another region since it was scheduled
+            ScheduledTask scheduled = entity
+                .getScheduler()
+                .run(
+                    plugin,
+                    task -> {
+                        SnapshotConditionSampler.Batch single =
+                            sampler.newBatch();
+                        process(entry, single);
+                        single.submit();
+                    },
+                    () -> drop(entry)
+                );
+            if (scheduled == null) {
+                drop(entry);
+            }
+        }
+
+        samples.submit();
+    }
+
+    private void process(
+        Entry entry,
+        SnapshotConditionSampler.Batch samples
+    ) {
+        if (entry.cancelled) {
+            return;
+        }
+
+        Entity entity = entry.getEntity();
+        if (entity == null) {
+            drop(entry);
+            return;
+        }
+
+        Zone zone = entry.zone;
+        if (
+            plugin.getConditionSampler().isEnabled() &&
+            !zone.getCompiledConditions().isEmpty()
+        ) {
+            if (!zone.canReceiveScheduledDamage(entity)) {
+                drop(entry);
+                return;
+            }
+
+            // Conditions are tested on a worker, damage follows once the
+            // result is back on the owning thread
+            samples.add(zone, entity, met -> complete(entry, met));
+            return;
+        }
+
+        if (!zone.applyScheduledDamage(entity)) {
+            drop(entry);
+            return;
+        }
+
+        reschedule(entry);
+    }
+
+    private void complete(Entry entry, boolean conditionsMet) {
+        if (entry.cancelled) {
+            return;
+        }
+
+        Entity entity = entry.getEntity();
+        if (
+            !conditionsMet ||
+            entity == null ||
+            !entry.zone.canReceiveScheduledDamage(entity)
+        ) {
+            drop(entry);
+            return;
+        }
+
+        entry.zone.applyDamage(entity);
+        reschedule(entry);
+    }
+
+    private void reschedule(Entry entry) {
+        if (mode == ExecutionMode.FOLIA) {
+            entry.capturePosition();
+        }
+
+        // Counted from the tick the damage was due, not from when a
+        // condition result came back, so the interval does not drift
+        long interval = Math.max(1L, entry.zone.getDamageInterval());
+        synchronized (this) {
+            if (!entry.cancelled) {
+                enqueue(
+                    entry,
+                    Math.max(entry.dueTick + interval, currentTick + 1)
+                );
+            }
+        }
+    }
+
+    private void drop(Entry entry) {
+        entry.zone.releaseDamageEntry(entry);
+        cancel(entry);
+    }
+
+    private static long regionSectionKey(int chunkX, int chunkZ) {
+        long sectionX = chunkX >> REGION_SECTION_SHIFT;
+        long sectionZ = chunkZ >> REGION_SECTION_SHIFT;
+        return (sectionX & 0xffffffffL) | ((sectionZ & 0xffffffffL) << 32);
+    }
+
+    public static final class Entry {
+
+        private final Zone zone;
+        // Weak, so a removed entity is not kept alive by its pending tick
+        private final WeakReference<Entity> entity;
+        private final UUID entityId;
+        private long dueTick;
+        private volatile boolean cancelled;
+        private World world;
+        private int chunkX;
+        private int chunkZ;
+
+        // Links of the bucket list, guarded by the scheduler
+        private Entry previous;
+        private Entry next;
+        private boolean linked;
+
+        private Entry(Zone zone, Entity entity) {
+            this.zone = zone;
+            this.entity = new WeakReference<>(entity);
+            this.entityId = entity.getUniqueId();
+        }
+
+        private void capturePosition() {
+            Entity current = entity.get();
+            if (current == null) {
+                return;
+            }
+            Location location = current.getLocation();
+            this.world = location.getWorld();
+            this.chunkX = location.getBlockX() >> 4;
+            this.chunkZ = location.getBlockZ() >> 4;
+        }
+
+        public Zone getZone() {
+            return zone;
+        }
+
+        /**
+         * @return The entity, or null once it was garbage collected
+         */
+        public Entity getEntity() {
+            return entity.get();
+        }
+
+        public UUID getEntityId() {
+            return entityId;
+        }
+    }
+}
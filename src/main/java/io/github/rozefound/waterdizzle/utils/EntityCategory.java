@@ -0,0 +1,99 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import org.bukkit.entity.Animals;
+import org.bukkit.entity.Enemy;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+
+/**
+ * The kinds of entities zones can affect. An entity type can be of several
+ * kinds at once, a hoglin is both an animal and an enemy, so the kinds of a
+ * type are a bitmask of the categories its entity class implements. Every
+ * entity type is classified once, looking up the kinds of an entity is an
+ * array read instead of a chain of instanceof checks.
+ */
+public enum EntityCategory {
+    PLAYER(Player.class),
+    ANIMAL(Animals.class),
+    ENEMY(Enemy.class),
+    ITEM(Item.class);
+
+    /**
+     * The kinds of entities no zone can affect
+     */
+    public static final int NONE = 0;
+
+    /**
+     * Every kind at once, the largest kinds mask
+     */
+    public static final int ALL = (1 << values().length) - 1;
+
+    private static final int[] KINDS_BY_TYPE = classifyTypes();
+
+    private final Class<? extends Entity> entityClass;
+    private final int mask;
+
+    EntityCategory(Class<? extends Entity> entityClass) {
+        this.entityClass = entityClass;
+        this.mask = 1 << ordinal();
+    }
+
+    /**
+     * @return The bit of this category in a kinds mask
+     */
+    public int mask() {
+        return mask;
+    }
+
+    /**
+     * @param kinds A kinds mask
+     * @return true when the mask includes this category
+     */
+    public boolean isIn(int kinds) {
+        return (kinds & mask) != 0;
+    }
+
+    private static int[] classifyTypes() {
+        EntityType[] types = EntityType.values();
+        int[] kinds = new int[types.length];
+        for (EntityType type : types) {
+            kinds[type.ordinal()] = classify(type.getEntityClass());
+        }
+        return kinds;
+    }
+
+    private static int classify(Class<? extends Entity> type) {
+        int kinds = NONE;
+        if (type == null) {
+            return kinds;
+        }
+        for (EntityCategory category : values()) {
+            if (category.entityClass.isAssignableFrom(type)) {
+                kinds |= category.mask;
+            }
+        }
+        return kinds;
+    }
+
+    /**
+     * Get the kinds of an entity type
+     *
+     * @param type The entity type to classify
+     * @return The mask of the categories of the type
+     */
+    public static int kindsOf(EntityType type) {
+        return KINDS_BY_TYPE[type.ordinal()];
+    }
+
+    /**
+     * Get the kinds of an entity
+     *
+     * @param entity The entity to classify
+     * @return The mask of the categories of the entity's type
+     */
+    public static int kindsOf(Entity entity) {
+        return kindsOf(entity.getType());
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+
+/**
+ * Source of block materials used when evaluating zone conditions
+ */
+@FunctionalInterface
+public interface MaterialLookup {
+    /**
+     * Get the material of the block at the given coordinates
+     *
+     * @param world The world of the block
+     * @param x Block X coordinate
+     * @param y Block Y coordinate
+     * @param z Block Z coordinate
+     * @return The material of the block
+     */
+    Material getMaterial(World world, int x, int y, int z);
+}
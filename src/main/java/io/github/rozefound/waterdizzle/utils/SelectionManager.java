@@ -2,21 +2,23 @@ package io.github.rozefound.waterdizzle.utils;
 
 import io.github.rozefound.waterdizzle.WaterDizzle;
 import io.github.rozefound.waterdizzle.Zone;
-import java.util.HashMap;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 
 public class SelectionManager {
 
     private final WaterDizzle plugin;
     private final Map<UUID, SelectionData> playerSelections;
-    private BukkitRunnable visualizationTask;
+    private BukkitTask visualizationTask;
+    private ScheduledTask regionizedVisualizationTask;
 
     // Particle settings
     private static final Color ANCHOR_COLOR = Color.LIME;
@@ -26,18 +28,36 @@ public class SelectionManager {
 
     public SelectionManager(WaterDizzle plugin) {
         this.plugin = plugin;
-        this.playerSelections = new HashMap<>();
+        // Commands of players in different regions edit selections at once
+        this.playerSelections = new ConcurrentHashMap<>();
         startVisualizationTask();
     }
 
     private void startVisualizationTask() {
-        visualizationTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                visualizeAllSelections();
-            }
-        };
-        visualizationTask.runTaskTimer(plugin, 0L, VISUALIZATION_INTERVAL);
+        if (
+            plugin.getDamageScheduler().getMode() ==
+            DamageScheduler.ExecutionMode.FOLIA
+        ) {
+            regionizedVisualizationTask = plugin
+                .getServer()
+                .getGlobalRegionScheduler()
+                .runAtFixedRate(
+                    plugin,
+                    task -> dispatchVisualizations(),
+                    1L,
+                    VISUALIZATION_INTERVAL
+                );
+        } else {
+            visualizationTask = plugin
+                .getServer()
+                .getScheduler()
+                .runTaskTimer(
+                    plugin,
+                    this::visualizeAllSelections,
+                    0L,
+                    VISUALIZATION_INTERVAL
+                );
+        }
     }
 
     private void visualizeAllSelections() {
@@ -50,22 +70,46 @@ public class SelectionManager {
                 continue;
             }
 
+            visualizeSelection(entry.getValue());
+        }
+    }
+
+    /**
+     * Draw every selection on the thread owning its player, particles can
+     * only be spawned in regions owned by the current thread on Folia
+     */
+    private void dispatchVisualizations() {
+        for (Map.Entry<
+            UUID,
+            SelectionData
+        > entry : playerSelections.entrySet()) {
+            Player player = plugin.getServer().getPlayer(entry.getKey());
+            if (player == null) {
+                continue;
+            }
+
             SelectionData data = entry.getValue();
-            Location first = data.getFirstAnchor();
-            Location second = data.getSecondAnchor();
-
-            if (first != null && second != null) {
-                if (first.getWorld().equals(second.getWorld())) {
-                    drawZoneBorderExcludingAnchors(first, second);
-
-                    highlightSingleBlock(first, ANCHOR_COLOR);
-                    highlightSingleBlock(second, ANCHOR_COLOR);
-                }
-            } else if (first != null) {
-                highlightSingleBlock(first, SINGLE_ANCHOR_COLOR);
-            } else if (second != null) {
-                highlightSingleBlock(second, SINGLE_ANCHOR_COLOR);
+            player
+                .getScheduler()
+                .run(plugin, task -> visualizeSelection(data), null);
+        }
+    }
+
+    private void visualizeSelection(SelectionData data) {
+        Location first = data.getFirstAnchor();
+        Location second = data.getSecondAnchor();
+
+        if (first != null && second != null) {
+            if (first.getWorld().equals(second.getWorld())) {
+                drawZoneBorderExcludingAnchors(first, second);
+
+                highlightSingleBlock(first, ANCHOR_COLOR);
+                highlightSingleBlock(second, ANCHOR_COLOR);
             }
+        } else if (first != null) {
+            highlightSingleBlock(first, SINGLE_ANCHOR_COLOR);
+        } else if (second != null) {
+            highlightSingleBlock(second, SINGLE_ANCHOR_COLOR);
         }
     }
 
@@ -629,6 +673,10 @@ public class SelectionManager {
         if (visualizationTask != null && !visualizationTask.isCancelled()) {
             visualizationTask.cancel();
         }
+        if (regionizedVisualizationTask != null) {
+            regionizedVisualizationTask.cancel();
+            regionizedVisualizationTask = null;
+        }
     }
 
     private static class SelectionData {
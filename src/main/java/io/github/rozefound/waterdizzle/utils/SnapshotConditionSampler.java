@@ -0,0 +1,469 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import io.github.rozefound.waterdizzle.Zone;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.util.BoundingBox;
+
+/**
+ * Evaluates zone conditions for batches of entities on worker threads. The
+ * footprints of the entities and snapshots of the chunks under them are
+ * captured on the thread owning the entities, the conditions are tested
+ * against the snapshots on a worker, and the results are handed back to the
+ * owning thread where damage is applied.
+ *
+ * <p>Snapshots are kept until a block in their chunk changes or the chunk
+ * unloads, so zones full of idle mobs reuse the same snapshot every tick. A
+ * block change only marks the snapshot stale, it is captured again once it
+ * is older than condition_snapshot_refresh_ticks. Flowing water or lava
+ * changes blocks every few ticks, without the limit every such chunk would be
+ * captured again on each damage tick.
+ *
+ * <p>Settings are reloaded on the thread running the command while batches
+ * are submitted from the threads owning the entities. The worker pool and
+ * its size are published together in one immutable {@link Workers}, a
+ * sampler without workers is disabled.
+ */
+public class SnapshotConditionSampler {
+
+    private static final long NANOS_PER_TICK = 50_000_000L;
+
+    private final WaterDizzle plugin;
+    private final LongSupplier clock;
+    private final Map<UUID, Map<Long, Capture>> snapshots =
+        new ConcurrentHashMap<>();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder snapshotsTaken = new LongAdder();
+    private volatile Workers workers;
+    // Age in nanoseconds a stale snapshot must reach before it is captured
+    // again, 0 to capture it again on the next use
+    private volatile long refreshNanos;
+
+    public SnapshotConditionSampler(WaterDizzle plugin) {
+        this(plugin, System::nanoTime);
+    }
+
+    /**
+     * @param plugin The plugin
+     * @param clock Source of the current time in nanoseconds
+     */
+    SnapshotConditionSampler(WaterDizzle plugin, LongSupplier clock) {
+        this.plugin = plugin;
+        this.clock = clock;
+
+        reloadSettings();
+    }
+
+    public synchronized void reloadSettings() {
+        String mode = plugin
+            .getConfig()
+            .getString("condition_evaluation", "sync");
+        int threads = Math.max(
+            1,
+            plugin.getConfig().getInt("condition_worker_threads", 2)
+        );
+        long refreshTicks = plugin
+            .getConfig()
+            .getLong("condition_snapshot_refresh_ticks", 10);
+        refreshNanos = Math.max(0L, refreshTicks) * NANOS_PER_TICK;
+
+        if (!"snapshot".equalsIgnoreCase(mode)) {
+            if (!"sync".equalsIgnoreCase(mode)) {
+                plugin
+                    .getLogger()
+                    .warning(
+                        "Unknown condition_evaluation '" +
+                        mode +
+                        "', using sync."
+                    );
+            }
+            shutdown();
+            return;
+        }
+
+        Workers current = workers;
+        if (current == null || current.threads != threads) {
+            shutdown();
+            workers = new Workers(
+                Executors.newFixedThreadPool(
+                    threads,
+                    new WorkerThreadFactory()
+                ),
+                threads
+            );
+        }
+    }
+
+    public synchronized void shutdown() {
+        Workers current = workers;
+        if (current != null) {
+            workers = null;
+            current.executor.shutdownNow();
+        }
+        snapshots.clear();
+    }
+
+    public boolean isEnabled() {
+        return workers != null;
+    }
+
+    public long getEvaluationCount() {
+        return evaluations.sum();
+    }
+
+    public long getSnapshotsTaken() {
+        return snapshotsTaken.sum();
+    }
+
+    /**
+     * Start collecting entities to evaluate together. A batch must be filled
+     * and submitted on the thread owning its entities.
+     *
+     * @return A new empty batch
+     */
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    /**
+     * Mark the snapshot of a chunk stale after a block in it changed
+     */
+    public void invalidate(World world, int chunkX, int chunkZ) {
+        Map<Long, Capture> chunks = snapshots.get(world.getUID());
+        if (chunks == null) {
+            return;
+        }
+
+        Capture capture = chunks.get(Chunk.getChunkKey(chunkX, chunkZ));
+        if (capture != null) {
+            capture.stale = true;
+        }
+    }
+
+    /**
+     * Mark the snapshot of a chunk stale when a block in it no longer has
+     * the material the snapshot holds, updates leaving the material alone
+     * keep the snapshot fresh
+     *
+     * @param block The updated block
+     */
+    public void invalidateIfChanged(Block block) {
+        Map<Long, Capture> chunks = snapshots.get(block.getWorld().getUID());
+        if (chunks == null) {
+            return;
+        }
+
+        int x = block.getX();
+        int z = block.getZ();
+        Capture capture = chunks.get(Chunk.getChunkKey(x >> 4, z >> 4));
+        if (
+            capture != null &&
+            capture.snapshot.getBlockType(x & 15, block.getY(), z & 15) !=
+            block.getType()
+        ) {
+            capture.stale = true;
+        }
+    }
+
+    /**
+     * Drop the snapshot of a chunk that unloaded
+     */
+    public void unloadChunk(World world, int chunkX, int chunkZ) {
+        Map<Long, Capture> chunks = snapshots.get(world.getUID());
+        if (chunks != null) {
+            chunks.remove(Chunk.getChunkKey(chunkX, chunkZ));
+        }
+    }
+
+    public void invalidateWorld(World world) {
+        snapshots.remove(world.getUID());
+    }
+
+    private ChunkSnapshot getSnapshot(World world, int chunkX, int chunkZ) {
+        Map<Long, Capture> chunks = snapshots.computeIfAbsent(
+            world.getUID(),
+            id -> new ConcurrentHashMap<>()
+        );
+
+        long key = Chunk.getChunkKey(chunkX, chunkZ);
+        Capture capture = chunks.get(key);
+        long now = clock.getAsLong();
+        if (
+            capture != null &&
+            (!capture.stale || now - capture.takenAt < refreshNanos)
+        ) {
+            return capture.snapshot;
+        }
+        if (!world.isChunkLoaded(chunkX, chunkZ)) {
+            return capture != null ? capture.snapshot : null;
+        }
+
+        ChunkSnapshot snapshot = world
+            .getChunkAt(chunkX, chunkZ)
+            .getChunkSnapshot(false, false, false);
+        chunks.put(key, new Capture(snapshot, now));
+        snapshotsTaken.increment();
+        return snapshot;
+    }
+
+    /**
+     * Capture and evaluate an entity on the calling thread
+     *
+     * @param zone The zone whose conditions are tested
+     * @param entity The entity to test
+     * @return Whether the entity meets the zone conditions
+     */
+    boolean test(Zone zone, Entity entity) {
+        return evaluate(capture(zone, entity, null));
+    }
+
+    private Request capture(
+        Zone zone,
+        Entity entity,
+        Consumer<Boolean> callback
+    ) {
+        World world = entity.getWorld();
+        BoundingBox box = entity.getBoundingBox();
+
+        int minChunkX = ((int) Math.floor(box.getMinX())) >> 4;
+        int maxChunkX = ((int) Math.floor(box.getMaxX())) >> 4;
+        int minChunkZ = ((int) Math.floor(box.getMinZ())) >> 4;
+        int maxChunkZ = ((int) Math.floor(box.getMaxZ())) >> 4;
+
+        Map<Long, ChunkSnapshot> chunks = new HashMap<>(4);
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                ChunkSnapshot snapshot = getSnapshot(world, chunkX, chunkZ);
+                if (snapshot != null) {
+                    chunks.put(Chunk.getChunkKey(chunkX, chunkZ), snapshot);
+                }
+            }
+        }
+
+        return new Request(
+            zone.getCompiledConditions(),
+            entity,
+            world,
+            world.getMinHeight(),
+            world.getMaxHeight(),
+            box,
+            chunks,
+            callback
+        );
+    }
+
+    private boolean evaluate(Request request) {
+        MaterialLookup lookup = (world, x, y, z) -> {
+            if (y < request.minHeight || y >= request.maxHeight) {
+                return Material.VOID_AIR;
+            }
+
+            ChunkSnapshot snapshot = request.chunks.get(
+                Chunk.getChunkKey(x >> 4, z >> 4)
+            );
+            return snapshot != null
+                ? snapshot.getBlockType(x & 15, y, z & 15)
+                : Material.AIR;
+        };
+
+        BoundingBox box = request.box;
+        return request.conditions.test(
+            request.world,
+            box.getMinX(),
+            box.getMinY(),
+            box.getMinZ(),
+            box.getMaxX(),
+            box.getMaxY(),
+            box.getMaxZ(),
+            lookup
+        );
+    }
+
+    private void deliver(List<Request> requests, boolean[] results) {
+        if (!plugin.isEnabled()) {
+            return;
+        }
+
+        boolean regionized =
+            plugin.getDamageScheduler().getMode() ==
+            DamageScheduler.ExecutionMode.FOLIA;
+
+        if (!regionized) {
+            plugin
+                .getServer()
+                .getScheduler()
+                .runTask(plugin, () -> {
+                    for (int i = 0; i < requests.size(); i++) {
+                        requests.get(i).callback.accept(results[i]);
+                    }
+                });
+            return;
+        }
+
+        for (int i = 0; i < requests.size(); i++) {
+            Request request = requests.get(i);
+            boolean met = results[i];
+            ScheduledTask task = request.entity
+                .getScheduler()
+                .run(
+                    plugin,
+                    scheduled -> request.callback.accept(met),
+                    () -> request.callback.accept(false)
+                );
+            if (task == null) {
+                request.callback.accept(false);
+            }
+        }
+    }
+
+    public final class Batch {
+
+        private final List<Request> requests = new ArrayList<>();
+
+        private Batch() {}
+
+        /**
+         * Capture an entity footprint and the chunks under it for evaluation
+         *
+         * @param zone The zone whose conditions are tested
+         * @param entity The entity to test
+         * @param callback Receives the result on the thread owning the
+         *     entity
+         */
+        public void add(Zone zone, Entity entity, Consumer<Boolean> callback) {
+            requests.add(capture(zone, entity, callback));
+        }
+
+        /**
+         * Hand the collected entities to the worker pool. Entities that
+         * cannot be evaluated because the pool is gone are reported as not
+         * meeting the conditions.
+         */
+        public void submit() {
+            if (requests.isEmpty()) {
+                return;
+            }
+
+            List<Request> submitted = new ArrayList<>(requests);
+            requests.clear();
+
+            Workers current = workers;
+            try {
+                if (current == null) {
+                    throw new RejectedExecutionException();
+                }
+
+                current.executor.execute(() -> {
+                    boolean[] results = new boolean[submitted.size()];
+                    for (int i = 0; i < results.length; i++) {
+                        results[i] = evaluate(submitted.get(i));
+                    }
+                    evaluations.add(results.length);
+                    deliver(submitted, results);
+                });
+            } catch (RejectedExecutionException e) {
+                for (Request request : submitted) {
+                    request.callback.accept(false);
+                }
+            }
+        }
+    }
+
+    private static final class Request {
+
+        private final CompiledConditions conditions;
+        private final Entity entity;
+        private final World world;
+        private final int minHeight;
+        private final int maxHeight;
+        private final BoundingBox box;
+        private final Map<Long, ChunkSnapshot> chunks;
+        private final Consumer<Boolean> callback;
+
+        private Request(
+            CompiledConditions conditions,
+            Entity entity,
+            World world,
+            int minHeight,
+            int maxHeight,
+            BoundingBox box,
+            Map<Long, ChunkSnapshot> chunks,
+            Consumer<Boolean> callback
+        ) {
+            this.conditions = conditions;
+            this.entity = entity;
+            this.world = world;
+            this.minHeight = minHeight;
+            this.maxHeight = maxHeight;
+            this.box = box;
+            this.chunks = chunks;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * A snapshot of a chunk and when it was captured
+     */
+    private static final class Capture {
+
+        private final ChunkSnapshot snapshot;
+        private final long takenAt;
+        // Set once a block in the chunk changed
+        private volatile boolean stale;
+
+        private Capture(ChunkSnapshot snapshot, long takenAt) {
+            this.snapshot = snapshot;
+            this.takenAt = takenAt;
+        }
+    }
+
+    /**
+     * The worker pool together with the number of threads it was created
+     * with, replaced as a whole when the settings change
+     */
+    private static final class Workers {
+
+        private final ExecutorService executor;
+        private final int threads;
+
+        private Workers(ExecutorService executor, int threads) {
+            this.executor = executor;
+            this.threads = threads;
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(
+                runnable,
+                "WaterDizzle Condition Worker #" + counter.incrementAndGet()
+            );
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,157 +1,557 @@
 package io.github.rozefound.waterdizzle.utils;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 import io.github.rozefound.waterdizzle.WaterDizzle;
 import io.github.rozefound.waterdizzle.Zone;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
+import io.github.rozefound.waterdizzle.index.ChunkZoneIndex;
+import io.github.rozefound.waterdizzle.index.RTreeZoneIndex;
+import io.github.rozefound.waterdizzle.index.ZoneIndex;
+import io.github.rozefound.waterdizzle.storage.ZoneCodec;
+import io.github.rozefound.waterdizzle.storage.ZoneDescriptor;
+import io.github.rozefound.waterdizzle.storage.ZoneRepository;
+import io.github.rozefound.waterdizzle.storage.ZoneStore;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.util.BoundingBox;
 
 /**
  * Manager class for handling zone operations
+ *
+ * <p>Zones are published as immutable {@link ZoneSnapshot}s. Zone edits may
+ * come from several threads on Folia, every edit derives its snapshot from
+ * the current one and publishes it with a compare-and-set, retrying on top
+ * of a concurrent edit, so no edit is lost and versions only grow. Reading
+ * and editing the registry never takes a lock.
+ *
+ * <p>Zone files are kept by a {@link ZoneRepository}, which is not
+ * thread-safe. Loading, saving, world loads and unloads and conversions
+ * hold the manager's monitor while they use it. Zone edits only mark zones
+ * dirty and drop dormant zones, which the repository allows from any thread.
  */
 public class ZoneManager {
 
     private final WaterDizzle plugin;
-    private final Map<String, Zone> zones;
-    private final File zonesFile;
+    private final ZoneRepository repository;
+    private volatile boolean rtreeIndex;
+
+    // Copy-on-write zone registry, replaced as a whole on every change
+    private final AtomicReference<ZoneSnapshot> snapshot =
+        new AtomicReference<>(ZoneSnapshot.EMPTY);
+
+    private final ThreadLocal<Location> scratchLocation =
+        ThreadLocal.withInitial(() -> new Location(null, 0, 0, 0));
+
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
 
     public ZoneManager(WaterDizzle plugin) {
         this.plugin = plugin;
-        this.zones = new HashMap<>();
-        this.zonesFile = new File(plugin.getDataFolder(), "zones.json");
-
-        if (!plugin.getDataFolder().exists()) {
-            plugin.getDataFolder().mkdirs();
-        }
+        this.repository = new ZoneRepository(plugin);
 
         loadZones();
     }
 
+    /**
+     * Get the current zone registry. The snapshot never changes, zone edits
+     * publish a new one, so it can be read from any thread without locking.
+     *
+     * @return The current zone snapshot
+     */
+    public ZoneSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * @return Every zone, unmodifiable and shared until the zones change
+     */
     public List<Zone> getZones() {
-        return new ArrayList<>(zones.values());
+        return snapshot.get().getZones();
     }
 
     public Zone getZone(String name) {
-        return zones.get(name);
+        return snapshot.get().getZone(name);
     }
 
     public Set<String> getZoneNames() {
-        return zones.keySet();
+        return snapshot.get().getZoneNames();
     }
 
     public void addZone(Zone zone) {
-        zones.put(zone.getName(), zone);
+        repository.removeDormantZone(zone.getName());
+        ZoneSnapshot previous = update(current -> {
+            Map<String, Zone> zones = current.copyZones();
+            Zone replaced = zones.put(zone.getName(), zone);
+            return withZones(current, zones, index -> {
+                if (replaced != null) {
+                    index.remove(replaced);
+                }
+                index.insert(zone);
+            });
+        });
+
+        repository.markDirty(zone.getName());
+
+        Zone replaced = previous.getZone(zone.getName());
+        if (replaced != null && replaced != zone) {
+            replaced.cancelDamageTasks();
+        }
     }
 
+    /**
+     * Remove a zone, loaded or waiting for its world to load
+     *
+     * @param name The name of the zone
+     * @return The removed zone, null when no loaded zone had the name
+     */
     public Zone removeZone(String name) {
-        return zones.remove(name);
+        ZoneDescriptor dormant = repository.removeDormantZone(name);
+        ZoneSnapshot previous = update(current -> {
+            if (!current.hasZone(name)) {
+                return current;
+            }
+            Map<String, Zone> zones = current.copyZones();
+            Zone removed = zones.remove(name);
+            return withZones(current, zones, index -> index.remove(removed));
+        });
+
+        Zone removed = previous.getZone(name);
+        if (removed != null || dormant != null) {
+            repository.markDirty(name);
+        }
+        if (removed != null) {
+            removed.cancelDamageTasks();
+        }
+        return removed;
     }
 
-    public boolean hasZone(String name) {
-        return zones.containsKey(name);
+    /**
+     * Replace the current snapshot with one derived from it. The change is
+     * applied again on top of the newer snapshot when another thread
+     * published first, so it must not have side effects.
+     *
+     * @param change Builds the next snapshot from the current one, returns
+     *     the current snapshot to leave the zones untouched
+     * @return The snapshot that was replaced
+     */
+    private ZoneSnapshot update(UnaryOperator<ZoneSnapshot> change) {
+        while (true) {
+            ZoneSnapshot current = snapshot.get();
+            ZoneSnapshot next = change.apply(current);
+            if (next == current || snapshot.compareAndSet(current, next)) {
+                return current;
+            }
+        }
     }
 
-    public void clearZones() {
-        zones.clear();
+    /**
+     * Build the snapshot following another one with a new zone set. The
+     * spatial index is derived from a copy of the current one, which shares
+     * everything the edit does not touch, so an edit costs about as much as
+     * indexing the changed zones. The index is never modified once
+     * published, so readers on other threads can query it without locking.
+     *
+     * @param current The snapshot being replaced
+     * @param zones The zones by name, owned by the snapshot afterwards
+     * @param edit Applies the change of the zone set to the copied index
+     * @return The new snapshot
+     */
+    private ZoneSnapshot withZones(
+        ZoneSnapshot current,
+        Map<String, Zone> zones,
+        Consumer<ZoneIndex> edit
+    ) {
+        ZoneIndex index = current.getIndex().copy();
+        edit.accept(index);
+        return new ZoneSnapshot(zones, index, current.getVersion() + 1);
     }
 
-    public int getZoneCount() {
-        return zones.size();
+    /**
+     * Build a snapshot without zones, with a new index of the configured
+     * type
+     *
+     * @param current The snapshot being replaced
+     * @return The empty snapshot
+     */
+    private ZoneSnapshot emptied(ZoneSnapshot current) {
+        return new ZoneSnapshot(
+            new HashMap<>(),
+            newIndex(),
+            current.getVersion() + 1
+        );
     }
 
-    public void saveZones() {
-        try {
-            JsonArray zonesArray = new JsonArray();
+    private ZoneIndex newIndex() {
+        return rtreeIndex ? new RTreeZoneIndex() : new ChunkZoneIndex();
+    }
 
-            for (Zone zone : zones.values()) {
-                String zoneJson = zone.toJson();
-                JsonElement zoneElement = JsonParser.parseString(zoneJson);
-                zonesArray.add(zoneElement);
+    /**
+     * Add zones whose names are not taken yet. Zones loaded into an empty
+     * zone set are bulk loaded into a new index, later loads are inserted
+     * into the current one.
+     *
+     * @param added The zones to add
+     */
+    private void putZones(Collection<Zone> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        update(current -> {
+            Map<String, Zone> zones = current.copyZones();
+            List<Zone> inserted = new ArrayList<>(added.size());
+            for (Zone zone : added) {
+                if (zones.putIfAbsent(zone.getName(), zone) == null) {
+                    inserted.add(zone);
+                }
             }
 
-            try (FileWriter writer = new FileWriter(zonesFile)) {
-                writer.write(zonesArray.toString());
+            if (current.size() == 0) {
+                ZoneIndex index = newIndex();
+                index.bulkLoad(zones.values());
+                return new ZoneSnapshot(
+                    zones,
+                    index,
+                    current.getVersion() + 1
+                );
             }
+            return withZones(current, zones, index ->
+                inserted.forEach(index::insert)
+            );
+        });
+    }
 
-            plugin
-                .getLogger()
-                .info("Saved " + zones.size() + " zones to file.");
-        } catch (IOException e) {
-            plugin
-                .getLogger()
-                .severe("Failed to save zones: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * Refresh the spatial index entry of a zone after its bounds changed
+     *
+     * @param zone The zone whose anchors were modified
+     */
+    public void reindexZone(Zone zone) {
+        // The zone may have moved to another world
+        update(current ->
+            current.getZone(zone.getName()) == zone
+                ? withZones(current, current.copyZones(), index ->
+                    index.insert(zone)
+                )
+                : current
+        );
+        markDirty(zone);
+    }
+
+    /**
+     * Notify the manager that a property affecting zone behaviour changed
+     *
+     * @param zone The modified zone
+     */
+    public void zoneChanged(Zone zone) {
+        update(current ->
+            current.getZone(zone.getName()) == zone
+                ? current.refresh(zone, current.getVersion() + 1)
+                : current
+        );
+        markDirty(zone);
+    }
+
+    /**
+     * Queue a zone to be written by the next save. Zones that are not
+     * registered, like zones being deserialized, are ignored.
+     *
+     * @param zone The edited zone
+     */
+    public void markDirty(Zone zone) {
+        if (snapshot.get().getZone(zone.getName()) == zone) {
+            repository.markDirty(zone.getName());
         }
     }
 
-    public void loadZones() {
-        if (!zonesFile.exists()) {
+    /**
+     * Get the modification counter of the zone set. It is bumped whenever a
+     * zone is added, removed, moved or changes its behaviour, so cached
+     * per-entity results can tell when they are stale.
+     *
+     * @return The current zone set version
+     */
+    public long getVersion() {
+        return snapshot.get().getVersion();
+    }
+
+    public boolean hasZone(String name) {
+        return snapshot.get().hasZone(name) || repository.isDormant(name);
+    }
+
+    public void clearZones() {
+        repository.clearDormantZones();
+        ZoneSnapshot replaced = update(this::emptied);
+        for (String name : replaced.getZoneNames()) {
+            repository.markDirty(name);
+        }
+        cancelAll(replaced);
+    }
+
+    private static void cancelAll(ZoneSnapshot replaced) {
+        for (Zone zone : replaced.getZoneArray()) {
+            zone.cancelDamageTasks();
+        }
+    }
+
+    private boolean readIndexType() {
+        String type = plugin.getConfig().getString("zone_index", "chunk");
+        if ("rtree".equalsIgnoreCase(type)) {
+            return true;
+        }
+        if (!"chunk".equalsIgnoreCase(type)) {
             plugin
                 .getLogger()
-                .info("No zones file found, starting with empty zones list.");
+                .warning(
+                    "Unknown zone_index '" + type + "', using chunk index."
+                );
+        }
+        return false;
+    }
+
+    public int getZoneCount() {
+        return snapshot.get().size();
+    }
+
+    /**
+     * @return The number of zones waiting for their world to load
+     */
+    public int getDormantZoneCount() {
+        return repository.getDormantZoneCount();
+    }
+
+    /**
+     * Get a zone waiting for its world to load
+     *
+     * @param name The name of the zone
+     * @return The zone's descriptor, or null when no dormant zone has the name
+     */
+    public ZoneDescriptor getDormantZone(String name) {
+        return repository.getDormantZone(name);
+    }
+
+    /**
+     * @return The names of the zones waiting for their world to load
+     */
+    public Set<String> getDormantZoneNames() {
+        return repository.getDormantZoneNames();
+    }
+
+    /**
+     * Request the zones to be saved. Requests arriving within the
+     * save_debounce_ticks window are coalesced into one save, only zones
+     * changed since the previous save are serialized again, and the files are
+     * written by the {@link ZoneStore} off the main thread.
+     */
+    public void saveZones() {
+        if (!saveScheduled.compareAndSet(false, true)) {
             return;
         }
 
-        try {
-            JsonElement element = JsonParser.parseReader(
-                new FileReader(zonesFile)
-            );
+        long delay = Math.max(
+            1L,
+            plugin.getConfig().getLong("save_debounce_ticks", 20L)
+        );
 
-            if (!element.isJsonArray()) {
-                plugin
-                    .getLogger()
-                    .warning("Invalid zones file format, expected JSON array.");
-                return;
-            }
+        if (
+            plugin.getDamageScheduler().getMode() ==
+            DamageScheduler.ExecutionMode.FOLIA
+        ) {
+            plugin
+                .getServer()
+                .getGlobalRegionScheduler()
+                .runDelayed(plugin, task -> flushZones(), delay);
+        } else {
+            plugin
+                .getServer()
+                .getScheduler()
+                .runTaskLater(plugin, this::flushZones, delay);
+        }
+    }
 
-            JsonArray zonesArray = element.getAsJsonArray();
-            zones.clear();
-
-            for (JsonElement zoneElement : zonesArray) {
-                try {
-                    String zoneJson = zoneElement.toString();
-                    Zone zone = Zone.fromJson(zoneJson, plugin);
-                    zones.put(zone.getName(), zone);
-                } catch (Exception e) {
-                    plugin
-                        .getLogger()
-                        .warning("Failed to load a zone: " + e.getMessage());
-                }
+    /**
+     * Save the zones right away and wait for the writes to finish, used when
+     * the plugin is disabled. Journals are folded into their zone files.
+     */
+    public synchronized void saveZonesNow() {
+        repository.close(snapshot.get()::getZone);
+    }
+
+    private synchronized void flushZones() {
+        saveScheduled.set(false);
+        repository.flush(snapshot.get()::getZone);
+    }
+
+    public ZoneStore getStore() {
+        return repository.getStore();
+    }
+
+    /**
+     * @return The format zone files are currently stored in
+     */
+    public ZoneCodec getCodec() {
+        return repository.getCodec();
+    }
+
+    /**
+     * @return true when zones are stored in one file per world
+     */
+    public boolean isPerWorldStorage() {
+        return repository.isPerWorldStorage();
+    }
+
+    /**
+     * @return true when zone edits are appended to journals
+     */
+    public boolean isJournalEnabled() {
+        return repository.isJournalEnabled();
+    }
+
+    /**
+     * Load the zones from their files again, keeping the edits made since
+     * the last save. Edits still waiting for the debounced save are written
+     * with the previous storage settings before the files are read.
+     */
+    public synchronized void loadZones() {
+        flushZones();
+        readZones();
+    }
+
+    private void readZones() {
+        repository.open();
+        rtreeIndex = readIndexType();
+        cancelAll(update(this::emptied));
+
+        if (repository.isPerWorldStorage()) {
+            for (World world : plugin.getServer().getWorlds()) {
+                loadWorld(world);
             }
+            return;
+        }
+        putZones(repository.loadZoneFile(snapshot.get()::hasZone));
+    }
 
+    /**
+     * Activate the zones of a world, called when the world loads. Zones kept
+     * dormant since the world was last unloaded are built from memory, with
+     * per-world storage the zones of a world seen for the first time are read
+     * from its file.
+     *
+     * @param world The loaded world
+     * @return The number of zones activated
+     */
+    public synchronized int loadWorld(World world) {
+        String worldName = world.getName();
+        List<Zone> loaded = repository.loadWorld(
+            worldName,
+            snapshot.get()::hasZone
+        );
+        putZones(loaded);
+
+        if (!loaded.isEmpty()) {
             plugin
                 .getLogger()
-                .info("Loaded " + zones.size() + " zones from file.");
-        } catch (Exception e) {
-            plugin
-                .getLogger()
-                .severe("Failed to load zones: " + e.getMessage());
-            e.printStackTrace();
+                .info(
+                    "Loaded " +
+                    loaded.size() +
+                    " zones of world '" +
+                    worldName +
+                    "'."
+                );
         }
+        return loaded.size();
     }
 
-    public int reloadZones() {
-        zones.clear();
+    /**
+     * Turn the zones of a world into dormant descriptors, called when the
+     * world unloads. Nothing is written, unsaved edits stay pending and are
+     * saved with the next save.
+     *
+     * @param world The unloading world
+     * @return The number of zones deactivated
+     */
+    public synchronized int unloadWorld(World world) {
+        List<Zone> deactivated = new ArrayList<>();
+        for (Zone zone : snapshot.get().getZoneArray()) {
+            if (
+                world.equals(zone.getWorld()) &&
+                repository.deactivate(zone) != null
+            ) {
+                deactivated.add(zone);
+            }
+        }
 
-        loadZones();
+        if (!deactivated.isEmpty()) {
+            update(current -> {
+                Map<String, Zone> zones = current.copyZones();
+                List<Zone> removed = new ArrayList<>(deactivated.size());
+                for (Zone zone : deactivated) {
+                    if (zones.remove(zone.getName(), zone)) {
+                        removed.add(zone);
+                    }
+                }
+                return withZones(current, zones, index ->
+                    removed.forEach(index::remove)
+                );
+            });
+            for (Zone zone : deactivated) {
+                zone.cancelDamageTasks();
+            }
+        }
+        return deactivated.size();
+    }
 
-        return zones.size();
+    /**
+     * Convert every zone file from one format to another, including the
+     * files of worlds that are not loaded. Zones changed in memory and
+     * journaled edits are written first so the conversion sees the current
+     * state. Importing into the current format drops the journals. Converted
+     * files are written next to the originals, which are left in place.
+     *
+     * @param from The format to read
+     * @param to The format to write
+     * @return The number of zones converted, or -1 when a file failed
+     */
+    public synchronized int convertZoneFiles(ZoneCodec from, ZoneCodec to) {
+        return repository.convertZoneFiles(from, to, snapshot.get()::getZone);
+    }
+
+    /**
+     * Drop the zones in memory, including edits that were not saved yet, and
+     * load the zone files again. Used once an import replaced the zone files,
+     * the edits belong to the replaced files.
+     *
+     * @return The number of zones loaded
+     */
+    public synchronized int reloadZones() {
+        clearZones();
+
+        readZones();
+
+        return snapshot.get().size();
     }
 
     public List<Zone> getZonesAt(Location location) {
         List<Zone> containingZones = new ArrayList<>();
-        for (Zone zone : zones.values()) {
+        if (location == null) {
+            return containingZones;
+        }
+
+        for (Zone zone : snapshot.get().getIndex().queryPoint(
+            location.getWorld(),
+            location.getX(),
+            location.getY(),
+            location.getZ()
+        )) {
             if (zone.getBounds().contains(location)) {
                 containingZones.add(zone);
             }
@@ -159,19 +559,117 @@ public class ZoneManager {
         return containingZones;
     }
 
-    public List<Zone> getEnabledZones() {
-        List<Zone> enabledZones = new ArrayList<>();
-        for (Zone zone : zones.values()) {
-            if (zone.isEnabled()) {
-                enabledZones.add(zone);
+    /**
+     * Get the zones whose chunks overlap the bounding box of an entity.
+     * This is a candidate list for containment checks, not an exact result.
+     *
+     * @param entity The entity to look up
+     * @return The zones registered around the entity
+     */
+    public List<Zone> getZonesNear(Entity entity) {
+        return getZonesNear(entity, 0);
+    }
+
+    /**
+     * Get the zones whose chunks overlap the bounding box of an entity
+     * inflated by the given distance on every side
+     *
+     * @param entity The entity to look up
+     * @param distance Extra distance in blocks around the entity
+     * @return The zones registered around the entity
+     */
+    public List<Zone> getZonesNear(Entity entity, double distance) {
+        BoundingBox box = entity.getBoundingBox();
+        return snapshot.get().getIndex().queryBox(
+            entity.getWorld(),
+            box.getMinX() - distance,
+            box.getMinY() - distance,
+            box.getMinZ() - distance,
+            box.getMaxX() + distance,
+            box.getMaxY() + distance,
+            box.getMaxZ() + distance
+        );
+    }
+
+    /**
+     * Get the zones closest to a location, ordered by distance to their
+     * bounds
+     *
+     * @param location The location to search around
+     * @param count Maximum number of zones to return
+     * @return The nearest zones in the location's world, closest first
+     */
+    public List<Zone> getNearestZones(Location location, int count) {
+        if (location == null) {
+            return new ArrayList<>();
+        }
+
+        return new ArrayList<>(
+            snapshot.get().getIndex().nearest(
+                location.getWorld(),
+                location.getX(),
+                location.getY(),
+                location.getZ(),
+                count
+            )
+        );
+    }
+
+    /**
+     * Check whether an entity is within a distance of any enabled zone that
+     * destroys items. The check runs over the snapshot's array of such zones
+     * in the entity's world and their cached inflated bounds, so it does not
+     * allocate.
+     *
+     * @param entity The entity to check, usually a dropped item
+     * @param distance Distance in blocks around the zones
+     * @return true when the entity overlaps an inflated zone
+     */
+    public boolean isNearDestroyItemZone(Entity entity, int distance) {
+        Location location = entity.getLocation(scratchLocation.get());
+        World world = location.getWorld();
+        Zone[] candidates = snapshot
+            .get()
+            .getWorldZones(world)
+            .getDestroyingItems();
+        if (candidates.length == 0) {
+            return false;
+        }
+
+        double halfWidth = entity.getWidth() / 2;
+        double height = entity.getHeight();
+
+        double minX = location.getX() - halfWidth;
+        double minY = location.getY();
+        double minZ = location.getZ() - halfWidth;
+        double maxX = location.getX() + halfWidth;
+        double maxY = location.getY() + height;
+        double maxZ = location.getZ() + halfWidth;
+
+        for (Zone zone : candidates) {
+            if (
+                zone
+                    .getInterestBounds(distance)
+                    .overlaps(world, minX, minY, minZ, maxX, maxY, maxZ)
+            ) {
+                return true;
             }
         }
-        return enabledZones;
+        return false;
+    }
+
+    /**
+     * @return The enabled zones, unmodifiable
+     */
+    public List<Zone> getEnabledZones() {
+        return Collections.unmodifiableList(
+            Arrays.asList(snapshot.get().getEnabledZones())
+        );
     }
 
     public List<Zone> getZonesInWorld(World world) {
         List<Zone> worldZones = new ArrayList<>();
-        for (Zone zone : zones.values()) {
+        for (Zone zone : snapshot.get().getZoneArray()) {
             if (zone.getWorld() != null && zone.getWorld().equals(world)) {
                 worldZones.add(zone);
             }
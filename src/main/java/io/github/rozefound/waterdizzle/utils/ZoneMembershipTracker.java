@@ -0,0 +1,256 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.events.ZoneEnterEvent;
+import io.github.rozefound.waterdizzle.events.ZoneLeaveEvent;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.HandlerList;
+
+/**
+ * Keeps track of the zones every entity currently occupies. Zone logic only
+ * runs when the block span covered by an entity changes or when the zone set
+ * was modified since the last evaluation; every other move costs a handful of
+ * integer compares. Each membership is only ever updated from the thread
+ * owning its entity, the map itself is shared between region threads.
+ *
+ * <p>While nothing listens to zone enter and leave events, only zones able to
+ * damage or destroy an entity are considered for it, and entities no zone of
+ * their world can affect are not evaluated at all. The kind of an entity is
+ * looked up once per evaluation as a mask of {@link EntityCategory} bits.
+ */
+public class ZoneMembershipTracker {
+
+    private final WaterDizzle plugin;
+    private final Map<UUID, Membership> memberships =
+        new ConcurrentHashMap<>();
+    private final LongAdder skippedEntities = new LongAdder();
+    private final LongAdder skippedZoneChecks = new LongAdder();
+
+    public ZoneMembershipTracker(WaterDizzle plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Re-evaluate the zones around an entity if it moved to another block or
+     * the zones changed, firing enter and leave events for every transition
+     *
+     * @param entity The entity that moved
+     * @param taskDelay Delay in ticks before the first damage tick
+     */
+    public void update(Entity entity, long taskDelay) {
+        ZoneManager zoneManager = plugin.getZoneManager();
+        UUID entityId = entity.getUniqueId();
+        Membership membership = memberships.get(entityId);
+
+        World world = entity.getWorld();
+        int kinds = EntityCategory.kindsOf(entity);
+        ZoneSnapshot.WorldZones worldZones = zoneManager
+            .getSnapshot()
+            .getWorldZones(world);
+        boolean observed =
+            worldZones.getEnabled().length > 0 && isZoneEventObserved();
+        if (
+            membership == null &&
+            !observed &&
+            worldZones.getAffecting(kinds).length == 0
+        ) {
+            skippedEntities.increment();
+            return;
+        }
+
+        UUID worldId = world.getUID();
+        double x = entity.getX();
+        double y = entity.getY();
+        double z = entity.getZ();
+        double halfWidth = entity.getWidth() / 2;
+        int minX = (int) Math.floor(x - halfWidth);
+        int minY = (int) Math.floor(y);
+        int minZ = (int) Math.floor(z - halfWidth);
+        int maxX = (int) Math.floor(x + halfWidth);
+        int maxY = (int) Math.floor(y + entity.getHeight());
+        int maxZ = (int) Math.floor(z + halfWidth);
+
+        if (
+            membership != null &&
+            membership.version == zoneManager.getVersion() &&
+            membership.worldId.equals(worldId) &&
+            membership.minX == minX &&
+            membership.minY == minY &&
+            membership.minZ == minZ &&
+            membership.maxX == maxX &&
+            membership.maxY == maxY &&
+            membership.maxZ == maxZ
+        ) {
+            return;
+        }
+
+        Set<Zone> previous = membership != null
+            ? membership.zones
+            : Collections.emptySet();
+        Set<Zone> current = new HashSet<>();
+
+        int skipped = 0;
+        for (Zone zone : zoneManager.getZonesNear(entity)) {
+            if (!zone.isEnabled()) {
+                continue;
+            }
+            if (!observed && !zone.canAffect(kinds)) {
+                skipped++;
+                continue;
+            }
+            if (zone.getBounds().containsEntity(entity)) {
+                current.add(zone);
+            }
+        }
+        if (skipped > 0) {
+            skippedZoneChecks.add(skipped);
+        }
+
+        for (Zone zone : previous) {
+            if (!current.contains(zone)) {
+                plugin
+                    .getServer()
+                    .getPluginManager()
+                    .callEvent(new ZoneLeaveEvent(zone, entity));
+            }
+        }
+
+        for (Zone zone : current) {
+            if (!previous.contains(zone)) {
+                plugin
+                    .getServer()
+                    .getPluginManager()
+                    .callEvent(new ZoneEnterEvent(zone, entity));
+            }
+            zone.startDamageTaskForEntity(entity, taskDelay);
+        }
+
+        if (current.isEmpty()) {
+            memberships.remove(entityId);
+            return;
+        }
+
+        if (membership == null) {
+            membership = new Membership();
+            memberships.put(entityId, membership);
+        }
+
+        membership.version = zoneManager.getVersion();
+        membership.worldId = worldId;
+        membership.minX = minX;
+        membership.minY = minY;
+        membership.minZ = minZ;
+        membership.maxX = maxX;
+        membership.maxY = maxY;
+        membership.maxZ = maxZ;
+        membership.zones = current;
+    }
+
+    private static boolean isZoneEventObserved() {
+        return (
+            hasListeners(ZoneEnterEvent.getHandlerList()) ||
+            hasListeners(ZoneLeaveEvent.getHandlerList())
+        );
+    }
+
+    private static boolean hasListeners(HandlerList handlers) {
+        return handlers.getRegisteredListeners().length > 0;
+    }
+
+    /**
+     * Drop the membership of an entity that died, quit or was removed, firing
+     * leave events for the zones it was in and cancelling its damage ticks
+     *
+     * @param entity The entity to forget
+     */
+    public void forget(Entity entity) {
+        UUID entityId = entity.getUniqueId();
+        Membership membership = memberships.remove(entityId);
+        if (membership == null) {
+            return;
+        }
+
+        for (Zone zone : membership.zones) {
+            zone.releaseEntity(entityId);
+            plugin
+                .getServer()
+                .getPluginManager()
+                .callEvent(new ZoneLeaveEvent(zone, entity));
+        }
+    }
+
+    /**
+     * Get the zones an entity was in at its last evaluation
+     *
+     * @param entity The entity to look up
+     * @return The occupied zones, empty when the entity is in no zone
+     */
+    public Set<Zone> getZones(Entity entity) {
+        Membership membership = memberships.get(entity.getUniqueId());
+        return membership != null
+            ? Collections.unmodifiableSet(membership.zones)
+            : Collections.emptySet();
+    }
+
+    public int getTrackedCount() {
+        return memberships.size();
+    }
+
+    /**
+     * @return How many evaluations were skipped because no zone of the
+     *     entity's world can affect its kind
+     */
+    public long getSkippedEntityCount() {
+        return skippedEntities.sum();
+    }
+
+    /**
+     * @return How many nearby zones were rejected by entity kind before
+     *     their bounds were checked
+     */
+    public long getSkippedZoneCheckCount() {
+        return skippedZoneChecks.sum();
+    }
+
+    /**
+     * Count the entities inside every occupied zone
+     *
+     * @return The number of tracked entities by zone
+     */
+    public Map<Zone, Integer> getTrackedCountByZone() {
+        Map<Zone, Integer> counts = new HashMap<>();
+        for (Membership membership : memberships.values()) {
+            for (Zone zone : membership.zones) {
+                counts.merge(zone, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    public void clear() {
+        memberships.clear();
+    }
+
+    private static final class Membership {
+
+        private long version;
+        private UUID worldId;
+        private int minX;
+        private int minY;
+        private int minZ;
+        private int maxX;
+        private int maxY;
+        private int maxZ;
+        private Set<Zone> zones;
+    }
+}
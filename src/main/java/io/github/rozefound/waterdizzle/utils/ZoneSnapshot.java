@@ -0,0 +1,291 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.index.ChunkZoneIndex;
+import io.github.rozefound.waterdizzle.index.ZoneIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+/**
+ * Immutable view of the registered zones. The {@link ZoneManager} builds a
+ * new snapshot on every change and publishes it through an atomic reference,
+ * so readers on any thread see a consistent zone set and iterate pre-built
+ * arrays without locking or allocating. The spatial index of the zones and
+ * the zone set version are part of the snapshot, neither changes after the
+ * snapshot was published.
+ *
+ * <p>Zones are also grouped per world into views of the zones able to
+ * affect each kind of entity. A change to a single zone only rebuilds the
+ * views of its world.
+ */
+public final class ZoneSnapshot {
+
+    private static final Zone[] NO_ZONES = new Zone[0];
+
+    static final ZoneSnapshot EMPTY = new ZoneSnapshot(
+        new HashMap<>(),
+        new ChunkZoneIndex(),
+        0
+    );
+
+    private final Map<String, Zone> zones;
+    private final Map<String, Zone> zonesView;
+    private final Zone[] zoneArray;
+    private final List<Zone> zoneList;
+    private final ZoneIndex index;
+    private final Map<UUID, WorldZones> worlds;
+    private final long version;
+
+    // Built on first use, snapshots refreshed by zone edits rarely need it
+    private volatile Zone[] enabledZones;
+
+    /**
+     * @param zones The zones by name, owned by the snapshot afterwards
+     * @param index The spatial index of the zones, owned by the snapshot
+     *     afterwards
+     * @param version The zone set version the snapshot belongs to
+     */
+    ZoneSnapshot(Map<String, Zone> zones, ZoneIndex index, long version) {
+        this.zones = zones;
+        this.index = index;
+        this.zonesView = Collections.unmodifiableMap(zones);
+        this.zoneArray = zones.values().toArray(NO_ZONES);
+        this.zoneList = Collections.unmodifiableList(Arrays.asList(zoneArray));
+        this.version = version;
+
+        Map<UUID, List<Zone>> byWorld = new HashMap<>();
+        for (Zone zone : zoneArray) {
+            World world = zone.getWorld();
+            if (world != null) {
+                byWorld
+                    .computeIfAbsent(world.getUID(), key -> new ArrayList<>())
+                    .add(zone);
+            }
+        }
+
+        this.worlds = new HashMap<>();
+        for (Map.Entry<UUID, List<Zone>> entry : byWorld.entrySet()) {
+            worlds.put(entry.getKey(), new WorldZones(entry.getValue()));
+        }
+    }
+
+    private ZoneSnapshot(
+        ZoneSnapshot previous,
+        Map<UUID, WorldZones> worlds,
+        long version
+    ) {
+        this.zones = previous.zones;
+        this.zonesView = previous.zonesView;
+        this.zoneArray = previous.zoneArray;
+        this.zoneList = previous.zoneList;
+        this.index = previous.index;
+        this.worlds = worlds;
+        this.version = version;
+    }
+
+    /**
+     * Build a snapshot of the same zones after one zone changed its
+     * behaviour, only the views of the zone's world are rebuilt
+     *
+     * @param zone The changed zone
+     * @param version The new zone set version
+     * @return The rebuilt snapshot
+     */
+    ZoneSnapshot refresh(Zone zone, long version) {
+        World world = zone.getWorld();
+        if (world == null) {
+            return new ZoneSnapshot(this, worlds, version);
+        }
+
+        UUID worldId = world.getUID();
+        List<Zone> worldZones = new ArrayList<>();
+        WorldZones previous = worlds.get(worldId);
+        if (previous != null) {
+            worldZones.addAll(Arrays.asList(previous.zones));
+        }
+        if (!worldZones.contains(zone)) {
+            worldZones.add(zone);
+        }
+
+        Map<UUID, WorldZones> refreshed = new HashMap<>(worlds);
+        refreshed.put(worldId, new WorldZones(worldZones));
+        return new ZoneSnapshot(this, refreshed, version);
+    }
+
+    /**
+     * @return A modifiable copy of the zones by name
+     */
+    Map<String, Zone> copyZones() {
+        return new HashMap<>(zones);
+    }
+
+    public Zone getZone(String name) {
+        return zones.get(name);
+    }
+
+    public boolean hasZone(String name) {
+        return zones.containsKey(name);
+    }
+
+    public Set<String> getZoneNames() {
+        return zonesView.keySet();
+    }
+
+    public int size() {
+        return zoneArray.length;
+    }
+
+    /**
+     * @return Every zone, unmodifiable
+     */
+    public List<Zone> getZones() {
+        return zoneList;
+    }
+
+    /**
+     * @return Every zone, shared between readers and must not be modified
+     */
+    public Zone[] getZoneArray() {
+        return zoneArray;
+    }
+
+    /**
+     * @return The spatial index of the zones, shared between readers and
+     *     only to be queried
+     */
+    public ZoneIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The enabled zones, shared between readers and must not be
+     *     modified
+     */
+    public Zone[] getEnabledZones() {
+        Zone[] enabled = enabledZones;
+        if (enabled == null) {
+            List<Zone> found = new ArrayList<>(zoneArray.length);
+            for (WorldZones world : worlds.values()) {
+                found.addAll(Arrays.asList(world.enabled));
+            }
+            for (Zone zone : zoneArray) {
+                if (zone.getWorld() == null && zone.isEnabled()) {
+                    found.add(zone);
+                }
+            }
+            enabled = found.toArray(NO_ZONES);
+            enabledZones = enabled;
+        }
+        return enabled;
+    }
+
+    /**
+     * Get the views of the zones in a world
+     *
+     * @param world The world to look up
+     * @return The zones of the world, empty views when it has none
+     */
+    public WorldZones getWorldZones(World world) {
+        WorldZones worldZones = worlds.get(world.getUID());
+        return worldZones != null ? worldZones : WorldZones.EMPTY;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * The zones of one world, split by what they can affect. Every array
+     * only holds enabled zones, is shared between readers and must not be
+     * modified.
+     *
+     * <p>The zones affecting each kinds mask are resolved up front, so an
+     * entity of several kinds, like a hoglin, gets the union of the zones
+     * affecting any of its kinds with one array read.
+     */
+    public static final class WorldZones {
+
+        static final WorldZones EMPTY = new WorldZones(List.of());
+
+        private final Zone[] zones;
+        private final Zone[] enabled;
+        private final Zone[][] affecting;
+
+        private WorldZones(List<Zone> worldZones) {
+            List<Zone> enabled = new ArrayList<>();
+            for (Zone zone : worldZones) {
+                if (zone.isEnabled()) {
+                    enabled.add(zone);
+                }
+            }
+
+            int[] zoneKinds = new int[enabled.size()];
+            for (int i = 0; i < zoneKinds.length; i++) {
+                zoneKinds[i] = enabled.get(i).getAffectedKinds();
+            }
+
+            this.affecting = new Zone[EntityCategory.ALL + 1][];
+            List<Zone> found = new ArrayList<>();
+            for (int kinds = 0; kinds <= EntityCategory.ALL; kinds++) {
+                found.clear();
+                for (int i = 0; i < zoneKinds.length; i++) {
+                    if ((zoneKinds[i] & kinds) != 0) {
+                        found.add(enabled.get(i));
+                    }
+                }
+                affecting[kinds] = found.toArray(NO_ZONES);
+            }
+
+            this.zones = worldZones.toArray(NO_ZONES);
+            this.enabled = enabled.toArray(NO_ZONES);
+        }
+
+        public Zone[] getEnabled() {
+            return enabled;
+        }
+
+        public Zone[] getDamagingPlayers() {
+            return affecting[EntityCategory.PLAYER.mask()];
+        }
+
+        public Zone[] getDamagingAnimals() {
+            return affecting[EntityCategory.ANIMAL.mask()];
+        }
+
+        public Zone[] getDamagingEnemies() {
+            return affecting[EntityCategory.ENEMY.mask()];
+        }
+
+        public Zone[] getDestroyingItems() {
+            return affecting[EntityCategory.ITEM.mask()];
+        }
+
+        /**
+         * Get the zones able to damage or destroy an entity
+         *
+         * @param entity The entity to look up
+         * @return The zones affecting any kind of the entity
+         */
+        public Zone[] getAffecting(Entity entity) {
+            return getAffecting(EntityCategory.kindsOf(entity));
+        }
+
+        /**
+         * Get the zones able to damage or destroy entities of the given kinds
+         *
+         * @param kinds A mask of {@link EntityCategory} bits
+         * @return The zones affecting any of the kinds
+         */
+        public Zone[] getAffecting(int kinds) {
+            return affecting[kinds];
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package io.github.rozefound.waterdizzle.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import java.io.IOException;
+import java.util.List;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChunkZoneIndexTest {
+
+    private static StandInPlugin plugin;
+    private static World world;
+    private static World nether;
+
+    private ChunkZoneIndex index;
+
+    @BeforeAll
+    static void createPlugin() throws IOException {
+        world = StandIns.world("world");
+        nether = StandIns.world("world_nether");
+        plugin = StandInPlugin.create();
+    }
+
+    @AfterAll
+    static void closePlugin() throws IOException {
+        plugin.close();
+    }
+
+    @BeforeEach
+    void createIndex() {
+        index = new ChunkZoneIndex();
+    }
+
+    @Test
+    void pointQueryFindsZonesOfTheChunk() {
+        Zone spawn = StandIns.zone(plugin, "spawn", world, 0, 0);
+        Zone east = StandIns.zone(plugin, "east", world, 32, 0);
+        index.insert(spawn);
+        index.insert(east);
+
+        assertEquals(List.of(spawn), index.queryPoint(world, 8, 62, 8));
+        assertEquals(List.of(east), index.queryPoint(world, 40, 62, 8));
+        assertEquals(List.of(), index.queryPoint(world, 24, 62, 8));
+    }
+
+    @Test
+    void singleChunkResultsCannotBeModified() {
+        Zone spawn = StandIns.zone(plugin, "spawn", world, 0, 0);
+        index.insert(spawn);
+
+        List<Zone> found = index.queryPoint(world, 8, 62, 8);
+        assertThrows(UnsupportedOperationException.class, found::clear);
+        assertEquals(List.of(spawn), index.queryPoint(world, 8, 62, 8));
+    }
+
+    @Test
+    void singleChunkQueriesShareTheStoredList() {
+        index.insert(StandIns.zone(plugin, "spawn", world, 0, 0));
+
+        assertSame(
+            index.queryPoint(world, 8, 62, 8),
+            index.queryBox(world, 2, 60, 2, 12, 64, 12)
+        );
+    }
+
+    @Test
+    void multiChunkQueriesListOverlappingZonesOnce() {
+        Zone wide = new Zone(
+            plugin,
+            "wide",
+            new Location(world, 0, 60, 0),
+            new Location(world, 47, 64, 47)
+        );
+        Zone overlapping = new Zone(
+            plugin,
+            "overlapping",
+            new Location(world, 16, 60, 16),
+            new Location(world, 47, 64, 47)
+        );
+        Zone corner = StandIns.zone(plugin, "corner", world, 32, 32);
+        index.insert(wide);
+        index.insert(overlapping);
+        index.insert(corner);
+
+        assertEquals(List.of(wide), index.queryBox(world, 4, 60, 4, 20, 64, 8));
+        assertEquals(
+            List.of(wide, overlapping, corner),
+            index.queryBox(world, 8, 60, 8, 40, 64, 40)
+        );
+    }
+
+    @Test
+    void queriesStayInTheirWorld() {
+        Zone overworld = StandIns.zone(plugin, "overworld", world, 0, 0);
+        Zone underworld = StandIns.zone(plugin, "underworld", nether, 0, 0);
+        index.insert(overworld);
+        index.insert(underworld);
+
+        assertEquals(List.of(overworld), index.queryPoint(world, 8, 62, 8));
+        assertEquals(List.of(underworld), index.queryPoint(nether, 8, 62, 8));
+        assertEquals(List.of(), index.queryPoint(null, 8, 62, 8));
+    }
+
+    @Test
+    void boxQueryReturnsEveryZoneOnce() {
+        Zone wide = new Zone(
+            plugin,
+            "wide",
+            new Location(world, 0, 60, 0),
+            new Location(world, 47, 64, 15)
+        );
+        Zone small = StandIns.zone(plugin, "small", world, 16, 0);
+        index.insert(wide);
+        index.insert(small);
+
+        List<Zone> found = index.queryBox(world, 0, 60, 0, 47, 64, 15);
+        assertEquals(2, found.size());
+        assertTrue(found.containsAll(List.of(wide, small)));
+    }
+
+    @Test
+    void removedZonesAreNotFound() {
+        Zone wide = new Zone(
+            plugin,
+            "wide",
+            new Location(world, 0, 60, 0),
+            new Location(world, 47, 64, 47)
+        );
+        index.insert(wide);
+        index.remove(wide);
+
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.queryBox(world, 0, 60, 0, 47, 64, 47));
+    }
+
+    @Test
+    void reinsertingMovesTheZone() {
+        Zone zone = StandIns.zone(plugin, "moving", world, 0, 0);
+        index.insert(zone);
+
+        zone.setAnchors(
+            new Location[] {
+                new Location(world, 64, 60, 64),
+                new Location(world, 79, 64, 79),
+            }
+        );
+        index.insert(zone);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), index.queryPoint(world, 8, 62, 8));
+        assertEquals(List.of(zone), index.queryPoint(world, 70, 62, 70));
+    }
+
+    @Test
+    void copiesDoNotSeeEachOthersEdits() {
+        Zone wide = new Zone(
+            plugin,
+            "wide",
+            new Location(world, 0, 60, 0),
+            new Location(world, 1023, 64, 15)
+        );
+        Zone spawn = StandIns.zone(plugin, "spawn", world, 0, 0);
+        index.bulkLoad(List.of(wide, spawn));
+
+        ChunkZoneIndex copy = index.copy();
+        copy.remove(spawn);
+        Zone east = StandIns.zone(plugin, "east", world, 512, 0);
+        copy.insert(east);
+        index.insert(StandIns.zone(plugin, "west", world, -64, 0));
+
+        assertEquals(List.of(wide, spawn), index.queryPoint(world, 8, 62, 8));
+        assertEquals(List.of(wide), index.queryPoint(world, 520, 62, 8));
+        assertEquals(List.of(wide), copy.queryPoint(world, 8, 62, 8));
+        assertEquals(List.of(wide, east), copy.queryPoint(world, 520, 62, 8));
+        assertEquals(List.of(), copy.queryPoint(world, -56, 62, 8));
+        assertEquals(3, index.size());
+        assertEquals(2, copy.size());
+    }
+
+    @Test
+    void nearestIsOrderedByDistance() {
+        Zone near = StandIns.zone(plugin, "near", world, 32, 0);
+        Zone far = StandIns.zone(plugin, "far", world, 128, 0);
+        Zone farther = StandIns.zone(plugin, "farther", world, 256, 0);
+        index.insert(farther);
+        index.insert(near);
+        index.insert(far);
+
+        assertEquals(List.of(near, far), index.nearest(world, 0, 62, 8, 2));
+    }
+}
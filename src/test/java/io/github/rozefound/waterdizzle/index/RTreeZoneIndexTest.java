@@ -0,0 +1,221 @@
+package io.github.rozefound.waterdizzle.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import io.github.rozefound.waterdizzle.utils.Bounds;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class RTreeZoneIndexTest {
+
+    private static StandInPlugin plugin;
+    private static World world;
+    private static List<Zone> zones;
+
+    @BeforeAll
+    static void createZones() throws IOException {
+        world = StandIns.world("world");
+        plugin = StandInPlugin.create();
+
+        // Enough zones for several tree levels, many of them overlapping
+        Random random = new Random(42);
+        zones = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            int x = random.nextInt(2048) - 1024;
+            int y = random.nextInt(64);
+            int z = random.nextInt(2048) - 1024;
+            zones.add(
+                new Zone(
+                    plugin,
+                    "zone_" + i,
+                    new Location(world, x, y, z),
+                    new Location(
+                        world,
+                        x + random.nextInt(96),
+                        y + random.nextInt(16),
+                        z + random.nextInt(96)
+                    )
+                )
+            );
+        }
+    }
+
+    @AfterAll
+    static void closePlugin() throws IOException {
+        plugin.close();
+    }
+
+    @Test
+    void bulkLoadedAndInsertedTreesAgreeWithAScan() {
+        RTreeZoneIndex bulk = new RTreeZoneIndex();
+        bulk.bulkLoad(zones);
+        RTreeZoneIndex inserted = new RTreeZoneIndex();
+        zones.forEach(inserted::insert);
+
+        assertEquals(zones.size(), bulk.size());
+        assertEquals(zones.size(), inserted.size());
+
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            double x = random.nextInt(2304) - 1152;
+            double y = random.nextInt(96);
+            double z = random.nextInt(2304) - 1152;
+            double size = random.nextInt(64);
+
+            Set<Zone> expected = scan(x, y, z, x + size, y + size, z + size);
+            assertEquals(
+                expected,
+                new HashSet<>(
+                    bulk.queryBox(world, x, y, z, x + size, y + size, z + size)
+                )
+            );
+            assertEquals(
+                expected,
+                new HashSet<>(
+                    inserted.queryBox(
+                        world,
+                        x,
+                        y,
+                        z,
+                        x + size,
+                        y + size,
+                        z + size
+                    )
+                )
+            );
+        }
+    }
+
+    @Test
+    void removedZonesAreNotFound() {
+        RTreeZoneIndex index = new RTreeZoneIndex();
+        index.bulkLoad(zones);
+
+        // Removing most zones collapses nodes and reinserts their orphans
+        List<Zone> kept = new ArrayList<>();
+        for (int i = 0; i < zones.size(); i++) {
+            if (i % 10 == 0) {
+                kept.add(zones.get(i));
+            } else {
+                index.remove(zones.get(i));
+            }
+        }
+
+        assertEquals(kept.size(), index.size());
+        assertEquals(
+            new HashSet<>(kept),
+            new HashSet<>(
+                index.queryBox(world, -2048, -64, -2048, 2048, 320, 2048)
+            )
+        );
+    }
+
+    @Test
+    void copiesDoNotSeeEachOthersEdits() {
+        RTreeZoneIndex index = new RTreeZoneIndex();
+        index.bulkLoad(zones);
+
+        // The copy removes half the zones and moves none, the original
+        // gets one more zone, neither sees the other's edits
+        RTreeZoneIndex copy = index.copy();
+        List<Zone> kept = new ArrayList<>();
+        for (int i = 0; i < zones.size(); i++) {
+            if (i % 2 == 0) {
+                kept.add(zones.get(i));
+            } else {
+                copy.remove(zones.get(i));
+            }
+        }
+        Zone added = StandIns.zone(plugin, "added", world, 0, 0);
+        index.insert(added);
+
+        List<Zone> all = new ArrayList<>(zones);
+        all.add(added);
+        assertEquals(
+            new HashSet<>(all),
+            new HashSet<>(
+                index.queryBox(world, -2048, -64, -2048, 2048, 320, 2048)
+            )
+        );
+        assertEquals(
+            new HashSet<>(kept),
+            new HashSet<>(
+                copy.queryBox(world, -2048, -64, -2048, 2048, 320, 2048)
+            )
+        );
+        assertEquals(all.size(), index.size());
+        assertEquals(kept.size(), copy.size());
+    }
+
+    @Test
+    void nearestIsOrderedByDistance() {
+        RTreeZoneIndex index = new RTreeZoneIndex();
+        index.bulkLoad(zones);
+
+        List<Zone> sorted = new ArrayList<>(zones);
+        sorted.sort((a, b) ->
+            Double.compare(distanceSquared(a), distanceSquared(b))
+        );
+
+        List<Zone> nearest = index.nearest(world, 0, 32, 0, 5);
+        assertEquals(5, nearest.size());
+        for (int i = 0; i < nearest.size(); i++) {
+            assertEquals(
+                distanceSquared(sorted.get(i)),
+                distanceSquared(nearest.get(i))
+            );
+        }
+    }
+
+    private static Set<Zone> scan(
+        double minX,
+        double minY,
+        double minZ,
+        double maxX,
+        double maxY,
+        double maxZ
+    ) {
+        Set<Zone> found = new HashSet<>();
+        for (Zone zone : zones) {
+            Bounds bounds = zone.getBounds();
+            if (
+                bounds.getMinX() <= maxX &&
+                bounds.getMaxX() >= minX &&
+                bounds.getMinY() <= maxY &&
+                bounds.getMaxY() >= minY &&
+                bounds.getMinZ() <= maxZ &&
+                bounds.getMaxZ() >= minZ
+            ) {
+                found.add(zone);
+            }
+        }
+        return found;
+    }
+
+    private static double distanceSquared(Zone zone) {
+        Bounds bounds = zone.getBounds();
+        return ZoneIndex.distanceSquared(
+            0,
+            32,
+            0,
+            bounds.getMinX(),
+            bounds.getMinY(),
+            bounds.getMinZ(),
+            bounds.getMaxX(),
+            bounds.getMaxY(),
+            bounds.getMaxZ()
+        );
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.rozefound.waterdizzle.listeners;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandInTerrain;
+import io.github.rozefound.waterdizzle.utils.BlockMaterialCache;
+import java.io.IOException;
+import java.util.List;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockIgniteEvent;
+import org.bukkit.event.block.BlockPhysicsEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.CauldronLevelChangeEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BlockChangeListenerTest {
+
+    private StandInPlugin plugin;
+    private StandInTerrain terrain;
+    private World world;
+    private BlockMaterialCache cache;
+    private BlockChangeListener listener;
+
+    @BeforeEach
+    void createListener() throws IOException {
+        plugin = StandInPlugin.create();
+        terrain = new StandInTerrain("changing");
+        world = terrain.world();
+        cache = plugin.getBlockMaterialCache();
+        listener = new BlockChangeListener(plugin);
+    }
+
+    @AfterEach
+    void closePlugin() throws IOException {
+        plugin.close();
+    }
+
+    @Test
+    void brokenBlocksAreReadAgain() {
+        Block block = change(3, 62, 5, Material.AIR);
+
+        listener.onBlockBreak(new BlockBreakEvent(block, null));
+
+        assertEquals(Material.AIR, cached(3, 62, 5));
+    }
+
+    @Test
+    void flowingFluidsInvalidateBothBlocks() {
+        Block from = change(3, 62, 5, Material.WATER);
+        Block to = change(4, 62, 5, Material.WATER);
+
+        listener.onBlockFromTo(new BlockFromToEvent(from, to));
+
+        assertEquals(Material.WATER, cached(3, 62, 5));
+        assertEquals(Material.WATER, cached(4, 62, 5));
+    }
+
+    @Test
+    void physicsInvalidatesTheSourceBlock() {
+        Block block = change(3, 62, 5, Material.SAND);
+        Block source = change(3, 61, 5, Material.AIR);
+
+        listener.onBlockPhysics(
+            new BlockPhysicsEvent(block, block.getBlockData(), source)
+        );
+
+        assertEquals(Material.SAND, cached(3, 62, 5));
+        assertEquals(Material.AIR, cached(3, 61, 5));
+    }
+
+    @Test
+    void pistonsInvalidateTheMovedBlocksAndTheirTargets() {
+        Block piston = terrain.block(0, 62, 5);
+        Block pushed = change(1, 62, 5, Material.PISTON_HEAD);
+        change(2, 62, 5, Material.SLIME_BLOCK);
+        change(3, 62, 5, Material.AIR);
+
+        listener.onPistonExtend(
+            new BlockPistonExtendEvent(piston, List.of(pushed), BlockFace.EAST)
+        );
+
+        assertEquals(Material.PISTON_HEAD, cached(1, 62, 5));
+        assertEquals(Material.SLIME_BLOCK, cached(2, 62, 5));
+        // Past the moved blocks nothing was invalidated
+        assertEquals(Material.STONE, cached(3, 62, 5));
+    }
+
+    @Test
+    void fireAndCauldronsAreReadAgain() {
+        Block fire = change(3, 64, 5, Material.FIRE);
+        Block cauldron = change(4, 64, 5, Material.WATER_CAULDRON);
+
+        listener.onBlockIgnite(
+            new BlockIgniteEvent(
+                fire,
+                BlockIgniteEvent.IgniteCause.LAVA,
+                (Block) null
+            )
+        );
+        listener.onCauldronLevelChange(
+            new CauldronLevelChangeEvent(
+                cauldron,
+                null,
+                CauldronLevelChangeEvent.ChangeReason.BUCKET_EMPTY,
+                null
+            )
+        );
+
+        assertEquals(Material.FIRE, cached(3, 64, 5));
+        assertEquals(Material.WATER_CAULDRON, cached(4, 64, 5));
+    }
+
+    @Test
+    void unloadedChunksAreReadAgain() {
+        change(3, 62, 5, Material.AIR);
+        change(20, 62, 5, Material.AIR);
+
+        listener.onChunkUnload(new ChunkUnloadEvent(terrain.chunk(0, 0)));
+
+        assertEquals(Material.AIR, cached(3, 62, 5));
+        assertEquals(Material.STONE, cached(20, 62, 5));
+    }
+
+    /**
+     * Cache a block, then change it without telling the cache
+     */
+    private Block change(int x, int y, int z, Material material) {
+        cached(x, y, z);
+        terrain.setType(x, y, z, material);
+        return terrain.block(x, y, z);
+    }
+
+    private Material cached(int x, int y, int z) {
+        return cache.getMaterial(world, x, y, z);
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.rozefound.waterdizzle.listeners;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.rozefound.waterdizzle.testing.StandInEntity;
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import io.github.rozefound.waterdizzle.utils.ZoneMembershipTracker;
+import io.papermc.paper.event.entity.EntityMoveEvent;
+import java.io.IOException;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Moves that keep every block an entity touches must not reach the
+ * membership tracker. The world has no zones, so every move the filter lets
+ * through is counted by the tracker as a skipped entity.
+ */
+class WaterDizzleListenerTest {
+
+    private StandInPlugin plugin;
+    private World world;
+    private ZoneMembershipTracker tracker;
+    private WaterDizzleListener listener;
+    private LivingEntity entity;
+
+    @BeforeEach
+    void createListener() throws IOException {
+        world = StandIns.world("moving");
+        plugin = StandInPlugin.create();
+        tracker = plugin.getMembershipTracker();
+        listener = new WaterDizzleListener(plugin);
+        entity = new StandInEntity(EntityType.ZOMBIE, 0.6, 1.95)
+            .moveTo(world, 8, 63, 8)
+            .get();
+    }
+
+    @AfterEach
+    void closePlugin() throws IOException {
+        plugin.close();
+    }
+
+    @Test
+    void rotationsAreFiltered() {
+        move(
+            new Location(world, 8, 63, 8, 0, 0),
+            new Location(world, 8, 63, 8, 90, 30)
+        );
+
+        assertFiltered(1, 1);
+    }
+
+    @Test
+    void movesWithinTheBlockSpanAreFiltered() {
+        // The box keeps touching blocks 7 to 8 across and 63 to 64 upwards
+        move(at(8, 63, 8), at(8.1, 63.02, 7.9));
+
+        assertFiltered(1, 1);
+    }
+
+    @Test
+    void movesAcrossABlockEdgeAreHandled() {
+        // Only the low x edge of the box crosses into the next block
+        move(at(8, 63, 8), at(8.5, 63, 8));
+        // Only the head reaches the next block
+        move(at(8, 63, 8), at(8, 63.1, 8));
+
+        assertFiltered(2, 0);
+    }
+
+    @Test
+    void worldChangesAreHandled() {
+        move(at(8, 63, 8), new Location(StandIns.world("other"), 8, 63, 8));
+
+        assertFiltered(1, 0);
+    }
+
+    @Test
+    void disabledFilterHandlesEveryMove() {
+        plugin.getConfig().set("move_event_filter", false);
+        listener.reloadSettings();
+        assertFalse(listener.isMoveFilterEnabled());
+
+        move(at(8, 63, 8), at(8, 63, 8));
+
+        assertFiltered(1, 0);
+    }
+
+    @Test
+    void filterIsEnabledByDefault() {
+        assertTrue(listener.isMoveFilterEnabled());
+    }
+
+    private void move(Location from, Location to) {
+        listener.onEntityMoveEvent(new EntityMoveEvent(entity, from, to));
+    }
+
+    private Location at(double x, double y, double z) {
+        return new Location(world, x, y, z);
+    }
+
+    private void assertFiltered(long moves, long filtered) {
+        assertEquals(moves, listener.getMoveEventCount());
+        assertEquals(filtered, listener.getFilteredMoveEventCount());
+        // Every move let through was evaluated by the tracker
+        assertEquals(moves - filtered, tracker.getSkippedEntityCount());
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.rozefound.waterdizzle.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class BinaryZoneCodecTest {
+
+    @Test
+    void zonesSurviveARoundTrip() throws IOException {
+        JsonArray zones = new JsonArray();
+        zones.add(zone("spawn", "world", 12.5f));
+        zones.add(zone("arena", "world", 0.0f));
+        zones.add(zone("fortress", "world_nether", -90.0f));
+
+        assertEquals(zones, decode(encode(zones)));
+    }
+
+    @Test
+    void missingMembersStayMissing() throws IOException {
+        JsonObject zone = zone("ruins", "world", 0.0f);
+        zone.add("conditions", JsonNull.INSTANCE);
+        zone.add("deathMessage", JsonNull.INSTANCE);
+        zone.add("damageType", JsonNull.INSTANCE);
+        zone.getAsJsonArray("anchors").set(1, JsonNull.INSTANCE);
+        JsonArray zones = new JsonArray();
+        zones.add(zone);
+
+        assertEquals(zones, decode(encode(zones)));
+    }
+
+    @Test
+    void sharedStringsAreStoredOnce() throws IOException {
+        JsonArray sameWorld = new JsonArray();
+        sameWorld.add(zone("spawn", "world", 0.0f));
+        sameWorld.add(zone("arena", "world", 0.0f));
+        JsonArray otherWorld = new JsonArray();
+        otherWorld.add(zone("spawn", "world", 0.0f));
+        otherWorld.add(zone("arena", "earth", 0.0f));
+
+        // Only the new world name joins the table, as length and bytes
+        assertEquals(
+            4 + "earth".length(),
+            encode(otherWorld).length - encode(sameWorld).length
+        );
+    }
+
+    @Test
+    void truncatedFilesAreRejected() throws IOException {
+        JsonArray zones = new JsonArray();
+        zones.add(zone("spawn", "world", 0.0f));
+        byte[] bytes = encode(zones);
+
+        assertThrows(IOException.class, () ->
+            decode(Arrays.copyOf(bytes, bytes.length - 5))
+        );
+        assertThrows(IOException.class, () ->
+            decode("[{\"name\":\"spawn\"}]".getBytes())
+        );
+    }
+
+    private static JsonObject zone(String name, String world, float yaw) {
+        JsonObject zone = new JsonObject();
+        zone.addProperty("name", name);
+
+        JsonArray anchors = new JsonArray();
+        anchors.add(location(world, 0, 60, 0, yaw));
+        anchors.add(location(world, 15, 64, 15, 0.0f));
+        zone.add("anchors", anchors);
+
+        zone.addProperty("damageAmount", 2.5);
+        zone.addProperty("damageInterval", 20L);
+        zone.addProperty("damageType", "minecraft:drown");
+        zone.addProperty("deathMessage", "<player> drowned in ünicode");
+        zone.addProperty("damageAnimal", true);
+        zone.addProperty("damageEntity", false);
+        zone.addProperty("damagePlayer", true);
+        zone.addProperty("destroyItem", false);
+        zone.addProperty("enabled", true);
+
+        JsonArray conditions = new JsonArray();
+        JsonObject condition = new JsonObject();
+        condition.addProperty("direction", "DOWN");
+        condition.addProperty("blockDataString", "minecraft:water[level=0]");
+        conditions.add(condition);
+        zone.add("conditions", conditions);
+        return zone;
+    }
+
+    private static JsonObject location(
+        String world,
+        double x,
+        double y,
+        double z,
+        float yaw
+    ) {
+        JsonObject location = new JsonObject();
+        location.addProperty("world", world);
+        location.addProperty("x", x);
+        location.addProperty("y", y);
+        location.addProperty("z", z);
+        if (yaw != 0.0f) {
+            location.addProperty("yaw", yaw);
+        }
+        return location;
+    }
+
+    private static byte[] encode(JsonArray zones) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryZoneCodec.INSTANCE.encode(zones, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private static JsonArray decode(byte[] bytes) throws IOException {
+        JsonArray zones = new JsonArray();
+        BinaryZoneCodec.INSTANCE.decode(
+            Channels.newChannel(new ByteArrayInputStream(bytes)),
+            zones::add
+        );
+        return zones;
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.rozefound.waterdizzle.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ZoneJournalTest {
+
+    private static final Logger LOGGER = Logger.getLogger("ZoneJournalTest");
+
+    @TempDir
+    File folder;
+
+    @Test
+    void replayAppliesRecordsInOrder() throws IOException {
+        File journal = new File(folder, "zones.journal");
+        ZoneJournal.append(
+            journal,
+            List.of(
+                ZoneJournal.put(zone("spawn", 1)),
+                ZoneJournal.put(zone("arena", 1))
+            )
+        );
+        ZoneJournal.append(
+            journal,
+            List.of(
+                ZoneJournal.put(zone("spawn", 2)),
+                ZoneJournal.remove("arena")
+            )
+        );
+
+        Map<String, JsonElement> zones = new LinkedHashMap<>();
+        zones.put("lobby", zone("lobby", 0));
+
+        assertEquals(4, ZoneJournal.replay(journal, zones, LOGGER));
+        assertEquals(List.of("lobby", "spawn"), List.copyOf(zones.keySet()));
+        assertEquals(zone("spawn", 2), zones.get("spawn"));
+    }
+
+    @Test
+    void replayingTwiceGivesTheSameZones() throws IOException {
+        File journal = new File(folder, "zones.journal");
+        ZoneJournal.append(
+            journal,
+            List.of(
+                ZoneJournal.put(zone("spawn", 1)),
+                ZoneJournal.remove("lobby"),
+                ZoneJournal.put(zone("spawn", 3))
+            )
+        );
+
+        Map<String, JsonElement> once = new LinkedHashMap<>();
+        once.put("lobby", zone("lobby", 0));
+        ZoneJournal.replay(journal, once, LOGGER);
+        Map<String, JsonElement> twice = new LinkedHashMap<>(once);
+        ZoneJournal.replay(journal, twice, LOGGER);
+
+        assertEquals(Map.of("spawn", zone("spawn", 3)), once);
+        assertEquals(once, twice);
+    }
+
+    @Test
+    void replayStopsAtATornRecord() throws IOException {
+        File journal = new File(folder, "zones.journal");
+        ZoneJournal.append(
+            journal,
+            List.of(ZoneJournal.put(zone("spawn", 1)))
+        );
+        // A crash in the middle of an append leaves half a line behind
+        Files.writeString(
+            journal.toPath(),
+            "{\"op\":\"put\",\"zone\":{\"na",
+            StandardOpenOption.APPEND
+        );
+
+        Map<String, JsonElement> zones = new LinkedHashMap<>();
+        assertEquals(1, ZoneJournal.replay(journal, zones, LOGGER));
+        assertEquals(Map.of("spawn", zone("spawn", 1)), zones);
+    }
+
+    @Test
+    void missingJournalReplaysNothing() throws IOException {
+        Map<String, JsonElement> zones = new LinkedHashMap<>();
+        zones.put("spawn", zone("spawn", 1));
+
+        assertEquals(
+            0,
+            ZoneJournal.replay(new File(folder, "none.journal"), zones, LOGGER)
+        );
+        assertEquals(Map.of("spawn", zone("spawn", 1)), zones);
+    }
+
+    static JsonObject zone(String name, double damageAmount) {
+        JsonObject zone = new JsonObject();
+        zone.addProperty("name", name);
+        zone.addProperty("damage_amount", damageAmount);
+        return zone;
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.rozefound.waterdizzle.storage;
+
+import static io.github.rozefound.waterdizzle.storage.ZoneJournalTest.zone;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ZoneStoreTest {
+
+    private StandInPlugin plugin;
+    private ZoneStore store;
+    private File file;
+    private File journal;
+
+    @BeforeEach
+    void createStore() throws IOException {
+        plugin = StandInPlugin.create();
+        store = new ZoneStore(plugin);
+        file = new File(plugin.getDataFolder(), "test.json");
+        journal = new File(plugin.getDataFolder(), "test.journal");
+    }
+
+    @AfterEach
+    void closeStore() throws IOException {
+        store.close();
+        plugin.close();
+    }
+
+    @Test
+    void journalsAreFoldedIntoTheZoneFile() throws IOException {
+        JsonArray zones = new JsonArray();
+        zones.add(zone("spawn", 1));
+        zones.add(zone("arena", 1));
+        assertTrue(store.writeSync(file, zones, JsonZoneCodec.INSTANCE));
+
+        store.append(
+            journal,
+            List.of(ZoneJournal.put(zone("spawn", 2))),
+            file,
+            JsonZoneCodec.INSTANCE
+        );
+        store.awaitQueued();
+        assertTrue(journal.exists());
+        assertEquals(0, store.getCompactionCount());
+
+        // Past the threshold the file is rebuilt from itself and the journal
+        store.setCompactThreshold(1);
+        store.append(
+            journal,
+            List.of(
+                ZoneJournal.remove("arena"),
+                ZoneJournal.put(zone("pool", 1))
+            ),
+            file,
+            JsonZoneCodec.INSTANCE
+        );
+        store.awaitQueued();
+
+        assertFalse(journal.exists());
+        assertEquals(1, store.getCompactionCount());
+        assertEquals(3, store.getJournalRecordCount());
+        assertEquals(
+            Map.of("spawn", zone("spawn", 2), "pool", zone("pool", 1)),
+            read(file, JsonZoneCodec.INSTANCE)
+        );
+    }
+
+    @Test
+    void compactionStartsWithoutAZoneFile() throws IOException {
+        store.setCompactThreshold(1);
+        store.append(
+            journal,
+            List.of(ZoneJournal.put(zone("spawn", 1))),
+            file,
+            JsonZoneCodec.INSTANCE
+        );
+        store.awaitQueued();
+
+        assertFalse(journal.exists());
+        assertEquals(
+            Map.of("spawn", zone("spawn", 1)),
+            read(file, JsonZoneCodec.INSTANCE)
+        );
+    }
+
+    private static Map<String, JsonElement> read(File file, ZoneCodec codec)
+        throws IOException {
+        Map<String, JsonElement> zones = new LinkedHashMap<>();
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            codec.decode(channel, zone ->
+                zones.put(ZoneJournal.getName(zone), zone)
+            );
+        }
+        return zones;
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.rozefound.waterdizzle.testing;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
+
+/**
+ * A stand-in living entity tests and benchmarks can move around. The entity answers
+ * its identity, type, position, size and liveness, its location and bounding
+ * box are built from the current position like the server does.
+ */
+public final class StandInEntity {
+
+    private final LivingEntity entity;
+    private final double width;
+    private final double height;
+    private World world;
+    private double x;
+    private double y;
+    private double z;
+
+    public StandInEntity(EntityType type, double width, double height) {
+        UUID id = UUID.randomUUID();
+        this.width = width;
+        this.height = height;
+        this.entity = (LivingEntity) Proxy.newProxyInstance(
+            LivingEntity.class.getClassLoader(),
+            new Class<?>[] { LivingEntity.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getUniqueId" -> id;
+                    case "getType" -> type;
+                    case "getWorld" -> world;
+                    case "getX" -> x;
+                    case "getY" -> y;
+                    case "getZ" -> z;
+                    case "getWidth" -> width;
+                    case "getHeight" -> height;
+                    case "getLocation" -> getLocation();
+                    case "getBoundingBox" -> getBoundingBox();
+                    case "isDead" -> false;
+                    case "isValid" -> true;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StandInEntity{" + type + "}";
+                    default -> null;
+                }
+        );
+    }
+
+    /**
+     * Move the entity
+     *
+     * @param world The world to move to
+     * @param x The x coordinate of the entity's feet
+     * @param y The y coordinate of the entity's feet
+     * @param z The z coordinate of the entity's feet
+     * @return This stand-in
+     */
+    public StandInEntity moveTo(World world, double x, double y, double z) {
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    public Location getLocation() {
+        return new Location(world, x, y, z);
+    }
+
+    public BoundingBox getBoundingBox() {
+        double halfWidth = width / 2;
+        return new BoundingBox(
+            x - halfWidth,
+            y,
+            z - halfWidth,
+            x + halfWidth,
+            y + height,
+            z + halfWidth
+        );
+    }
+
+    public LivingEntity get() {
+        return entity;
+    }
+}
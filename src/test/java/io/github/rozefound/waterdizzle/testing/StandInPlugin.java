@@ -0,0 +1,156 @@
+package io.github.rozefound.waterdizzle.testing;
+
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import io.github.rozefound.waterdizzle.utils.BlockMaterialCache;
+import io.github.rozefound.waterdizzle.utils.DamageScheduler;
+import io.github.rozefound.waterdizzle.utils.LanguageManager;
+import io.github.rozefound.waterdizzle.utils.SnapshotConditionSampler;
+import io.github.rozefound.waterdizzle.utils.ZoneManager;
+import io.github.rozefound.waterdizzle.utils.ZoneMembershipTracker;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.objenesis.Objenesis;
+import org.objenesis.ObjenesisStd;
+
+/**
+ * The plugin with the parts the zone hot paths use, created on the stand-in
+ * server with a temporary data folder and the default configuration. Nothing
+ * is registered with the server and no task is started, tests and benchmarks
+ * call the managers and listeners directly.
+ *
+ * <p>Plugins can only be constructed by a plugin class loader, so the
+ * instance is allocated without running a constructor and handed its data
+ * folder, description and logger the way the server's class loader does.
+ */
+public final class StandInPlugin extends WaterDizzle {
+
+    private static final Objenesis OBJENESIS = new ObjenesisStd();
+
+    private LanguageManager languageManager;
+    private BlockMaterialCache blockMaterialCache;
+    private SnapshotConditionSampler conditionSampler;
+    private DamageScheduler damageScheduler;
+    private ZoneManager zoneManager;
+    private ZoneMembershipTracker membershipTracker;
+
+    private StandInPlugin() {
+        // Never run, see create()
+    }
+
+    /**
+     * Create the plugin, installing the stand-in server first when needed.
+     * The worlds the zones are in should exist before, the zone manager
+     * loads the zones of the worlds the server knows.
+     *
+     * @return The plugin
+     * @throws IOException If the data folder could not be created
+     */
+    public static StandInPlugin create() throws IOException {
+        return create(StandIns.dataFolder());
+    }
+
+    /**
+     * Create the plugin on an existing data folder, used to start the plugin
+     * again on the files a previous instance left
+     *
+     * @param dataFolder The data folder
+     * @return The plugin
+     */
+    public static StandInPlugin create(File dataFolder) {
+        StandIns.installServer();
+
+        StandInPlugin plugin = OBJENESIS.newInstance(StandInPlugin.class);
+        plugin.attach(dataFolder);
+        plugin.languageManager = new LanguageManager(plugin);
+        plugin.blockMaterialCache = new BlockMaterialCache(plugin);
+        plugin.conditionSampler = new SnapshotConditionSampler(plugin);
+        plugin.damageScheduler = new DamageScheduler(plugin);
+        plugin.zoneManager = new ZoneManager(plugin);
+        plugin.membershipTracker = new ZoneMembershipTracker(plugin);
+        return plugin;
+    }
+
+    private void attach(File dataFolder) {
+        PluginDescriptionFile description = new PluginDescriptionFile(
+            "WaterDizzle",
+            "test",
+            WaterDizzle.class.getName()
+        );
+
+        for (Method method : JavaPlugin.class.getDeclaredMethods()) {
+            if (
+                !method.getName().equals("init") ||
+                method.getParameterCount() != 7
+            ) {
+                continue;
+            }
+
+            try {
+                method.setAccessible(true);
+                method.invoke(
+                    this,
+                    Bukkit.getServer(),
+                    description,
+                    dataFolder,
+                    new File(dataFolder, "WaterDizzle.jar"),
+                    getClass().getClassLoader(),
+                    description,
+                    Logger.getLogger("WaterDizzle")
+                );
+                return;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(
+                    "Could not initialise the plugin",
+                    e
+                );
+            }
+        }
+        throw new IllegalStateException("JavaPlugin.init not found");
+    }
+
+    /**
+     * Stop the zone saver and delete the data folder
+     *
+     * @throws IOException If the data folder could not be deleted
+     */
+    public void close() throws IOException {
+        conditionSampler.shutdown();
+        zoneManager.getStore().close();
+        StandIns.deleteFolder(getDataFolder());
+    }
+
+    @Override
+    public ZoneManager getZoneManager() {
+        return zoneManager;
+    }
+
+    @Override
+    public LanguageManager getLanguageManager() {
+        return languageManager;
+    }
+
+    @Override
+    public ZoneMembershipTracker getMembershipTracker() {
+        return membershipTracker;
+    }
+
+    @Override
+    public DamageScheduler getDamageScheduler() {
+        return damageScheduler;
+    }
+
+    @Override
+    public BlockMaterialCache getBlockMaterialCache() {
+        return blockMaterialCache;
+    }
+
+    @Override
+    public SnapshotConditionSampler getConditionSampler() {
+        return conditionSampler;
+    }
+}
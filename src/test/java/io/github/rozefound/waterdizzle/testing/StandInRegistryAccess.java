@@ -0,0 +1,86 @@
+package io.github.rozefound.waterdizzle.testing;
+
+import io.papermc.paper.registry.RegistryAccess;
+import io.papermc.paper.registry.RegistryKey;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import net.kyori.adventure.key.Key;
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.damage.DamageType;
+
+/**
+ * Stand-in registry access, picked up through the service loader when no
+ * server provides one. Damage types are answered with keyed stand-ins so
+ * zones can be created, written and read headless, every other registry is
+ * empty.
+ */
+public final class StandInRegistryAccess implements RegistryAccess {
+
+    private static final Map<NamespacedKey, DamageType> DAMAGE_TYPES =
+        new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("removal")
+    public <T extends Keyed> Registry<T> getRegistry(Class<T> type) {
+        return emptyRegistry();
+    }
+
+    @Override
+    public <T extends Keyed> Registry<T> getRegistry(
+        RegistryKey<T> registryKey
+    ) {
+        if (RegistryKey.DAMAGE_TYPE.equals(registryKey)) {
+            return registry(StandInRegistryAccess::damageType);
+        }
+        return emptyRegistry();
+    }
+
+    public static <T extends Keyed> Registry<T> emptyRegistry() {
+        return registry(key -> null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Keyed> Registry<T> registry(
+        Function<NamespacedKey, Object> lookup
+    ) {
+        return (Registry<T>) Proxy.newProxyInstance(
+            Registry.class.getClassLoader(),
+            new Class<?>[] { Registry.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "get", "getOrThrow" -> args[0] instanceof Key key
+                        ? lookup.apply(NamespacedKey.fromString(key.asString()))
+                        : null;
+                    case "iterator" -> Collections.emptyIterator();
+                    case "stream" -> Stream.empty();
+                    default -> null;
+                }
+        );
+    }
+
+    private static DamageType damageType(NamespacedKey key) {
+        return DAMAGE_TYPES.computeIfAbsent(key, id ->
+            (DamageType) Proxy.newProxyInstance(
+                DamageType.class.getClassLoader(),
+                new Class<?>[] { DamageType.class },
+                (proxy, method, args) ->
+                    switch (method.getName()) {
+                        case "getKey", "key" -> id;
+                        case "getTranslationKey", "translationKey" ->
+                            id.getKey();
+                        case "getExhaustion" -> 0.0f;
+                        case "hashCode" -> id.hashCode();
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "StandInDamageType{" + id + "}";
+                        default -> null;
+                    }
+            )
+        );
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.rozefound.waterdizzle.testing;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+
+/**
+ * A stand-in world whose blocks can be changed behind the plugin's back, the
+ * way commands and other plugins change them without firing block events.
+ * Unchanged blocks follow the flat terrain of {@link StandIns}, every block
+ * read through the world is counted. Chunks are loaded until they are
+ * unloaded, their snapshots hold the blocks as they were when the snapshot
+ * was taken.
+ */
+public final class StandInTerrain {
+
+    private final World world;
+    private final Map<Long, Material> changed = new ConcurrentHashMap<>();
+    private final Set<Long> unloaded = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger reads = new AtomicInteger();
+
+    public StandInTerrain(String name) {
+        UUID id = UUID.randomUUID();
+        this.world = (World) Proxy.newProxyInstance(
+            World.class.getClassLoader(),
+            new Class<?>[] { World.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getName" -> name;
+                    case "getUID" -> id;
+                    case "getMinHeight" -> -64;
+                    case "getMaxHeight" -> 320;
+                    case "getBlockAt" -> args.length == 3
+                        ? read((int) args[0], (int) args[1], (int) args[2])
+                        : null;
+                    case "isChunkLoaded" -> args.length == 2 &&
+                        !unloaded.contains(
+                            Chunk.getChunkKey((int) args[0], (int) args[1])
+                        );
+                    case "getChunkAt" -> args.length == 2
+                        ? chunk((int) args[0], (int) args[1])
+                        : null;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StandInTerrain{" + name + "}";
+                    default -> null;
+                }
+        );
+    }
+
+    public World world() {
+        return world;
+    }
+
+    /**
+     * Change a block without firing any event
+     */
+    public void setType(int x, int y, int z, Material material) {
+        changed.put(key(x, y, z), material);
+    }
+
+    /**
+     * Unload a chunk, it can no longer be captured in a snapshot
+     */
+    public void unload(int chunkX, int chunkZ) {
+        unloaded.add(Chunk.getChunkKey(chunkX, chunkZ));
+    }
+
+    public Material getType(int x, int y, int z) {
+        return getType(changed, x, y, z);
+    }
+
+    private static Material getType(
+        Map<Long, Material> changed,
+        int x,
+        int y,
+        int z
+    ) {
+        Material material = changed.get(key(x, y, z));
+        if (material != null) {
+            return material;
+        }
+        if (y < StandIns.WATER_LEVEL) {
+            return Material.STONE;
+        }
+        return y < StandIns.WATER_LEVEL + 2 ? Material.WATER : Material.AIR;
+    }
+
+    /**
+     * @return The number of blocks read through the world
+     */
+    public int getReadCount() {
+        return reads.get();
+    }
+
+    private Block read(int x, int y, int z) {
+        reads.incrementAndGet();
+        return block(x, y, z);
+    }
+
+    /**
+     * Get a block of the world, answering its position, type and neighbours
+     */
+    public Block block(int x, int y, int z) {
+        return (Block) Proxy.newProxyInstance(
+            Block.class.getClassLoader(),
+            new Class<?>[] { Block.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getWorld" -> world;
+                    case "getX" -> x;
+                    case "getY" -> y;
+                    case "getZ" -> z;
+                    case "getType" -> getType(x, y, z);
+                    case "getBlockData" -> StandIns.blockData(
+                        getType(x, y, z)
+                    );
+                    case "getRelative" -> relative(
+                        x,
+                        y,
+                        z,
+                        (BlockFace) args[0]
+                    );
+                    case "hashCode" -> (int) key(x, y, z);
+                    case "equals" -> isBlock(args[0], x, y, z);
+                    case "toString" -> "StandInBlock" + List.of(x, y, z);
+                    default -> null;
+                }
+        );
+    }
+
+    private boolean isBlock(Object object, int x, int y, int z) {
+        return (
+            object instanceof Block other &&
+            other.getWorld() == world &&
+            other.getX() == x &&
+            other.getY() == y &&
+            other.getZ() == z
+        );
+    }
+
+    private Block relative(int x, int y, int z, BlockFace face) {
+        return block(
+            x + face.getModX(),
+            y + face.getModY(),
+            z + face.getModZ()
+        );
+    }
+
+    /**
+     * Get a chunk of the world, answering its position, world and snapshots
+     */
+    public Chunk chunk(int chunkX, int chunkZ) {
+        return (Chunk) Proxy.newProxyInstance(
+            Chunk.class.getClassLoader(),
+            new Class<?>[] { Chunk.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getWorld" -> world;
+                    case "getX" -> chunkX;
+                    case "getZ" -> chunkZ;
+                    case "getChunkSnapshot" -> snapshot(chunkX, chunkZ);
+                    default -> null;
+                }
+        );
+    }
+
+    private ChunkSnapshot snapshot(int chunkX, int chunkZ) {
+        Map<Long, Material> blocks = new HashMap<>(changed);
+        int baseX = chunkX << 4;
+        int baseZ = chunkZ << 4;
+        return (ChunkSnapshot) Proxy.newProxyInstance(
+            ChunkSnapshot.class.getClassLoader(),
+            new Class<?>[] { ChunkSnapshot.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getX" -> chunkX;
+                    case "getZ" -> chunkZ;
+                    case "getWorldName" -> world.getName();
+                    case "getBlockType" -> getType(
+                        blocks,
+                        baseX + (int) args[0],
+                        (int) args[1],
+                        baseZ + (int) args[2]
+                    );
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                }
+        );
+    }
+
+    private static long key(int x, int y, int z) {
+        return (
+            ((long) x & 0x3ffffffL) |
+            (((long) z & 0x3ffffffL) << 26) |
+            (((long) y & 0xfffL) << 52)
+        );
+    }
+}
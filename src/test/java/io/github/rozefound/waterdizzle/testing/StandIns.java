@@ -0,0 +1,231 @@
+package io.github.rozefound.waterdizzle.testing;
+
+import io.github.rozefound.waterdizzle.WaterDizzle;
+import io.github.rozefound.waterdizzle.Zone;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredListener;
+
+/**
+ * Lightweight stand-ins for the server objects the plugin code touches, so
+ * tests and benchmarks run headless. Stand-ins answer the handful of methods the
+ * plugin calls and return null for everything else.
+ *
+ * <p>Stand-in worlds share one flat terrain: stone below y 63, two layers of
+ * water and air above them.
+ */
+public final class StandIns {
+
+    private static final Map<String, World> WORLDS = new ConcurrentHashMap<>();
+    private static final Map<Material, Block> BLOCKS =
+        new ConcurrentHashMap<>();
+
+    public static final int WATER_LEVEL = 63;
+
+    private StandIns() {}
+
+    /**
+     * Install a stand-in server answering world and block data lookups.
+     * Safe to call from every test or benchmark setup, the server is set once.
+     */
+    public static synchronized void installServer() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+
+        Logger logger = Logger.getLogger("StandInServer");
+        PluginManager pluginManager = (PluginManager) Proxy.newProxyInstance(
+            PluginManager.class.getClassLoader(),
+            new Class<?>[] { PluginManager.class },
+            (proxy, method, args) -> {
+                if (method.getName().equals("callEvent")) {
+                    callEvent((Event) args[0]);
+                }
+                return null;
+            }
+        );
+        Server server = (Server) Proxy.newProxyInstance(
+            Server.class.getClassLoader(),
+            new Class<?>[] { Server.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getLogger" -> logger;
+                    case "getName", "getVersion", "getBukkitVersion" ->
+                        "stand-in";
+                    case "getWorld" -> args[0] instanceof String name
+                        ? WORLDS.get(name)
+                        : null;
+                    case "getWorlds" -> List.copyOf(WORLDS.values());
+                    case "getPluginManager" -> pluginManager;
+                    case "getRegistry" -> StandInRegistryAccess.emptyRegistry();
+                    case "createBlockData" -> blockData(
+                        Material.matchMaterial((String) args[0])
+                    );
+                    default -> null;
+                }
+        );
+        Bukkit.setServer(server);
+    }
+
+    /**
+     * Hand an event to the listeners registered in its handler list, the way
+     * the server's plugin manager does
+     */
+    private static void callEvent(Event event) throws EventException {
+        for (RegisteredListener listener : event
+            .getHandlers()
+            .getRegisteredListeners()) {
+            listener.callEvent(event);
+        }
+    }
+
+    /**
+     * Get the stand-in world with a name, creating it on first use
+     *
+     * @param name The world name
+     * @return The world, identical for every call with the same name
+     */
+    public static World world(String name) {
+        return WORLDS.computeIfAbsent(name, StandIns::createWorld);
+    }
+
+    private static World createWorld(String name) {
+        UUID id = UUID.nameUUIDFromBytes(name.getBytes());
+        return (World) Proxy.newProxyInstance(
+            World.class.getClassLoader(),
+            new Class<?>[] { World.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getName" -> name;
+                    case "getUID" -> id;
+                    case "getMinHeight" -> -64;
+                    case "getMaxHeight" -> 320;
+                    case "getBlockAt" -> args.length == 3
+                        ? block(terrain((int) args[1]))
+                        : null;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StandInWorld{" + name + "}";
+                    default -> null;
+                }
+        );
+    }
+
+    private static Material terrain(int y) {
+        if (y < WATER_LEVEL) {
+            return Material.STONE;
+        }
+        return y < WATER_LEVEL + 2 ? Material.WATER : Material.AIR;
+    }
+
+    /**
+     * Get the stand-in block of a material, only its type is answered
+     *
+     * @param material The block material
+     * @return The block, identical for every call with the same material
+     */
+    public static Block block(Material material) {
+        return BLOCKS.computeIfAbsent(material, type ->
+            (Block) Proxy.newProxyInstance(
+                Block.class.getClassLoader(),
+                new Class<?>[] { Block.class },
+                (proxy, method, args) ->
+                    switch (method.getName()) {
+                        case "getType" -> type;
+                        case "getBlockData" -> blockData(type);
+                        default -> null;
+                    }
+            )
+        );
+    }
+
+    public static BlockData blockData(Material material) {
+        if (material == null) {
+            throw new IllegalArgumentException("Unknown material");
+        }
+
+        String asString =
+            "minecraft:" + material.name().toLowerCase(Locale.ROOT);
+        return (BlockData) Proxy.newProxyInstance(
+            BlockData.class.getClassLoader(),
+            new Class<?>[] { BlockData.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getMaterial" -> material;
+                    case "getAsString" -> asString;
+                    default -> null;
+                }
+        );
+    }
+
+    /**
+     * Create a zone of 16 by 16 blocks reaching from y 60 to the top of the
+     * water layer
+     *
+     * @param plugin The plugin owning the zone
+     * @param name The zone name
+     * @param world The zone world
+     * @param x The lowest x block of the zone
+     * @param z The lowest z block of the zone
+     * @return The zone, enabled and harmless until configured
+     */
+    public static Zone zone(
+        WaterDizzle plugin,
+        String name,
+        World world,
+        int x,
+        int z
+    ) {
+        return new Zone(
+            plugin,
+            name,
+            new Location(world, x, 60, z),
+            new Location(world, x + 15, WATER_LEVEL + 1, z + 15)
+        );
+    }
+
+    /**
+     * Create an empty plugin data folder
+     *
+     * @return The folder, removed again by {@link #deleteFolder(File)}
+     * @throws IOException If the folder could not be created
+     */
+    public static File dataFolder() throws IOException {
+        return Files.createTempDirectory("waterdizzle-test").toFile();
+    }
+
+    /**
+     * Delete a data folder with everything inside it
+     *
+     * @param folder The folder to delete
+     * @throws IOException If a file could not be deleted
+     */
+    public static void deleteFolder(File folder) throws IOException {
+        try (Stream<Path> paths = Files.walk(folder.toPath())) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandInTerrain;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BlockMaterialCacheTest {
+
+    private static final long TICK_NANOS = 50_000_000L;
+
+    private StandInPlugin plugin;
+    private StandInTerrain terrain;
+    private World world;
+    private AtomicLong clock;
+    private BlockMaterialCache cache;
+
+    @BeforeEach
+    void createCache() throws IOException {
+        plugin = StandInPlugin.create();
+        terrain = new StandInTerrain("cached");
+        world = terrain.world();
+        clock = new AtomicLong();
+        plugin.getConfig().set("condition_block_cache_ttl_ticks", 100L);
+        cache = new BlockMaterialCache(plugin, clock::get);
+    }
+
+    @AfterEach
+    void closePlugin() throws IOException {
+        plugin.close();
+    }
+
+    @Test
+    void blocksAreReadOnce() {
+        assertEquals(Material.WATER, cache.getMaterial(world, 3, 63, 5));
+        assertEquals(Material.WATER, cache.getMaterial(world, 3, 63, 5));
+        assertEquals(Material.STONE, cache.getMaterial(world, 3, 62, 5));
+
+        assertEquals(2, terrain.getReadCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void invalidatedBlocksAreReadAgain() {
+        cache.getMaterial(world, 3, 63, 5);
+        cache.getMaterial(world, 4, 63, 5);
+        terrain.setType(3, 63, 5, Material.ICE);
+        terrain.setType(4, 63, 5, Material.ICE);
+
+        cache.invalidate(world, 3, 63, 5);
+
+        assertEquals(Material.ICE, cache.getMaterial(world, 3, 63, 5));
+        // Its neighbour was not invalidated and is still cached
+        assertEquals(Material.WATER, cache.getMaterial(world, 4, 63, 5));
+    }
+
+    @Test
+    void invalidatedChunksAreReadAgain() {
+        cache.getMaterial(world, 3, 63, 5);
+        cache.getMaterial(world, 20, 63, 5);
+        terrain.setType(3, 63, 5, Material.ICE);
+        terrain.setType(20, 63, 5, Material.ICE);
+
+        cache.invalidateChunk(world, 0, 0);
+
+        assertEquals(Material.ICE, cache.getMaterial(world, 3, 63, 5));
+        assertEquals(Material.WATER, cache.getMaterial(world, 20, 63, 5));
+    }
+
+    @Test
+    void blocksOutsideTheWorldHeightAreVoid() {
+        assertEquals(Material.VOID_AIR, cache.getMaterial(world, 0, -65, 0));
+        assertEquals(Material.VOID_AIR, cache.getMaterial(world, 0, 320, 0));
+        assertEquals(Material.STONE, cache.getMaterial(world, 0, -64, 0));
+        assertEquals(Material.AIR, cache.getMaterial(world, 0, 319, 0));
+        assertEquals(2, terrain.getReadCount());
+
+        // Out of range invalidations are ignored
+        cache.invalidate(world, 0, -65, 0);
+        cache.invalidate(world, 0, 320, 0);
+    }
+
+    @Test
+    void changesWithoutEventsAreSeenOnceTheChunkExpires() {
+        cache.getMaterial(world, 3, 63, 5);
+        terrain.setType(3, 63, 5, Material.ICE);
+
+        clock.addAndGet(99 * TICK_NANOS);
+        assertEquals(Material.WATER, cache.getMaterial(world, 3, 63, 5));
+
+        clock.addAndGet(TICK_NANOS);
+        assertEquals(Material.ICE, cache.getMaterial(world, 3, 63, 5));
+    }
+
+    @Test
+    void reloadingDropsTheCache() {
+        cache.getMaterial(world, 3, 63, 5);
+        terrain.setType(3, 63, 5, Material.ICE);
+
+        cache.reloadSettings();
+
+        assertEquals(Material.ICE, cache.getMaterial(world, 3, 63, 5));
+    }
+
+    @Test
+    void disabledCacheReadsTheWorld() {
+        plugin.getConfig().set("condition_block_cache", false);
+        cache.reloadSettings();
+
+        cache.getMaterial(world, 3, 63, 5);
+        cache.getMaterial(world, 3, 63, 5);
+
+        assertEquals(2, terrain.getReadCount());
+        assertEquals(0, cache.getHitCount());
+    }
+}
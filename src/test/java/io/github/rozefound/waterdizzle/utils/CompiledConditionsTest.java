@@ -0,0 +1,258 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.gson.Gson;
+import io.github.rozefound.waterdizzle.testing.StandInEntity;
+import io.github.rozefound.waterdizzle.testing.StandInTerrain;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import java.util.List;
+import org.bukkit.Material;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compiled conditions must match an entity exactly when one of the
+ * conditions does when they are evaluated one by one, conditions whose block
+ * data cannot be read count as never met
+ */
+class CompiledConditionsTest {
+
+    private static final Gson GSON = new Gson();
+
+    private StandInTerrain terrain;
+    private MaterialLookup lookup;
+
+    @BeforeAll
+    static void installServer() {
+        StandIns.installServer();
+    }
+
+    @BeforeEach
+    void createTerrain() {
+        terrain = new StandInTerrain("conditions");
+        lookup = (world, x, y, z) -> terrain.getType(x, y, z);
+
+        // Sand under the water, ice and lava in it and a stone pillar
+        for (int x = 0; x <= 1; x++) {
+            for (int z = 0; z <= 1; z++) {
+                terrain.setType(x, 62, z, Material.SAND);
+            }
+        }
+        terrain.setType(2, 63, 2, Material.ICE);
+        terrain.setType(5, 64, 5, Material.LAVA);
+        for (int y = 63; y <= 65; y++) {
+            terrain.setType(4, y, 0, Material.STONE);
+        }
+    }
+
+    @Test
+    void anyConditionIsEnough() {
+        List<Condition> conditions = List.of(
+            condition(Condition.Direction.Inside, Material.LAVA),
+            condition(Condition.Direction.StandingOn, Material.SAND)
+        );
+
+        // Standing on the sand, nowhere near the lava
+        assertTrue(test(conditions, zombieAt(0.5, 63, 0.5)));
+        // In the lava, standing on stone
+        assertTrue(test(conditions, zombieAt(5.5, 63, 5.5)));
+        assertFalse(test(conditions, zombieAt(3.5, 63, 3.5)));
+    }
+
+    @Test
+    void standingOnReadsTheRowJustBelowTheFeet() {
+        List<Condition> onSand = List.of(
+            condition(Condition.Direction.StandingOn, Material.SAND)
+        );
+        List<Condition> onWater = List.of(
+            condition(Condition.Direction.StandingOn, Material.WATER)
+        );
+
+        // Feet less than 0.1 above a block stand on the block below it
+        assertTrue(test(onSand, zombieAt(0.5, 63, 0.5)));
+        assertTrue(test(onSand, zombieAt(0.5, 63.05, 0.5)));
+        assertFalse(test(onWater, zombieAt(0.5, 63.05, 0.5)));
+        // Higher up the block the feet are in is stood on
+        assertFalse(test(onSand, zombieAt(0.5, 63.15, 0.5)));
+        assertTrue(test(onWater, zombieAt(0.5, 63.15, 0.5)));
+    }
+
+    @Test
+    void footprintsSpanningSeveralBlocksAreScannedWhole() {
+        List<Condition> inIce = List.of(
+            condition(Condition.Direction.Inside, Material.ICE)
+        );
+        List<Condition> onSand = List.of(
+            condition(Condition.Direction.StandingOn, Material.SAND)
+        );
+        // Only a corner of the footprint reaches the ice and the sand
+        assertTrue(test(inIce, entityAt(1.0, 63, 1.0, 2.2, 1.0)));
+        assertTrue(test(onSand, entityAt(2.5, 63, 2.5, 2.2, 1.0)));
+        assertFalse(test(inIce, entityAt(4.5, 63, 4.5, 2.2, 1.0)));
+    }
+
+    @Test
+    void invalidBlockDataIsSkipped() {
+        List<Condition> conditions = List.of(
+            invalid(Condition.Direction.Inside),
+            empty(Condition.Direction.StandingOn),
+            condition(Condition.Direction.Inside, Material.ICE)
+        );
+
+        assertTrue(test(conditions, zombieAt(2.5, 63, 2.5)));
+        assertFalse(test(conditions, zombieAt(3.5, 63, 3.5)));
+    }
+
+    @Test
+    void allInvalidConditionsNeverMatch() {
+        List<Condition> conditions = List.of(
+            invalid(Condition.Direction.Inside),
+            invalid(Condition.Direction.StandingOn),
+            empty(Condition.Direction.Inside)
+        );
+        CompiledConditions compiled = CompiledConditions.compile(conditions);
+
+        // Unlike a zone without conditions, which applies to every entity
+        assertFalse(compiled.isEmpty());
+        assertTrue(CompiledConditions.compile(List.of()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () ->
+            conditions.get(0).getBlockData()
+        );
+
+        for (double x = 0; x < 6; x += 0.5) {
+            assertFalse(compiled.test(zombieAt(x, 63, x), lookup));
+            assertFalse(compiled.test(zombieAt(x, 62, x), lookup));
+        }
+    }
+
+    @Test
+    void compiledConditionsAgreeWithConditionsOneByOne() {
+        List<List<Condition>> lists = List.of(
+            List.of(condition(Condition.Direction.Inside, Material.WATER)),
+            List.of(condition(Condition.Direction.StandingOn, Material.STONE)),
+            List.of(
+                condition(Condition.Direction.Inside, Material.LAVA),
+                condition(Condition.Direction.StandingOn, Material.SAND)
+            ),
+            List.of(
+                condition(Condition.Direction.StandingOn, Material.WATER),
+                condition(Condition.Direction.Inside, Material.ICE),
+                condition(Condition.Direction.Inside, Material.STONE)
+            ),
+            List.of(
+                invalid(Condition.Direction.Inside),
+                condition(Condition.Direction.StandingOn, Material.SAND),
+                empty(Condition.Direction.Inside),
+                condition(Condition.Direction.Inside, Material.LAVA)
+            )
+        );
+        double[] heights = { 62, 62.95, 63, 63.05, 63.09, 63.1, 63.5, 64.2 };
+        double[][] sizes = { { 0.6, 1.95 }, { 1.4, 0.9 }, { 2.2, 1.0 } };
+
+        int matched = 0;
+        int tested = 0;
+        for (List<Condition> conditions : lists) {
+            CompiledConditions compiled = CompiledConditions.compile(
+                conditions
+            );
+            for (double[] size : sizes) {
+                for (double y : heights) {
+                    for (double x = -0.5; x < 6.5; x += 0.35) {
+                        for (double z = -0.5; z < 6.5; z += 0.45) {
+                            Entity entity = entityAt(x, y, z, size[0], size[1]);
+                            boolean expected = oneByOne(conditions, entity);
+                            assertEquals(
+                                expected,
+                                compiled.test(entity, lookup),
+                                () ->
+                                    conditions +
+                                    " at " +
+                                    entity.getBoundingBox()
+                            );
+                            if (expected) {
+                                matched++;
+                            }
+                            tested++;
+                        }
+                    }
+                }
+            }
+        }
+        // The sweep is only meaningful when both outcomes occur
+        assertTrue(matched > 0 && matched < tested);
+    }
+
+    private boolean test(List<Condition> conditions, Entity entity) {
+        boolean compiled = CompiledConditions.compile(conditions).test(
+            entity,
+            lookup
+        );
+        assertEquals(oneByOne(conditions, entity), compiled);
+        return compiled;
+    }
+
+    private boolean oneByOne(List<Condition> conditions, Entity entity) {
+        for (Condition condition : conditions) {
+            try {
+                if (condition.isMetForEntity(entity, lookup)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Invalid block data is never met
+            }
+        }
+        return false;
+    }
+
+    private static Condition condition(
+        Condition.Direction direction,
+        Material material
+    ) {
+        return new Condition(direction, StandIns.blockData(material));
+    }
+
+    /**
+     * A condition read from a zone file whose block no longer exists
+     */
+    private static Condition invalid(Condition.Direction direction) {
+        return GSON.fromJson(
+            "{\"direction\":\"" +
+            direction.name() +
+            "\",\"blockDataString\":\"minecraft:not_a_block\"}",
+            Condition.class
+        );
+    }
+
+    /**
+     * A condition read from a zone file without any block
+     */
+    private static Condition empty(Condition.Direction direction) {
+        return GSON.fromJson(
+            "{\"direction\":\"" + direction.name() + "\"}",
+            Condition.class
+        );
+    }
+
+    private Entity zombieAt(double x, double y, double z) {
+        return entityAt(x, y, z, 0.6, 1.95);
+    }
+
+    private Entity entityAt(
+        double x,
+        double y,
+        double z,
+        double width,
+        double height
+    ) {
+        return new StandInEntity(EntityType.ZOMBIE, width, height)
+            .moveTo(terrain.world(), x, y, z)
+            .get();
+    }
+}
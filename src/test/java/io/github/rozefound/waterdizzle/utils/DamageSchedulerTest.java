@@ -0,0 +1,132 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.testing.StandInEntity;
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import java.io.IOException;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DamageSchedulerTest {
+
+    private StandInPlugin plugin;
+    private DamageScheduler scheduler;
+    private World world;
+    private Zone zone;
+
+    @BeforeEach
+    void createScheduler() throws IOException {
+        world = StandIns.world("world");
+        plugin = StandInPlugin.create();
+        scheduler = plugin.getDamageScheduler();
+
+        // Zombies are not damaged, a due entry inside the zone is only
+        // rescheduled and one outside is dropped
+        zone = StandIns.zone(plugin, "damage", world, 0, 0);
+        zone.setDamageAmount(2.0);
+        zone.setDamageInterval(20L);
+    }
+
+    @AfterEach
+    void closePlugin() throws IOException {
+        plugin.close();
+    }
+
+    @Test
+    void entriesComeDueOnTheirTick() {
+        scheduler.schedule(zone, outside().get(), 5L);
+
+        ticks(4);
+        assertEquals(1, scheduler.getPendingCount());
+        ticks(1);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void entriesWaitForTheirTurnOfTheWheel() {
+        // Shares its bucket with tick 3 but is due a whole turn later
+        scheduler.schedule(zone, outside().get(), 515L);
+
+        ticks(514);
+        assertEquals(1, scheduler.getPendingCount());
+        ticks(1);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void entriesRepeatAtTheZoneInterval() {
+        StandInEntity entity = inside();
+        scheduler.schedule(zone, entity.get(), 1L);
+
+        ticks(1);
+        assertEquals(1, scheduler.getPendingCount());
+
+        // Rescheduled for tick 21, leaving the zone drops it then
+        entity.moveTo(world, 24.5, StandIns.WATER_LEVEL, 8.5);
+        ticks(19);
+        assertEquals(1, scheduler.getPendingCount());
+        ticks(1);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void cancelledEntriesLeaveTheirBucket() {
+        DamageScheduler.Entry first = scheduler.schedule(
+            zone,
+            outside().get(),
+            5L
+        );
+        DamageScheduler.Entry middle = scheduler.schedule(
+            zone,
+            outside().get(),
+            5L
+        );
+        DamageScheduler.Entry last = scheduler.schedule(
+            zone,
+            outside().get(),
+            5L
+        );
+
+        scheduler.cancel(middle);
+        scheduler.cancel(middle);
+        assertEquals(2, scheduler.getPendingCount());
+        scheduler.cancel(last);
+        assertEquals(1, scheduler.getPendingCount());
+
+        // The remaining entry is still reached through the bucket
+        ticks(5);
+        assertEquals(0, scheduler.getPendingCount());
+        scheduler.cancel(first);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    private StandInEntity inside() {
+        return new StandInEntity(EntityType.ZOMBIE, 0.6, 1.95).moveTo(
+            world,
+            8.5,
+            StandIns.WATER_LEVEL,
+            8.5
+        );
+    }
+
+    private StandInEntity outside() {
+        return new StandInEntity(EntityType.ZOMBIE, 0.6, 1.95).moveTo(
+            world,
+            24.5,
+            StandIns.WATER_LEVEL,
+            8.5
+        );
+    }
+
+    private void ticks(int count) {
+        for (int i = 0; i < count; i++) {
+            scheduler.tick();
+        }
+    }
+}
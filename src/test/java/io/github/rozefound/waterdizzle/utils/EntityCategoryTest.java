@@ -0,0 +1,109 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import java.io.IOException;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EntityCategoryTest {
+
+    private StandInPlugin plugin;
+    private World world;
+
+    @BeforeEach
+    void createPlugin() throws IOException {
+        world = StandIns.world("world");
+        plugin = StandInPlugin.create();
+    }
+
+    @AfterEach
+    void closePlugin() throws IOException {
+        plugin.close();
+    }
+
+    @Test
+    void typesOfOneKind() {
+        assertEquals(
+            EntityCategory.PLAYER.mask(),
+            EntityCategory.kindsOf(EntityType.PLAYER)
+        );
+        assertEquals(
+            EntityCategory.ITEM.mask(),
+            EntityCategory.kindsOf(EntityType.ITEM)
+        );
+        assertEquals(
+            EntityCategory.ANIMAL.mask(),
+            EntityCategory.kindsOf(EntityType.COW)
+        );
+        assertEquals(
+            EntityCategory.ENEMY.mask(),
+            EntityCategory.kindsOf(EntityType.ZOMBIE)
+        );
+        assertEquals(
+            EntityCategory.NONE,
+            EntityCategory.kindsOf(EntityType.ARMOR_STAND)
+        );
+    }
+
+    @Test
+    void hoglinIsAnimalAndEnemy() {
+        int kinds = EntityCategory.kindsOf(EntityType.HOGLIN);
+
+        assertTrue(EntityCategory.ANIMAL.isIn(kinds));
+        assertTrue(EntityCategory.ENEMY.isIn(kinds));
+        assertFalse(EntityCategory.PLAYER.isIn(kinds));
+        assertFalse(EntityCategory.ITEM.isIn(kinds));
+    }
+
+    @Test
+    void enemyZonesAffectHoglins() {
+        Zone zone = StandIns.zone(plugin, "enemies", world, 0, 0);
+        zone.setDamageAmount(1.0);
+        zone.setDamageInterval(20L);
+        zone.setDamageEntity(true);
+        zone.setDamageAnimal(false);
+        plugin.getZoneManager().addZone(zone);
+
+        int hoglin = EntityCategory.kindsOf(EntityType.HOGLIN);
+        int cow = EntityCategory.kindsOf(EntityType.COW);
+        ZoneSnapshot.WorldZones worldZones = plugin
+            .getZoneManager()
+            .getSnapshot()
+            .getWorldZones(world);
+
+        assertTrue(zone.canAffect(hoglin));
+        assertFalse(zone.canAffect(cow));
+        assertArrayEquals(new Zone[] { zone }, worldZones.getAffecting(hoglin));
+        assertArrayEquals(new Zone[0], worldZones.getAffecting(cow));
+    }
+
+    @Test
+    void animalZonesAffectHoglins() {
+        Zone zone = StandIns.zone(plugin, "animals", world, 0, 0);
+        zone.setDamageAmount(1.0);
+        zone.setDamageInterval(20L);
+        zone.setDamageAnimal(true);
+        plugin.getZoneManager().addZone(zone);
+
+        int hoglin = EntityCategory.kindsOf(EntityType.HOGLIN);
+        int zombie = EntityCategory.kindsOf(EntityType.ZOMBIE);
+        ZoneSnapshot.WorldZones worldZones = plugin
+            .getZoneManager()
+            .getSnapshot()
+            .getWorldZones(world);
+
+        assertTrue(zone.canAffect(hoglin));
+        assertFalse(zone.canAffect(zombie));
+        assertArrayEquals(new Zone[] { zone }, worldZones.getAffecting(hoglin));
+    }
+}
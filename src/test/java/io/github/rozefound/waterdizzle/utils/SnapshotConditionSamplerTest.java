@@ -0,0 +1,222 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.testing.StandInEntity;
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandInTerrain;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SnapshotConditionSamplerTest {
+
+    private static final long TICK_NANOS = 50_000_000L;
+
+    private StandInPlugin plugin;
+    private StandInTerrain terrain;
+    private World world;
+    private AtomicLong clock;
+    private SnapshotConditionSampler sampler;
+
+    @BeforeEach
+    void createSampler() throws IOException {
+        plugin = StandInPlugin.create();
+        terrain = new StandInTerrain("sampled");
+        world = terrain.world();
+        clock = new AtomicLong();
+        plugin.getConfig().set("condition_snapshot_refresh_ticks", 10L);
+        sampler = new SnapshotConditionSampler(plugin, clock::get);
+    }
+
+    @AfterEach
+    void closePlugin() throws IOException {
+        sampler.shutdown();
+        plugin.close();
+    }
+
+    @Test
+    void conditionsAreTestedAgainstTheSnapshot() {
+        Entity entity = entityAt(3.5, 63, 5.5);
+
+        assertTrue(met(Condition.Direction.Inside, Material.WATER, entity));
+        assertFalse(met(Condition.Direction.Inside, Material.LAVA, entity));
+        assertTrue(met(Condition.Direction.StandingOn, Material.STONE, entity));
+        assertFalse(
+            met(Condition.Direction.StandingOn, Material.WATER, entity)
+        );
+    }
+
+    @Test
+    void footprintsAcrossChunksReadEverySnapshot() {
+        terrain.setType(16, 63, 5, Material.ICE);
+        Entity entity = entityAt(15.9, 63, 5.5);
+
+        assertTrue(met(Condition.Direction.Inside, Material.ICE, entity));
+        assertEquals(2, sampler.getSnapshotsTaken());
+    }
+
+    @Test
+    void blocksBelowTheWorldAreVoid() {
+        Zone zone = zone(Condition.Direction.Inside, Material.VOID_AIR);
+
+        assertTrue(sampler.test(zone, entityAt(3.5, -65, 5.5)));
+        assertFalse(sampler.test(zone, entityAt(3.5, -64, 5.5)));
+    }
+
+    @Test
+    void blocksAtTheMaxHeightAreVoid() {
+        Zone zone = zone(Condition.Direction.Inside, Material.VOID_AIR);
+
+        assertTrue(sampler.test(zone, entityAt(3.5, 318.5, 5.5)));
+        assertFalse(sampler.test(zone, entityAt(3.5, 317, 5.5)));
+    }
+
+    @Test
+    void standingOnTheLowestBlockReadsTheVoid() {
+        Zone zone = zone(Condition.Direction.StandingOn, Material.VOID_AIR);
+
+        assertTrue(sampler.test(zone, entityAt(3.5, -64, 5.5)));
+        assertFalse(sampler.test(zone, entityAt(3.5, -63, 5.5)));
+    }
+
+    @Test
+    void unloadedChunksReadAsAir() {
+        terrain.unload(0, 0);
+        Entity entity = entityAt(3.5, 63, 5.5);
+
+        assertTrue(met(Condition.Direction.Inside, Material.AIR, entity));
+        assertFalse(met(Condition.Direction.Inside, Material.WATER, entity));
+        assertEquals(0, sampler.getSnapshotsTaken());
+    }
+
+    @Test
+    void snapshotsAreReused() {
+        Zone zone = zone(Condition.Direction.Inside, Material.WATER);
+        Entity entity = entityAt(3.5, 63, 5.5);
+
+        sampler.test(zone, entity);
+        terrain.setType(3, 63, 5, Material.AIR);
+        terrain.setType(3, 64, 5, Material.AIR);
+        clock.addAndGet(1000 * TICK_NANOS);
+
+        // Nothing told the sampler about the change
+        assertTrue(sampler.test(zone, entity));
+        assertEquals(1, sampler.getSnapshotsTaken());
+    }
+
+    @Test
+    void staleSnapshotsAreCapturedAgainAfterTheRefreshInterval() {
+        Zone zone = zone(Condition.Direction.Inside, Material.WATER);
+        Entity entity = entityAt(3.5, 63, 5.5);
+
+        sampler.test(zone, entity);
+        terrain.setType(3, 63, 5, Material.AIR);
+        terrain.setType(3, 64, 5, Material.AIR);
+        sampler.invalidate(world, 0, 0);
+        clock.addAndGet(9 * TICK_NANOS);
+
+        assertTrue(sampler.test(zone, entity));
+        assertEquals(1, sampler.getSnapshotsTaken());
+
+        clock.addAndGet(TICK_NANOS);
+
+        assertFalse(sampler.test(zone, entity));
+        assertEquals(2, sampler.getSnapshotsTaken());
+    }
+
+    @Test
+    void zeroRefreshCapturesStaleSnapshotsRightAway() {
+        plugin.getConfig().set("condition_snapshot_refresh_ticks", 0L);
+        sampler.reloadSettings();
+        Zone zone = zone(Condition.Direction.Inside, Material.WATER);
+        Entity entity = entityAt(3.5, 63, 5.5);
+
+        sampler.test(zone, entity);
+        terrain.setType(3, 63, 5, Material.AIR);
+        terrain.setType(3, 64, 5, Material.AIR);
+        sampler.invalidate(world, 0, 0);
+
+        assertFalse(sampler.test(zone, entity));
+        assertEquals(2, sampler.getSnapshotsTaken());
+    }
+
+    @Test
+    void unchangedBlocksKeepTheSnapshotFresh() {
+        Zone zone = zone(Condition.Direction.Inside, Material.WATER);
+        Entity entity = entityAt(3.5, 63, 5.5);
+
+        sampler.test(zone, entity);
+        sampler.invalidateIfChanged(terrain.block(3, 63, 5));
+        clock.addAndGet(100 * TICK_NANOS);
+        sampler.test(zone, entity);
+
+        assertEquals(1, sampler.getSnapshotsTaken());
+
+        terrain.setType(3, 63, 5, Material.AIR);
+        sampler.invalidateIfChanged(terrain.block(3, 63, 5));
+        clock.addAndGet(100 * TICK_NANOS);
+        sampler.test(zone, entity);
+
+        assertEquals(2, sampler.getSnapshotsTaken());
+    }
+
+    @Test
+    void unloadedChunksAreCapturedAgainRightAway() {
+        Zone zone = zone(Condition.Direction.Inside, Material.WATER);
+        Entity entity = entityAt(3.5, 63, 5.5);
+
+        sampler.test(zone, entity);
+        terrain.setType(3, 63, 5, Material.AIR);
+        terrain.setType(3, 64, 5, Material.AIR);
+        sampler.unloadChunk(world, 0, 0);
+
+        assertFalse(sampler.test(zone, entity));
+        assertEquals(2, sampler.getSnapshotsTaken());
+    }
+
+    @Test
+    void snapshotModeStartsTheWorkers() {
+        assertFalse(sampler.isEnabled());
+
+        plugin.getConfig().set("condition_evaluation", "snapshot");
+        sampler.reloadSettings();
+        assertTrue(sampler.isEnabled());
+
+        plugin.getConfig().set("condition_evaluation", "sync");
+        sampler.reloadSettings();
+        assertFalse(sampler.isEnabled());
+    }
+
+    private boolean met(
+        Condition.Direction direction,
+        Material material,
+        Entity entity
+    ) {
+        return sampler.test(zone(direction, material), entity);
+    }
+
+    private Zone zone(Condition.Direction direction, Material material) {
+        Zone zone = StandIns.zone(plugin, "sampled", world, 0, 0);
+        zone.addCondition(
+            new Condition(direction, StandIns.blockData(material))
+        );
+        return zone;
+    }
+
+    private Entity entityAt(double x, double y, double z) {
+        return new StandInEntity(EntityType.ZOMBIE, 0.6, 1.95)
+            .moveTo(world, x, y, z)
+            .get();
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import org.bukkit.World;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ZoneManagerTest {
+
+    private StandInPlugin plugin;
+    private ZoneManager zoneManager;
+    private World world;
+
+    @BeforeEach
+    void createPlugin() throws IOException {
+        world = StandIns.world("world");
+        plugin = StandInPlugin.create();
+        zoneManager = plugin.getZoneManager();
+    }
+
+    @AfterEach
+    void closePlugin() throws IOException {
+        plugin.close();
+    }
+
+    @Test
+    void concurrentEditsAreNotLost() throws InterruptedException {
+        int threads = 4;
+        int zonesPerThread = 50;
+        long version = zoneManager.getVersion();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * zonesPerThread;
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = offset; i < offset + zonesPerThread; i++) {
+                    Zone zone = StandIns.zone(
+                        plugin,
+                        "zone_" + i,
+                        world,
+                        i * 32,
+                        0
+                    );
+                    zoneManager.addZone(zone);
+                    zone.setDamageAmount(1.0);
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        int total = threads * zonesPerThread;
+        assertEquals(total, zoneManager.getZoneCount());
+        assertEquals(total, zoneManager.getSnapshot().getIndex().size());
+        // Every add and every edit published its own version
+        assertEquals(version + 2L * total, zoneManager.getVersion());
+        for (int i = 0; i < total; i++) {
+            Zone zone = zoneManager.getZone("zone_" + i);
+            assertNotNull(zone);
+            assertEquals(1.0, zone.getDamageAmount());
+        }
+    }
+
+    @Test
+    void loadingKeepsEditsWaitingForTheSave() {
+        Zone zone = StandIns.zone(plugin, "spawn", world, 0, 0);
+        zoneManager.addZone(zone);
+        zone.setDamageAmount(3.0);
+
+        zoneManager.loadZones();
+
+        Zone loaded = zoneManager.getZone("spawn");
+        assertNotNull(loaded);
+        assertEquals(3.0, loaded.getDamageAmount());
+    }
+
+    @Test
+    void savesJournalOnlyTheEditedZones() {
+        zoneManager.addZone(StandIns.zone(plugin, "spawn", world, 0, 0));
+        zoneManager.addZone(StandIns.zone(plugin, "arena", world, 32, 0));
+        zoneManager.loadZones();
+        long records = zoneManager.getStore().getJournalRecordCount();
+
+        zoneManager.getZone("spawn").setDamageAmount(2.0);
+        zoneManager.loadZones();
+
+        assertEquals(
+            records + 1,
+            zoneManager.getStore().getJournalRecordCount()
+        );
+        assertEquals(2.0, zoneManager.getZone("spawn").getDamageAmount());
+    }
+
+    @Test
+    void removedZonesLeaveTheIndex() {
+        Zone zone = StandIns.zone(plugin, "spawn", world, 0, 0);
+        zoneManager.addZone(zone);
+        ZoneSnapshot before = zoneManager.getSnapshot();
+
+        assertEquals(zone, zoneManager.removeZone("spawn"));
+        // Readers holding the previous snapshot keep a consistent index
+        assertEquals(
+            List.of(zone),
+            before.getIndex().queryPoint(world, 8, 62, 8)
+        );
+        assertTrue(
+            zoneManager
+                .getSnapshot()
+                .getIndex()
+                .queryPoint(world, 8, 62, 8)
+                .isEmpty()
+        );
+    }
+
+    @Test
+    void dormantZonesCanBeRemoved() {
+        zoneManager.addZone(StandIns.zone(plugin, "spawn", world, 0, 0));
+        zoneManager.saveZonesNow();
+        zoneManager.unloadWorld(world);
+
+        assertNull(zoneManager.getZone("spawn"));
+        assertTrue(zoneManager.hasZone("spawn"));
+        assertEquals(
+            "world",
+            zoneManager.getDormantZone("spawn").getWorldName()
+        );
+
+        assertNull(zoneManager.removeZone("spawn"));
+        assertFalse(zoneManager.hasZone("spawn"));
+        assertEquals(0, zoneManager.getDormantZoneCount());
+
+        // The removal reaches the file, loading the world finds no zone
+        zoneManager.saveZonesNow();
+        zoneManager.loadZones();
+        assertFalse(zoneManager.hasZone("spawn"));
+    }
+
+    @Test
+    void singleFileIsSplitIntoWorldFiles() {
+        World nether = StandIns.world("world_nether");
+        zoneManager.addZone(StandIns.zone(plugin, "spawn", world, 0, 0));
+        zoneManager.addZone(StandIns.zone(plugin, "fortress", nether, 0, 0));
+        zoneManager.saveZonesNow();
+
+        File folder = plugin.getDataFolder();
+        assertFalse(zoneManager.isPerWorldStorage());
+        assertTrue(new File(folder, "zones.json").exists());
+
+        plugin.getConfig().set("zone_storage", "per_world");
+        zoneManager.loadZones();
+
+        assertTrue(zoneManager.isPerWorldStorage());
+        assertFalse(new File(folder, "zones.json").exists());
+        assertTrue(new File(folder, "zones.json.migrated").exists());
+        assertTrue(new File(folder, "zones/world.json").exists());
+        assertTrue(new File(folder, "zones/world_nether.json").exists());
+        assertEquals(Set.of("spawn", "fortress"), zoneManager.getZoneNames());
+    }
+}
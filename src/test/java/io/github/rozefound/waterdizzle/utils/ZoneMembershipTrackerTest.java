@@ -0,0 +1,148 @@
+package io.github.rozefound.waterdizzle.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.rozefound.waterdizzle.Zone;
+import io.github.rozefound.waterdizzle.events.ZoneEnterEvent;
+import io.github.rozefound.waterdizzle.events.ZoneLeaveEvent;
+import io.github.rozefound.waterdizzle.testing.StandInEntity;
+import io.github.rozefound.waterdizzle.testing.StandInPlugin;
+import io.github.rozefound.waterdizzle.testing.StandIns;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.RegisteredListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ZoneMembershipTrackerTest {
+
+    private StandInPlugin plugin;
+    private ZoneManager zoneManager;
+    private ZoneMembershipTracker tracker;
+    private World world;
+    private Zone spawn;
+    private StandInEntity zombie;
+    private Entity entity;
+
+    // Zone enter and leave events in the order they were fired
+    private final List<String> events = new ArrayList<>();
+    private final Listener recorder = new Listener() {};
+
+    @BeforeEach
+    void createTracker() throws IOException {
+        world = StandIns.world("tracked");
+        plugin = StandInPlugin.create();
+        zoneManager = plugin.getZoneManager();
+        tracker = plugin.getMembershipTracker();
+
+        spawn = StandIns.zone(plugin, "spawn", world, 0, 0);
+        zoneManager.addZone(spawn);
+        zombie = new StandInEntity(EntityType.ZOMBIE, 0.6, 1.95);
+        entity = zombie.get();
+
+        // Observed zones are tracked for every entity, harmless or not
+        RegisteredListener registration = new RegisteredListener(
+            recorder,
+            (listener, event) -> record(event),
+            EventPriority.MONITOR,
+            plugin,
+            false
+        );
+        ZoneEnterEvent.getHandlerList().register(registration);
+        ZoneLeaveEvent.getHandlerList().register(registration);
+    }
+
+    @AfterEach
+    void closePlugin() throws IOException {
+        HandlerList.unregisterAll(recorder);
+        plugin.close();
+    }
+
+    @Test
+    void enteringAZoneFiresOneEnterEvent() {
+        move(8, 63, 8);
+
+        assertEquals(List.of("enter spawn"), events);
+        assertEquals(Set.of(spawn), tracker.getZones(entity));
+        assertEquals(1, tracker.getTrackedCount());
+    }
+
+    @Test
+    void movesInsideTheZoneFireNothing() {
+        move(8, 63, 8);
+        // The same blocks, then other blocks of the same zone
+        move(8.1, 63.02, 8.1);
+        move(10, 62, 12);
+
+        assertEquals(List.of("enter spawn"), events);
+        assertEquals(Set.of(spawn), tracker.getZones(entity));
+    }
+
+    @Test
+    void leavingAZoneFiresALeaveEvent() {
+        move(8, 63, 8);
+        move(40, 63, 40);
+
+        assertEquals(List.of("enter spawn", "leave spawn"), events);
+        assertTrue(tracker.getZones(entity).isEmpty());
+        assertEquals(0, tracker.getTrackedCount());
+    }
+
+    @Test
+    void zoneEditsAreSeenWithoutMoving() {
+        move(8, 63, 8);
+
+        zoneManager.addZone(StandIns.zone(plugin, "arena", world, 4, 4));
+        move(8, 63, 8);
+        assertEquals(List.of("enter spawn", "enter arena"), events);
+
+        zoneManager.removeZone("spawn");
+        move(8, 63, 8);
+        assertEquals(
+            List.of("enter spawn", "enter arena", "leave spawn"),
+            events
+        );
+    }
+
+    @Test
+    void forgottenEntitiesLeaveTheirZones() {
+        move(8, 63, 8);
+
+        tracker.forget(entity);
+        tracker.forget(entity);
+
+        assertEquals(List.of("enter spawn", "leave spawn"), events);
+        assertEquals(0, tracker.getTrackedCount());
+
+        // Tracked again from scratch on the next move
+        move(8, 63, 8);
+        assertEquals(
+            List.of("enter spawn", "leave spawn", "enter spawn"),
+            events
+        );
+    }
+
+    private void move(double x, double y, double z) {
+        zombie.moveTo(world, x, y, z);
+        tracker.update(entity, 5L);
+    }
+
+    private void record(Event event) {
+        if (event instanceof ZoneEnterEvent enter) {
+            events.add("enter " + enter.getZone().getName());
+        } else if (event instanceof ZoneLeaveEvent leave) {
+            events.add("leave " + leave.getZone().getName());
+        }
+    }
+}